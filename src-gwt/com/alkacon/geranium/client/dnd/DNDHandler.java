@@ -24,10 +24,13 @@
 
 package com.alkacon.geranium.client.dnd;
 
-import com.alkacon.geranium.client.util.DebugLog;
+import com.alkacon.geranium.client.ui.css.CssInjector;
+import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
+import com.alkacon.geranium.client.util.AnimationGovernor;
 import com.alkacon.geranium.client.util.DomUtil;
 import com.alkacon.geranium.client.util.DomUtil.Style;
 import com.alkacon.geranium.client.util.MoveAnimation;
+import com.alkacon.geranium.client.util.Tracing;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -187,7 +190,7 @@ public class DNDHandler implements MouseDownHandler {
 
             if (!isDragging()) {
                 // this should never happen, as the preview handler should be removed after the dragging stopped
-                DebugLog.getInstance().printLine("Preview handler still registered, even though dragging stopped.");
+                Tracing.count("dnd.stalePreviewHandler");
                 stopDragging();
                 return;
             }
@@ -221,6 +224,9 @@ public class DNDHandler implements MouseDownHandler {
     /** Animation enabled flag. */
     private boolean m_animationEnabled = true;
 
+    /** Flag indicating the end animation is adjusted to the device performance. */
+    private boolean m_animationGoverned = true;
+
     /** The mouse x position of the current mouse event. */
     private int m_clientX;
 
@@ -284,6 +290,11 @@ public class DNDHandler implements MouseDownHandler {
     /** The registered drop targets. */
     private List<I_DropTarget> m_targets;
 
+    static {
+
+        CssInjector.ensureInjected(I_LayoutBundle.INSTANCE.dragdropCss());
+    }
+
     /** 
      * Constructor.<p> 
      * 
@@ -484,14 +495,14 @@ public class DNDHandler implements MouseDownHandler {
         m_dragging = true;
         // add marker css class to enable drag and drop dependent styles
         Document.get().getBody().addClassName(
-            com.alkacon.geranium.client.ui.css.I_LayoutBundle.INSTANCE.dragdropCss().dragStarted());
+            I_LayoutBundle.INSTANCE.dragdropCss().dragStarted());
         if (m_previewHandlerRegistration != null) {
             // this should never be the case
-            DebugLog.getInstance().printLine("Preview handler already registered!!!");
+            Tracing.count("dnd.duplicatePreviewHandler");
             m_previewHandlerRegistration.removeHandler();
 
         }
-        DebugLog.getInstance().printLine("Registering preview handler");
+        Tracing.mark("dnd.start");
         m_previewHandlerRegistration = Event.addNativePreviewHandler(m_previewHandler);
         onMove((Event)event.getNativeEvent());
     }
@@ -516,6 +527,17 @@ public class DNDHandler implements MouseDownHandler {
         m_animationEnabled = animationEnabled;
     }
 
+    /**
+     * Sets if the end animation should follow the {@link com.alkacon.geranium.client.util.AnimationGovernor},
+     * which skips it on slow devices or when the user prefers reduced motion.<p>
+     *
+     * @param animationGoverned <code>false</code> to always show the end animation if enabled
+     */
+    public void setAnimationGoverned(boolean animationGoverned) {
+
+        m_animationGoverned = animationGoverned;
+    }
+
     /**
      * Sets the drag and drop controller.<p>
      *
@@ -693,7 +715,7 @@ public class DNDHandler implements MouseDownHandler {
         m_currentTarget = null;
         m_draggable = null;
         Document.get().getBody().removeClassName(
-            com.alkacon.geranium.client.ui.css.I_LayoutBundle.INSTANCE.dragdropCss().dragStarted());
+            I_LayoutBundle.INSTANCE.dragdropCss().dragStarted());
         m_currentAnimation = null;
     }
 
@@ -750,11 +772,13 @@ public class DNDHandler implements MouseDownHandler {
      */
     protected void onMove(Event event) {
 
+        Tracing.Span span = Tracing.startSpan("dnd.move");
         m_clientX = event.getClientX();
         m_clientY = event.getClientY();
         checkTargets();
         positionHelper();
         scrollAction();
+        span.end();
     }
 
     /**
@@ -780,7 +804,7 @@ public class DNDHandler implements MouseDownHandler {
 
         if (m_dragHelper == null) {
             // should never happen
-            DebugLog.getInstance().printLine("Drag helper is null");
+            Tracing.count("dnd.missingDragHelper");
             return;
         }
         Element parentElement = m_dragHelper.getParentElement();
@@ -930,7 +954,9 @@ public class DNDHandler implements MouseDownHandler {
      */
     private void showEndAnimation(Command callback, int top, int left) {
 
-        if (!isAnimationEnabled() || (m_dragHelper == null)) {
+        if (!isAnimationEnabled()
+            || (m_dragHelper == null)
+            || (m_animationGoverned && !AnimationGovernor.get().isAnimationAllowed())) {
             callback.execute();
             return;
         }
@@ -940,6 +966,7 @@ public class DNDHandler implements MouseDownHandler {
         int startTop = DomUtil.getCurrentStyleInt(m_dragHelper, Style.top);
         int startLeft = DomUtil.getCurrentStyleInt(m_dragHelper, Style.left);
         m_currentAnimation = new MoveAnimation(m_dragHelper, startTop, startLeft, endTop, endLeft, callback);
+        m_currentAnimation.setGoverned(m_animationGoverned);
         m_currentAnimation.run(300);
     }
 }
@@ -32,6 +32,9 @@ import com.google.gwt.user.client.Timer;
 
 /**
  * On hover intent handler.<p>
+ * 
+ * To only toggle a CSS class, prefer registering the element with the {@link HoverManager}, which needs
+ * neither per-widget handlers nor timers.<p>
  */
 public abstract class A_HoverHandler implements MouseOutHandler, MouseOverHandler {
 
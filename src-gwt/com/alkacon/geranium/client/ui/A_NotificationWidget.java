@@ -41,9 +41,18 @@ public abstract class A_NotificationWidget extends Composite implements I_Notifi
     /** The current animation. */
     private A_Animation m_animation;
 
+    /** Flag indicating the show and hide animations are adjusted to the device performance. */
+    private boolean m_animationGoverned = true;
+
     /** The current mode. */
     private Mode m_mode;
 
+    /** The sticky message to restore once the current message is hidden. */
+    private String m_restoreMessage;
+
+    /** The type of the sticky message to restore. */
+    private Type m_restoreType;
+
     /** The timer to remove the last notification. */
     private Timer m_timer;
 
@@ -85,8 +94,24 @@ public abstract class A_NotificationWidget extends Composite implements I_Notifi
      */
     public void hide() {
 
+        Mode mode = m_mode;
         m_mode = null;
+        m_restoreMessage = null;
+        m_restoreType = null;
         hide(true);
+        if ((mode != null) && (Notification.get().getWidget() == this)) {
+            Notification.get().getQueue().onHidden(mode);
+        }
+    }
+
+    /**
+     * Sets if the show and hide animations follow the {@link com.alkacon.geranium.client.util.AnimationGovernor}.<p>
+     * 
+     * @param animationGoverned <code>false</code> to always animate notifications with the full duration
+     */
+    public void setAnimationGoverned(boolean animationGoverned) {
+
+        m_animationGoverned = animationGoverned;
     }
 
     /**
@@ -97,31 +122,41 @@ public abstract class A_NotificationWidget extends Composite implements I_Notifi
         if (mode == null) {
             mode = Mode.NORMAL;
         }
-        final String restoreMessage;
-        if (Notification.shouldRestoreMessage(m_mode, mode, m_type, type)) {
-            restoreMessage = getMessage();
+        if ((m_type != null) && (m_type == type) && mode.equals(m_mode)) {
+            // the widget is already showing a message of the same mode and type, only update the message
+            // and keep any pending restore, as the updated message replaces the displayed one
+            if (m_timer != null) {
+                m_timer.cancel();
+                m_timer = null;
+            }
+            setMessage(message);
         } else {
-            restoreMessage = null;
+            if (Notification.shouldRestoreMessage(m_mode, mode, m_type, type)) {
+                m_restoreMessage = getMessage();
+                m_restoreType = m_type;
+            } else if (Mode.STICKY.equals(mode)) {
+                // the new sticky message supersedes any sticky message waiting to be restored
+                m_restoreMessage = null;
+                m_restoreType = null;
+            }
+            // remove last notification if still shown
+            hide(true);
+
+            m_type = type;
+            m_mode = mode;
+
+            // set the new notification message
+            setMessage(message);
+
+            // set the right class
+            setClassForType(type);
+
+            // show the widget
+            animateShow();
         }
-        // remove last notification if still shown
-        hide(true);
-
-        // keep state
-        final Type oldType = m_type;
-        m_type = type;
-        m_mode = mode;
-
-        // set the new notification message
-        setMessage(message);
-
-        // set the right class
-        setClassForType(type);
-
-        // show the widget
-        animateShow();
 
         // set timer to hide non sticky messages or restore superior message
-        if (Mode.NORMAL.equals(m_mode) || ClientStringUtil.isNotEmptyOrWhitespaceOnly(restoreMessage)) {
+        if (Mode.NORMAL.equals(m_mode) || ClientStringUtil.isNotEmptyOrWhitespaceOnly(m_restoreMessage)) {
             m_timer = new Timer() {
 
                 /**
@@ -131,12 +166,16 @@ public abstract class A_NotificationWidget extends Composite implements I_Notifi
                 public void run() {
 
                     hide(false);
+                    String restoreMessage = m_restoreMessage;
+                    Type restoreType = m_restoreType;
+                    m_restoreMessage = null;
+                    m_restoreType = null;
                     if (ClientStringUtil.isNotEmptyOrWhitespaceOnly(restoreMessage)) {
-                        show(Mode.STICKY, oldType, restoreMessage);
+                        show(Mode.STICKY, restoreType, restoreMessage);
                     }
                 }
             };
-            m_timer.schedule(3000 * (type == Type.NORMAL ? 1 : 2));
+            m_timer.schedule(Notification.getDisplayDuration(type));
         }
 
     }
@@ -216,6 +255,9 @@ public abstract class A_NotificationWidget extends Composite implements I_Notifi
      */
     protected void setAnimation(A_Animation animation) {
 
+        if (animation != null) {
+            animation.setGoverned(m_animationGoverned);
+        }
         m_animation = animation;
     }
 
@@ -24,6 +24,7 @@
 
 package com.alkacon.geranium.client.ui;
 
+import com.alkacon.geranium.client.ui.css.CssInjector;
 import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
 import com.alkacon.geranium.client.util.PositionBean;
 import com.alkacon.geranium.client.util.PositionBean.Area;
@@ -168,6 +169,11 @@ HasClickHandlers, HasMouseMoveHandlers, MouseDownHandler, MouseUpHandler, MouseM
     /** Select area state. */
     private State m_state;
 
+    static {
+
+        CssInjector.ensureInjected(I_LayoutBundle.INSTANCE.selectAreaCss());
+    }
+
     /**
      * Constructor.<p>
      */
@@ -24,6 +24,7 @@
 
 package com.alkacon.geranium.client.ui;
 
+import com.alkacon.geranium.client.ui.css.CssInjector;
 import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
 
 import com.google.gwt.dom.client.Element;
@@ -38,6 +39,11 @@ public class ClassHoverHandler extends A_HoverHandler {
     /** The owner element. */
     protected Element m_owner;
 
+    static {
+
+        CssInjector.ensureInjected(I_LayoutBundle.INSTANCE.stateCss());
+    }
+
     /**
      * Constructor.<p>
      * 
@@ -25,6 +25,7 @@
 package com.alkacon.geranium.client.ui;
 
 import com.alkacon.geranium.client.ui.Notification.Type;
+import com.alkacon.geranium.client.ui.css.CssInjector;
 import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
 import com.alkacon.geranium.client.util.FadeAnimation;
 
@@ -60,6 +61,11 @@ public class DialogNotificationWidget extends A_NotificationWidget {
     @UiField
     protected Element m_message;
 
+    static {
+
+        CssInjector.ensureInjected(I_LayoutBundle.INSTANCE.notificationCss());
+    }
+
     /**
      * Constructor.<p>
      */
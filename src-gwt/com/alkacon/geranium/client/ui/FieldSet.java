@@ -24,13 +24,14 @@
 
 package com.alkacon.geranium.client.ui;
 
+import com.alkacon.geranium.client.ui.css.CssInjector;
 import com.alkacon.geranium.client.ui.css.I_ImageBundle;
 import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
 import com.alkacon.geranium.client.ui.input.Label;
+import com.alkacon.geranium.client.util.A_Animation;
 import com.alkacon.geranium.client.util.SlideAnimation;
 import com.alkacon.geranium.client.util.StyleVariable;
 
-import com.google.gwt.animation.client.Animation;
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.event.dom.client.ClickEvent;
 import com.google.gwt.event.logical.shared.CloseEvent;
@@ -89,14 +90,24 @@ public class FieldSet extends Composite implements HasOpenHandlers<FieldSet>, Ha
     protected FlowPanel m_wrapper;
 
     /** The running slide in/out animation. */
-    private Animation m_animation;
+    private A_Animation m_animation;
 
     /** The animation duration. */
     private int m_animationDuration = DEFAULT_ANIMATION_DURATION;
 
+    /** Flag indicating the open/close animation is adjusted to the device performance. */
+    private boolean m_animationGoverned = true;
+
     /** The fieldset visibility style. */
     private StyleVariable m_visibilityStyle;
 
+    static {
+
+        CssInjector.ensureInjected(
+            I_LayoutBundle.INSTANCE.fieldsetCss(),
+            I_LayoutBundle.INSTANCE.generalCss());
+    }
+
     /**
      * Default constructor.<p>
      * 
@@ -187,6 +198,18 @@ public class FieldSet extends Composite implements HasOpenHandlers<FieldSet>, Ha
         m_animationDuration = animDuration;
     }
 
+    /**
+     * Sets if the open/close animation may be shortened or skipped on slow devices.<p>
+     * 
+     * @param animationGoverned <code>false</code> to always use the configured animation duration
+     * 
+     * @see com.alkacon.geranium.client.util.AnimationGovernor
+     */
+    public void setAnimationGoverned(boolean animationGoverned) {
+
+        m_animationGoverned = animationGoverned;
+    }
+
     /**
      * Sets the text for the legend of this field set.<p>
      * 
@@ -246,6 +269,7 @@ public class FieldSet extends Composite implements HasOpenHandlers<FieldSet>, Ha
                     OpenEvent.fire(FieldSet.this, FieldSet.this);
                 }
             }, m_animationDuration);
+            m_animation.setGoverned(m_animationGoverned);
         } else {
 
             // hide content
@@ -260,6 +284,7 @@ public class FieldSet extends Composite implements HasOpenHandlers<FieldSet>, Ha
                     CloseEvent.fire(FieldSet.this, FieldSet.this);
                 }
             }, m_animationDuration);
+            m_animation.setGoverned(m_animationGoverned);
         }
     }
 }
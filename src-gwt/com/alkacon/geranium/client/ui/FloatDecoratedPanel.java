@@ -24,8 +24,10 @@
 
 package com.alkacon.geranium.client.ui;
 
+import com.alkacon.geranium.client.ui.css.CssInjector;
 import com.alkacon.geranium.client.ui.css.I_FloatDecoratedPanelCss;
 import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
+import com.alkacon.geranium.client.util.LayoutThrashDetector;
 
 import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.dom.client.Style.Float;
@@ -59,6 +61,11 @@ public class FloatDecoratedPanel extends Composite implements I_Truncable {
     /** The main panel. */
     private FlowPanel m_primary = new FlowPanel();
 
+    static {
+
+        CssInjector.ensureInjected(I_LayoutBundle.INSTANCE.floatDecoratedPanelCss());
+    }
+
     /**
      * Creates a new instance of the widget.
      */
@@ -142,8 +149,10 @@ public class FloatDecoratedPanel extends Composite implements I_Truncable {
         if (!isAttached()) {
             return;
         }
+        CssInjector.flush();
         int floatBoxWidth = getFloatBoxWidth();
         m_primary.getElement().getStyle().setMarginLeft(floatBoxWidth, Unit.PX);
+        LayoutThrashDetector.write("FloatDecoratedPanel.updateLayout");
         updateVerticalMargin();
     }
 
@@ -177,6 +186,7 @@ public class FloatDecoratedPanel extends Composite implements I_Truncable {
      */
     private int getFloatBoxWidth() {
 
+        LayoutThrashDetector.read("FloatDecoratedPanel.getFloatBoxWidth");
         return m_floatBox.getOffsetWidth();
     }
 
@@ -186,9 +196,11 @@ public class FloatDecoratedPanel extends Composite implements I_Truncable {
      */
     private void updateVerticalMargin() {
 
+        LayoutThrashDetector.read("FloatDecoratedPanel.updateVerticalMargin");
         int floatHeight = m_floatBox.getOffsetHeight();
         int primaryHeight = m_primary.getOffsetHeight();
         int verticalOffset = (primaryHeight - floatHeight) / 2;
         m_floatBox.getElement().getStyle().setMarginTop(verticalOffset, Unit.PX);
+        LayoutThrashDetector.write("FloatDecoratedPanel.updateVerticalMargin");
     }
 }
@@ -24,18 +24,28 @@
 
 package com.alkacon.geranium.client.ui;
 
+import com.alkacon.geranium.client.ui.css.CssInjector;
 import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
 import com.alkacon.geranium.client.util.DomUtil;
 import com.alkacon.geranium.client.util.DomUtil.Method;
+import com.alkacon.geranium.client.util.FadeAnimation;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
+import com.google.gwt.core.client.JavaScriptObject;
 import com.google.gwt.core.client.Scheduler;
 import com.google.gwt.core.client.Scheduler.ScheduledCommand;
+import com.google.gwt.dom.client.Document;
+import com.google.gwt.dom.client.Element;
 import com.google.gwt.dom.client.FormElement;
+import com.google.gwt.dom.client.Style;
+import com.google.gwt.dom.client.Style.Display;
+import com.google.gwt.dom.client.Style.Position;
 import com.google.gwt.dom.client.Style.Unit;
-import com.google.gwt.event.logical.shared.CloseEvent;
 import com.google.gwt.event.logical.shared.CloseHandler;
+import com.google.gwt.event.shared.HandlerRegistration;
 import com.google.gwt.user.client.ui.FlowPanel;
 import com.google.gwt.user.client.ui.PopupPanel;
 import com.google.gwt.user.client.ui.RootPanel;
@@ -48,10 +58,159 @@ import com.google.gwt.user.client.ui.Widget;
  * Use to render the dialog content within an iFrame on top of a regular {@link com.alkacon.geranium.client.ui.Popup}.
  * May also be used to wrap the popup if no iFrame is needed.<p>
  * 
- * Provides function to show an iFrame dialog.<p>
+ * Provides function to show an iFrame dialog. The popups, iFrames and forms used for iFrame dialogs are pooled
+ * and re-used across dialogs, use {@link #primeFrameDialogs(int)} to create them ahead of time.<p>
  */
 public class FrameDialog {
 
+    /**
+     * A re-usable iFrame dialog shell, consisting of the popup, its iFrame and the hidden form used to load the dialog.<p>
+     * 
+     * Idle shells are removed from the document, so an activated shell is appended on top of all other popups.<p>
+     */
+    private static class FrameDialogShell extends Popup {
+
+        /** Flag indicating the shell is currently used by a dialog. */
+        private boolean m_active;
+
+        /** The close handler registrations of the current dialog. */
+        private List<HandlerRegistration> m_closeHandlerRegistrations;
+
+        /** The hidden form used to load the dialog into the iFrame. */
+        private FormElement m_form;
+
+        /** The iFrame. */
+        private IFrame m_frame;
+
+        /** The iFrame name. */
+        private String m_frameName;
+
+        /** The glass element, shown behind the popup while the dialog is active. */
+        private Element m_glass;
+
+        /**
+         * Constructor.<p>
+         * 
+         * @param frameName the iFrame name
+         */
+        protected FrameDialogShell(String frameName) {
+
+            super();
+            m_frameName = frameName;
+            m_closeHandlerRegistrations = new ArrayList<HandlerRegistration>();
+            removePadding();
+            addStyleName(I_LayoutBundle.INSTANCE.contentEditorCss().contentEditor());
+            setUseAnimation(false);
+            m_frame = new IFrame(frameName, "");
+            add(m_frame);
+            m_form = Document.get().createFormElement();
+            m_form.getStyle().setDisplay(Display.NONE);
+            RootPanel.getBodyElement().appendChild(m_form);
+            m_glass = Document.get().createDivElement();
+            m_glass.setClassName(I_LayoutBundle.INSTANCE.dialogCss().popupOverlay());
+            Style glassStyle = m_glass.getStyle();
+            glassStyle.setPosition(Position.FIXED);
+            glassStyle.setLeft(0, Unit.PX);
+            glassStyle.setTop(0, Unit.PX);
+            glassStyle.setRight(0, Unit.PX);
+            glassStyle.setBottom(0, Unit.PX);
+        }
+
+        /**
+         * Tracks the close handlers added while the shell is active, so they can be removed once the dialog is closed.<p>
+         * 
+         * @see com.google.gwt.user.client.ui.PopupPanel#addCloseHandler(com.google.gwt.event.logical.shared.CloseHandler)
+         */
+        @Override
+        public HandlerRegistration addCloseHandler(CloseHandler<PopupPanel> handler) {
+
+            HandlerRegistration registration = super.addCloseHandler(handler);
+            if (m_active) {
+                m_closeHandlerRegistrations.add(registration);
+            }
+            return registration;
+        }
+
+        /**
+         * Releases the shell if it is active, hides the popup otherwise.<p>
+         * 
+         * @see com.google.gwt.user.client.ui.PopupPanel#hide(boolean)
+         */
+        @Override
+        public void hide(boolean autoClosed) {
+
+            if (m_active) {
+                release(autoClosed);
+                releaseShell(this);
+            } else {
+                super.hide(autoClosed);
+            }
+        }
+
+        /**
+         * Shows the dialog, loading the given URI into the iFrame.<p>
+         * 
+         * @param title the dialog title
+         * @param dialogUri the dialog URI
+         * @param parameters the dialog post parameters
+         * @param closeHandler the dialog close handler
+         */
+        protected void activate(
+            String title,
+            String dialogUri,
+            Map<String, String> parameters,
+            CloseHandler<PopupPanel> closeHandler) {
+
+            m_active = true;
+            setCaption(title);
+            if (closeHandler != null) {
+                addCloseHandler(closeHandler);
+            }
+            DomUtil.fillHiddenForm(m_form, dialogUri, Method.post, m_frameName, parameters);
+            setModal(true);
+            center();
+            // the shell has been appended to the body, place the glass right behind it
+            RootPanel.getBodyElement().insertBefore(m_glass, getElement());
+            FadeAnimation.fadeIn(getElement(), null, 500);
+            m_form.submit();
+        }
+
+        /**
+         * Removes the shell from the document.<p>
+         */
+        protected void dispose() {
+
+            m_form.removeFromParent();
+            m_glass.removeFromParent();
+            hide();
+        }
+
+        /**
+         * Ends the current dialog, firing the close event and resetting the shell for re-use.<p>
+         * 
+         * @param autoClosed <code>true</code> if the popup was automatically closed
+         */
+        private void release(boolean autoClosed) {
+
+            m_active = false;
+            m_glass.removeFromParent();
+            m_frame.setUrl("about:blank");
+            // fires the close event, removes the shell from the document and its native event preview
+            super.hide(autoClosed);
+            setModal(false);
+            for (HandlerRegistration registration : m_closeHandlerRegistrations) {
+                registration.removeHandler();
+            }
+            m_closeHandlerRegistrations.clear();
+            removeAllButtons();
+            removeDialogClose();
+            // hides the caption and clears the previous dialog's title
+            setCaption(null);
+            setWidth(DEFAULT_WIDTH);
+            setHeight(0);
+        }
+    }
+
     /** The name of the close function. */
     public static final String CLOSE_FUNCTION = "cmsDialogClose";
 
@@ -76,6 +235,21 @@ public class FrameDialog {
     /** The name of the dialog width function. */
     public static final String WIDTH_FUNCTION = "cmsUploadHookDialogWidth";
 
+    /** The shells of the currently showing iFrame dialogs, the last one is on top. */
+    private static List<FrameDialogShell> m_activeShells = new ArrayList<FrameDialogShell>();
+
+    /** The dialog function table, exported to the window context while iFrame dialogs are showing. */
+    private static JavaScriptObject m_dialogFunctions;
+
+    /** The idle iFrame dialog shells. */
+    private static List<FrameDialogShell> m_idleShells = new ArrayList<FrameDialogShell>();
+
+    /** The maximum number of idle shells to keep. */
+    private static int m_poolSize = 1;
+
+    /** The number of shells created so far, used to generate unique iFrame names. */
+    private static int m_shellCount;
+
     /** The button panel. */
     private FlowPanel m_buttonPanel;
 
@@ -97,6 +271,13 @@ public class FrameDialog {
     /** The popup. */
     private Popup m_popup;
 
+    static {
+
+        CssInjector.ensureInjected(
+            I_LayoutBundle.INSTANCE.contentEditorCss(),
+            I_LayoutBundle.INSTANCE.dialogCss());
+    }
+
     /**
      * Constructor.<p>
      */
@@ -130,9 +311,28 @@ public class FrameDialog {
 
     }-*/;
 
+    /**
+     * Creates idle iFrame dialog shells ahead of time, so the next iFrame dialogs will show without delay.<p>
+     * 
+     * The pool will keep at least the given number of idle shells from now on.
+     * Should be called once the host page has finished loading, for example from a deferred command.<p>
+     * 
+     * @param count the number of idle shells to prepare
+     */
+    public static void primeFrameDialogs(int count) {
+
+        m_poolSize = Math.max(m_poolSize, count);
+        while (m_idleShells.size() < count) {
+            m_idleShells.add(createShell());
+        }
+    }
+
     /**
      * Shows an iFrame dialog popup.<p>
      * 
+     * The returned popup is re-used for later dialogs once it has been closed,
+     * so it should not be referenced after the close handler has been called.<p>
+     * 
      * @param title the dialog title
      * @param dialogUri the dialog URI
      * @param parameters the dialog post parameters
@@ -146,29 +346,11 @@ public class FrameDialog {
         Map<String, String> parameters,
         CloseHandler<PopupPanel> closeHandler) {
 
-        Popup popup = new Popup(title);
-        popup.removePadding();
-        popup.addStyleName(I_LayoutBundle.INSTANCE.contentEditorCss().contentEditor());
-        popup.setGlassEnabled(true);
-        IFrame editorFrame = new IFrame(IFRAME_NAME, "");
-        popup.add(editorFrame);
-        final FormElement formElement = DomUtil.generateHiddenForm(dialogUri, Method.post, IFRAME_NAME, parameters);
-        RootPanel.getBodyElement().appendChild(formElement);
-        exportDialogFunctions(popup);
-        popup.addCloseHandler(new CloseHandler<PopupPanel>() {
-
-            public void onClose(CloseEvent<PopupPanel> event) {
-
-                formElement.removeFromParent();
-                removeExportedFunctions();
-            }
-        });
-        if (closeHandler != null) {
-            popup.addCloseHandler(closeHandler);
-        }
-        popup.center();
-        formElement.submit();
-        return popup;
+        FrameDialogShell shell = m_idleShells.isEmpty() ? createShell() : m_idleShells.remove(m_idleShells.size() - 1);
+        m_activeShells.add(shell);
+        exportDialogFunctions();
+        shell.activate(title, dialogUri, parameters, closeHandler);
+        return shell;
     }
 
     /**
@@ -182,39 +364,119 @@ public class FrameDialog {
     }-*/;
 
     /**
-     * Installs the Javascript function which should be called by the child iframe when the dialog should be closed.<p>
+     * Creates the dialog function table, delegating to the top most iFrame dialog.<p>
      * 
-     * @param popup the popup
+     * @return the function table
      */
-    private static native void exportDialogFunctions(final Popup popup) /*-{
-        var self = this;
-        $wnd[@com.alkacon.geranium.client.ui.FrameDialog::CLOSE_FUNCTION] = function() {
-            popup.@com.alkacon.geranium.client.ui.Popup::hide()();
+    private static native JavaScriptObject createDialogFunctions() /*-{
+        var functions = {};
+        functions[@com.alkacon.geranium.client.ui.FrameDialog::CLOSE_FUNCTION] = function() {
+            var popup = @com.alkacon.geranium.client.ui.FrameDialog::getActivePopup()();
+            if (popup != null) {
+                popup.@com.alkacon.geranium.client.ui.Popup::hide()();
+            }
         };
-        $wnd[@com.alkacon.geranium.client.ui.FrameDialog::HEIGHT_FUNCTION] = function(
+        functions[@com.alkacon.geranium.client.ui.FrameDialog::HEIGHT_FUNCTION] = function(
                 height) {
-            popup.@com.alkacon.geranium.client.ui.Popup::setHeight(I)(height);
-            if (popup.@com.alkacon.geranium.client.ui.Popup::isShowing()) {
-                popup.@com.alkacon.geranium.client.ui.Popup::center()();
+            var popup = @com.alkacon.geranium.client.ui.FrameDialog::getActivePopup()();
+            if (popup != null) {
+                popup.@com.alkacon.geranium.client.ui.Popup::setHeight(I)(height);
+                if (popup.@com.alkacon.geranium.client.ui.Popup::isShowing()) {
+                    popup.@com.alkacon.geranium.client.ui.Popup::center()();
+                }
             }
         };
-        $wnd[@com.alkacon.geranium.client.ui.FrameDialog::WIDTH_FUNCTION] = function(
+        functions[@com.alkacon.geranium.client.ui.FrameDialog::WIDTH_FUNCTION] = function(
                 width) {
-            popup.@com.alkacon.geranium.client.ui.Popup::setWidth(I)(width);
-            if (popup.@com.alkacon.geranium.client.ui.Popup::isShowing()) {
-                popup.@com.alkacon.geranium.client.ui.Popup::center()();
+            var popup = @com.alkacon.geranium.client.ui.FrameDialog::getActivePopup()();
+            if (popup != null) {
+                popup.@com.alkacon.geranium.client.ui.Popup::setWidth(I)(width);
+                if (popup.@com.alkacon.geranium.client.ui.Popup::isShowing()) {
+                    popup.@com.alkacon.geranium.client.ui.Popup::center()();
+                }
             }
         };
-        $wnd[@com.alkacon.geranium.client.ui.FrameDialog::TITLE_FUNCTION] = function(
+        functions[@com.alkacon.geranium.client.ui.FrameDialog::TITLE_FUNCTION] = function(
                 title) {
-            popup.@com.alkacon.geranium.client.ui.Popup::setCaption(Ljava/lang/String;)(title);
+            var popup = @com.alkacon.geranium.client.ui.FrameDialog::getActivePopup()();
+            if (popup != null) {
+                popup.@com.alkacon.geranium.client.ui.Popup::setCaption(Ljava/lang/String;)(title);
+            }
         };
-        $wnd[@com.alkacon.geranium.client.ui.FrameDialog::ENABLE_CLOSE_FUNCTION] = function(
+        functions[@com.alkacon.geranium.client.ui.FrameDialog::ENABLE_CLOSE_FUNCTION] = function(
                 title) {
-            popup.@com.alkacon.geranium.client.ui.Popup::addDialogClose(Lcom/google/gwt/user/client/Command;)(null);
+            var popup = @com.alkacon.geranium.client.ui.FrameDialog::getActivePopup()();
+            if (popup != null) {
+                popup.@com.alkacon.geranium.client.ui.Popup::addDialogClose(Lcom/google/gwt/user/client/Command;)(null);
+            }
         };
+        return functions;
+    }-*/;
+
+    /**
+     * Creates a new iFrame dialog shell.<p>
+     * 
+     * @return the new shell
+     */
+    private static FrameDialogShell createShell() {
+
+        String frameName = m_shellCount == 0 ? IFRAME_NAME : IFRAME_NAME + "_" + m_shellCount;
+        m_shellCount++;
+        return new FrameDialogShell(frameName);
+    }
+
+    /**
+     * Installs the Javascript functions which should be called by the child iframe to control the dialog.<p>
+     * 
+     * The function table is only created once, the functions will always act on the top most iFrame dialog.<p>
+     */
+    private static void exportDialogFunctions() {
+
+        if (m_dialogFunctions == null) {
+            m_dialogFunctions = createDialogFunctions();
+        }
+        installDialogFunctions(m_dialogFunctions);
+    }
+
+    /**
+     * Returns the popup of the top most iFrame dialog.<p>
+     * 
+     * @return the popup, or <code>null</code> if no iFrame dialog is showing
+     */
+    private static Popup getActivePopup() {
+
+        return m_activeShells.isEmpty() ? null : m_activeShells.get(m_activeShells.size() - 1);
+    }
+
+    /**
+     * Sets the given dialog functions on the window context.<p>
+     * 
+     * @param functions the function table
+     */
+    private static native void installDialogFunctions(JavaScriptObject functions) /*-{
+        for ( var name in functions) {
+            $wnd[name] = functions[name];
+        }
     }-*/;
 
+    /**
+     * Returns a shell to the pool after its dialog was closed.<p>
+     * 
+     * @param shell the shell
+     */
+    private static void releaseShell(FrameDialogShell shell) {
+
+        m_activeShells.remove(shell);
+        if (m_activeShells.isEmpty()) {
+            removeExportedFunctions();
+        }
+        if (m_idleShells.size() < m_poolSize) {
+            m_idleShells.add(shell);
+        } else {
+            shell.dispose();
+        }
+    }
+
     /**
      * Adds a new button to the button bar.<p>
      * 
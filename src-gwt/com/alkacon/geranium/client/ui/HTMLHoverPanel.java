@@ -79,12 +79,10 @@ public class HTMLHoverPanel extends HTMLPanel implements HasMouseOutHandlers, Ha
     }
 
     /**
-     * Sets the hover handler.<p>
+     * Registers the panel with the hover manager.<p>
      */
     private void setHandler() {
 
-        A_HoverHandler handler = new ClassHoverHandler(getElement());
-        addMouseOutHandler(handler);
-        addMouseOverHandler(handler);
+        HoverManager.get().register(getElement());
     }
 }
@@ -24,6 +24,7 @@
 
 package com.alkacon.geranium.client.ui;
 
+import com.alkacon.geranium.client.ui.css.CssInjector;
 import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
 import com.alkacon.geranium.client.util.PositionBean;
 
@@ -108,6 +109,11 @@ public class HighlightingBorder extends Composite {
     /** The positioning parent element. */
     private Element m_positioningParent;
 
+    static {
+
+        CssInjector.ensureInjected(I_LayoutBundle.INSTANCE.highlightCss());
+    }
+
     /**
      * Constructor.<p>
      * 
@@ -0,0 +1,383 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client.ui;
+
+import com.alkacon.geranium.client.ui.css.CssInjector;
+import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.google.gwt.core.client.Duration;
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.EventTarget;
+import com.google.gwt.dom.client.NativeEvent;
+import com.google.gwt.dom.client.Node;
+import com.google.gwt.user.client.Timer;
+
+/**
+ * Applies hover classes to registered elements, using one delegated mouse over/out listener pair on the document
+ * and one shared timer for the hover intent delay.<p>
+ * 
+ * Elements are registered by setting the {@link #ATTR_HOVER_CLASS} attribute, either directly or through
+ * {@link #register(Element)}, or by carrying an attribute registered with {@link #registerAttribute(String, String, int)}.
+ * No event handlers are attached to the elements themselves.<p>
+ * 
+ * Note that hover effects are not applied when a widget stops the propagation of mouse over/out events.<p>
+ */
+public final class HoverManager {
+
+    /**
+     * A hover rule for elements carrying a given attribute.<p>
+     */
+    private static class Rule {
+
+        /** The hover intent delay. */
+        protected int m_delay;
+
+        /** The hover class. */
+        protected String m_hoverClass;
+
+        /**
+         * Constructor.<p>
+         * 
+         * @param hoverClass the hover class
+         * @param delay the hover intent delay
+         */
+        protected Rule(String hoverClass, int delay) {
+
+            m_hoverClass = hoverClass;
+            m_delay = delay;
+        }
+    }
+
+    /** The attribute holding the hover class of a registered element. */
+    public static final String ATTR_HOVER_CLASS = "data-hover-class";
+
+    /** The attribute holding the hover intent delay of a registered element. */
+    public static final String ATTR_HOVER_DELAY = "data-hover-delay";
+
+    /** The default hover intent delay. */
+    public static final int DEFAULT_DELAY = 200;
+
+    /** The singleton instance. */
+    private static HoverManager INSTANCE;
+
+    /** The hovered elements with their hover class. */
+    private Map<Element, String> m_hovered = new LinkedHashMap<Element, String>();
+
+    /** The elements waiting for the hover intent delay, with their due time. */
+    private Map<Element, Double> m_pending = new LinkedHashMap<Element, Double>();
+
+    /** The hover classes of the pending elements. */
+    private Map<Element, String> m_pendingClasses = new LinkedHashMap<Element, String>();
+
+    /** The attribute rules. */
+    private Map<String, Rule> m_rules = new LinkedHashMap<String, Rule>();
+
+    /** The shared hover intent timer. */
+    private Timer m_timer;
+
+    /** The due time the timer is scheduled for, or <code>-1</code>. */
+    private double m_timerDue = -1;
+
+    static {
+
+        CssInjector.ensureInjected(I_LayoutBundle.INSTANCE.stateCss());
+    }
+
+    /**
+     * Hidden constructor.<p>
+     */
+    private HoverManager() {
+
+        m_rules.put(ATTR_HOVER_CLASS, null);
+        m_timer = new Timer() {
+
+            /**
+             * @see com.google.gwt.user.client.Timer#run()
+             */
+            @Override
+            public void run() {
+
+                m_timerDue = -1;
+                onTimer();
+            }
+        };
+        installListeners();
+    }
+
+    /**
+     * Returns the singleton instance, installing the document listeners on first use.<p>
+     * 
+     * @return the singleton instance
+     */
+    public static HoverManager get() {
+
+        if (INSTANCE == null) {
+            INSTANCE = new HoverManager();
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Registers the element to receive the {@link com.alkacon.geranium.client.ui.css.I_LayoutBundle.I_StateCss#cmsHovering()}
+     * class after the default hover intent delay.<p>
+     * 
+     * @param element the element
+     */
+    public void register(Element element) {
+
+        register(element, I_LayoutBundle.INSTANCE.stateCss().cmsHovering(), DEFAULT_DELAY);
+    }
+
+    /**
+     * Registers the element to receive the given hover class.<p>
+     * 
+     * @param element the element
+     * @param hoverClass the hover class
+     * @param delay the hover intent delay, <code>0</code> to apply the class immediately
+     */
+    public void register(Element element, String hoverClass, int delay) {
+
+        element.setAttribute(ATTR_HOVER_CLASS, hoverClass);
+        if (delay != DEFAULT_DELAY) {
+            element.setAttribute(ATTR_HOVER_DELAY, String.valueOf(delay));
+        } else {
+            element.removeAttribute(ATTR_HOVER_DELAY);
+        }
+    }
+
+    /**
+     * Registers a hover class for all elements carrying the given attribute.<p>
+     * 
+     * @param attribute the attribute name, for example a data attribute
+     * @param hoverClass the hover class
+     * @param delay the hover intent delay, <code>0</code> to apply the class immediately
+     */
+    public void registerAttribute(String attribute, String hoverClass, int delay) {
+
+        m_rules.put(attribute, new Rule(hoverClass, delay));
+    }
+
+    /**
+     * Removes the registration of the element and its hover class.<p>
+     * 
+     * @param element the element
+     */
+    public void unregister(Element element) {
+
+        element.removeAttribute(ATTR_HOVER_CLASS);
+        element.removeAttribute(ATTR_HOVER_DELAY);
+        m_pending.remove(element);
+        m_pendingClasses.remove(element);
+        String hoverClass = m_hovered.remove(element);
+        if (hoverClass != null) {
+            element.removeClassName(hoverClass);
+        }
+    }
+
+    /**
+     * Handles the delegated mouse out event.<p>
+     * 
+     * @param event the event
+     */
+    protected void onMouseOut(NativeEvent event) {
+
+        Node related = toNode(event.getRelatedEventTarget());
+        Iterator<Map.Entry<Element, String>> it = m_hovered.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Element, String> entry = it.next();
+            if (!contains(entry.getKey(), related)) {
+                entry.getKey().removeClassName(entry.getValue());
+                it.remove();
+            }
+        }
+        Iterator<Element> pending = m_pending.keySet().iterator();
+        while (pending.hasNext()) {
+            Element element = pending.next();
+            if (!contains(element, related)) {
+                pending.remove();
+                m_pendingClasses.remove(element);
+            }
+        }
+    }
+
+    /**
+     * Handles the delegated mouse over event.<p>
+     * 
+     * @param event the event
+     */
+    protected void onMouseOver(NativeEvent event) {
+
+        Node node = toNode(event.getEventTarget());
+        double now = Duration.currentTimeMillis();
+        while (node != null) {
+            if (Element.is(node)) {
+                Element element = Element.as(node);
+                if (!m_hovered.containsKey(element) && !m_pending.containsKey(element)) {
+                    startHover(element, now);
+                }
+            }
+            node = node.getParentNode();
+        }
+        scheduleTimer();
+    }
+
+    /**
+     * Applies the hover classes of all elements whose intent delay has passed.<p>
+     */
+    protected void onTimer() {
+
+        double now = Duration.currentTimeMillis();
+        Iterator<Map.Entry<Element, Double>> it = m_pending.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Element, Double> entry = it.next();
+            if (entry.getValue().doubleValue() <= now) {
+                Element element = entry.getKey();
+                String hoverClass = m_pendingClasses.remove(element);
+                it.remove();
+                element.addClassName(hoverClass);
+                m_hovered.put(element, hoverClass);
+            }
+        }
+        scheduleTimer();
+    }
+
+    /**
+     * Checks whether the node is the element itself or one of its descendants.<p>
+     * 
+     * @param element the element
+     * @param node the node, may be <code>null</code>
+     * 
+     * @return <code>true</code> if the element contains the node
+     */
+    private boolean contains(Element element, Node node) {
+
+        while (node != null) {
+            if (node == element) {
+                return true;
+            }
+            node = node.getParentNode();
+        }
+        return false;
+    }
+
+    /**
+     * Installs the document level listeners.<p>
+     */
+    private native void installListeners() /*-{
+        var self = this;
+        var over = function(event) {
+            self.@com.alkacon.geranium.client.ui.HoverManager::onMouseOver(Lcom/google/gwt/dom/client/NativeEvent;)(event || $wnd.event);
+        };
+        var out = function(event) {
+            self.@com.alkacon.geranium.client.ui.HoverManager::onMouseOut(Lcom/google/gwt/dom/client/NativeEvent;)(event || $wnd.event);
+        };
+        if ($doc.addEventListener) {
+            $doc.addEventListener('mouseover', $entry(over), false);
+            $doc.addEventListener('mouseout', $entry(out), false);
+        } else {
+            $doc.attachEvent('onmouseover', $entry(over));
+            $doc.attachEvent('onmouseout', $entry(out));
+        }
+    }-*/;
+
+    /**
+     * Schedules the shared timer for the earliest pending element.<p>
+     */
+    private void scheduleTimer() {
+
+        double due = -1;
+        for (Double time : m_pending.values()) {
+            if ((due < 0) || (time.doubleValue() < due)) {
+                due = time.doubleValue();
+            }
+        }
+        if (due < 0) {
+            m_timer.cancel();
+            m_timerDue = -1;
+        } else if ((m_timerDue < 0) || (due < m_timerDue)) {
+            m_timerDue = due;
+            m_timer.schedule(Math.max(1, (int)(due - Duration.currentTimeMillis())));
+        }
+    }
+
+    /**
+     * Starts the hover effect of the element if it is registered.<p>
+     * 
+     * @param element the element
+     * @param now the current time
+     */
+    private void startHover(Element element, double now) {
+
+        String hoverClass = null;
+        int delay = DEFAULT_DELAY;
+        for (Map.Entry<String, Rule> entry : m_rules.entrySet()) {
+            if (!element.hasAttribute(entry.getKey())) {
+                continue;
+            }
+            Rule rule = entry.getValue();
+            if (rule == null) {
+                // registered by element
+                hoverClass = element.getAttribute(ATTR_HOVER_CLASS);
+                String delayAttr = element.getAttribute(ATTR_HOVER_DELAY);
+                if ((delayAttr != null) && (delayAttr.length() > 0)) {
+                    delay = Integer.parseInt(delayAttr);
+                }
+            } else {
+                hoverClass = rule.m_hoverClass;
+                delay = rule.m_delay;
+            }
+            break;
+        }
+        if ((hoverClass == null) || (hoverClass.length() == 0)) {
+            return;
+        }
+        if (delay <= 0) {
+            element.addClassName(hoverClass);
+            m_hovered.put(element, hoverClass);
+        } else {
+            m_pending.put(element, Double.valueOf(now + delay));
+            m_pendingClasses.put(element, hoverClass);
+        }
+    }
+
+    /**
+     * Returns the event target as node, or <code>null</code> if it isn't one.<p>
+     * 
+     * @param target the event target
+     * 
+     * @return the node
+     */
+    private Node toNode(EventTarget target) {
+
+        if ((target == null) || !Node.is(target)) {
+            return null;
+        }
+        return Node.as(target);
+    }
+}
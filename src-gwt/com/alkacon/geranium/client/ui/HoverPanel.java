@@ -44,9 +44,7 @@ public class HoverPanel extends FlowPanel implements HasMouseOutHandlers, HasMou
     public HoverPanel() {
 
         super();
-        A_HoverHandler handler = new ClassHoverHandler(getElement());
-        addMouseOutHandler(handler);
-        addMouseOverHandler(handler);
+        HoverManager.get().register(getElement());
     }
 
     /**
@@ -0,0 +1,60 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client.ui;
+
+import com.google.gwt.user.client.ui.Widget;
+
+/**
+ * The data source of a {@link VirtualScrollPanel}.<p>
+ * 
+ * Row widgets are re-used for different rows while scrolling, so {@link #updateRow(Widget, int)} has to
+ * replace all content depending on the row.<p>
+ * 
+ * @param <W> the row widget type
+ */
+public interface I_VirtualRowModel<W extends Widget> {
+
+    /**
+     * Creates a new row widget.<p>
+     * 
+     * @return the row widget
+     */
+    W createRow();
+
+    /**
+     * Returns the number of rows.<p>
+     * 
+     * @return the number of rows
+     */
+    int getRowCount();
+
+    /**
+     * Updates the row widget to display the row with the given index.<p>
+     * 
+     * @param row the row widget
+     * @param index the row index
+     */
+    void updateRow(W row, int index);
+}
@@ -25,6 +25,9 @@
 package com.alkacon.geranium.client.ui;
 
 import com.alkacon.geranium.client.ui.I_Button.ButtonStyle;
+import com.alkacon.geranium.client.ui.css.CssInjector;
+import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
+import com.alkacon.geranium.client.ui.css.I_ToolbarButtonLayoutBundle;
 import com.alkacon.geranium.client.util.ClientStringUtil;
 
 import com.google.gwt.core.client.GWT;
@@ -123,6 +126,16 @@ public class MenuButton extends Composite implements HasClickHandlers {
     /** Flag if the button is in toolbar mode. */
     private boolean m_isToolbarMode;
 
+    static {
+
+        CssInjector.ensureInjected(
+            I_LayoutBundle.INSTANCE.buttonCss(),
+            I_LayoutBundle.INSTANCE.generalCss(),
+            I_LayoutBundle.INSTANCE.stateCss(),
+            I_ToolbarButtonLayoutBundle.INSTANCE.toolbarButtonCss(),
+            I_LayoutBundle.INSTANCE.menuButtonCss());
+    }
+
     /**
      * Constructor.<p>
      * 
@@ -24,6 +24,7 @@
 
 package com.alkacon.geranium.client.ui;
 
+import com.alkacon.geranium.client.ui.css.CssInjector;
 import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
 
 import com.google.gwt.core.client.GWT;
@@ -56,6 +57,11 @@ public class MessageWidget extends Widget {
     /** The current icon CSS class. */
     private String m_iconClass;
 
+    static {
+
+        CssInjector.ensureInjected(I_LayoutBundle.INSTANCE.generalCss());
+    }
+
     /**
      * Constructor.<p>
      */
@@ -62,9 +62,15 @@ public final class Notification {
     /** The duration of the animations. */
     public static final int ANIMATION_DURATION = 200;
 
+    /** The time normal messages are displayed, in milliseconds. Warnings and errors are displayed twice as long. */
+    public static final int DISPLAY_DURATION = 3000;
+
     /** The singleton instance. */
     private static Notification INSTANCE;
 
+    /** The notification queue. */
+    private NotificationQueue m_queue;
+
     /** The widget. */
     private I_NotificationWidget m_widget;
 
@@ -73,7 +79,7 @@ public final class Notification {
      */
     private Notification() {
 
-        // empty
+        m_queue = new NotificationQueue(this);
     }
 
     /**
@@ -89,6 +95,18 @@ public final class Notification {
         return INSTANCE;
     }
 
+    /**
+     * Returns the time a non sticky message of the given type is displayed.<p>
+     * 
+     * @param type the notification type
+     * 
+     * @return the display duration in milliseconds
+     */
+    public static int getDisplayDuration(Type type) {
+
+        return DISPLAY_DURATION * (type == Type.NORMAL ? 1 : 2);
+    }
+
     /**
      * Returns if the message of the old mode and type needs to be restored after a new message has been shown.<p>
      * 
@@ -127,7 +145,7 @@ public final class Notification {
      * 
      * @return <code>true</code> if the new type is superior to the old type
      */
-    private static boolean isSuperiorType(Type oldType, Type newType) {
+    static boolean isSuperiorType(Type oldType, Type newType) {
 
         if (oldType == null) {
             return true;
@@ -148,6 +166,16 @@ public final class Notification {
         return true;
     }
 
+    /**
+     * Returns the notification queue.<p>
+     * 
+     * @return the notification queue
+     */
+    public NotificationQueue getQueue() {
+
+        return m_queue;
+    }
+
     /**
      * Returns the widget.<p>
      *
@@ -173,6 +201,7 @@ public final class Notification {
      */
     public void hide() {
 
+        m_queue.clear();
         if (m_widget != null) {
             m_widget.hide();
         }
@@ -181,13 +210,15 @@ public final class Notification {
     /**
      * Sends a new notification.<p>
      * 
+     * The message is queued and shown with the next animation frame.<p>
+     * 
      * @param type the notification type
      * @param message the message
      */
     public void send(Type type, final String message) {
 
         if (m_widget != null) {
-            m_widget.show(Mode.NORMAL, type, message);
+            m_queue.add(Mode.NORMAL, type, message, false);
         }
     }
 
@@ -199,9 +230,8 @@ public final class Notification {
      */
     public void sendBlocking(Type type, final String message) {
 
-        sendSticky(type, message);
         if (m_widget != null) {
-            m_widget.setBlocking();
+            m_queue.add(Mode.STICKY, type, message, true);
         }
     }
 
@@ -235,7 +265,7 @@ public final class Notification {
     public void sendSticky(Type type, final String message) {
 
         if (m_widget != null) {
-            m_widget.show(Mode.STICKY, type, message);
+            m_queue.add(Mode.STICKY, type, message, false);
         }
     }
 
@@ -246,6 +276,7 @@ public final class Notification {
      */
     public void setWidget(I_NotificationWidget widget) {
 
+        m_queue.clearDisplayed();
         m_widget = widget;
     }
 }
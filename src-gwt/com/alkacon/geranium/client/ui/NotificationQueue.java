@@ -0,0 +1,433 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client.ui;
+
+import com.alkacon.geranium.client.ui.Notification.Mode;
+import com.alkacon.geranium.client.ui.Notification.Type;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gwt.animation.client.AnimationScheduler;
+import com.google.gwt.animation.client.AnimationScheduler.AnimationCallback;
+import com.google.gwt.core.client.Duration;
+import com.google.gwt.user.client.Timer;
+
+/**
+ * Queues notifications before they are handed to the notification widget.<p>
+ * 
+ * Identical messages are coalesced and shown with a count, like "message (x12)". All pending messages
+ * of the same mode are rendered together, with at most one widget update per animation frame.
+ * Updates containing messages of a given type are rate limited, messages arriving in between wait in the queue.<p>
+ * 
+ * Messages which are still displayed stay part of the rendered batch, so a burst of messages
+ * will accumulate in the widget instead of replacing each other.<p>
+ */
+public final class NotificationQueue {
+
+    /**
+     * A queued or displayed notification message.<p>
+     */
+    private static class Entry {
+
+        /** Flag indicating the message should block the notification widget. */
+        protected boolean m_blocking;
+
+        /** The number of times the message was sent. */
+        protected int m_count;
+
+        /** The message. */
+        protected String m_message;
+
+        /** The notification mode. */
+        protected Mode m_mode;
+
+        /** The time the message was last sent. */
+        protected double m_time;
+
+        /** The notification type. */
+        protected Type m_type;
+
+        /**
+         * Constructor.<p>
+         * 
+         * @param mode the notification mode
+         * @param type the notification type
+         * @param message the message
+         * @param blocking <code>true</code> if the message should block the notification widget
+         */
+        protected Entry(Mode mode, Type type, String message, boolean blocking) {
+
+            m_mode = mode;
+            m_type = type;
+            m_message = message;
+            m_blocking = blocking;
+            m_count = 1;
+            m_time = Duration.currentTimeMillis();
+        }
+
+        /**
+         * Returns if this entry represents the given message.<p>
+         * 
+         * @param mode the notification mode
+         * @param type the notification type
+         * @param message the message
+         * 
+         * @return <code>true</code> if this entry represents the given message
+         */
+        protected boolean matches(Mode mode, Type type, String message) {
+
+            return (m_mode == mode) && (m_type == type) && m_message.equals(message);
+        }
+
+        /**
+         * Returns the message to display, including the count if the message was sent more than once.<p>
+         * 
+         * @return the message to display
+         */
+        protected String render() {
+
+            return m_count > 1 ? m_message + " (x" + m_count + ")" : m_message;
+        }
+    }
+
+    /** The default minimum time between two updates showing error messages, in milliseconds. */
+    public static final int DEFAULT_ERROR_RATE_LIMIT = 250;
+
+    /** The default minimum time between two updates showing normal messages, in milliseconds. */
+    public static final int DEFAULT_NORMAL_RATE_LIMIT = 1000;
+
+    /** The default minimum time between two updates showing warning messages, in milliseconds. */
+    public static final int DEFAULT_WARNING_RATE_LIMIT = 500;
+
+    /** The maximum number of different messages rendered together. */
+    public static final int MAX_BATCH_SIZE = 5;
+
+    /** The separator between messages rendered together. */
+    private static final String MESSAGE_SEPARATOR = "<br />";
+
+    /** The time of the last update per notification type. */
+    private Map<Type, Double> m_lastUpdates = new HashMap<Type, Double>();
+
+    /** The currently displayed messages. */
+    private List<Entry> m_live = new ArrayList<Entry>();
+
+    /** The notification the queue belongs to. */
+    private Notification m_notification;
+
+    /** The pending messages. */
+    private List<Entry> m_pending = new ArrayList<Entry>();
+
+    /** The rate limits per notification type. */
+    private Map<Type, Integer> m_rateLimits = new HashMap<Type, Integer>();
+
+    /** Flag indicating an animation frame or timer has been requested to flush the queue. */
+    private boolean m_scheduled;
+
+    /**
+     * Constructor.<p>
+     * 
+     * @param notification the notification the queue belongs to
+     */
+    protected NotificationQueue(Notification notification) {
+
+        m_notification = notification;
+        m_rateLimits.put(Type.ERROR, Integer.valueOf(DEFAULT_ERROR_RATE_LIMIT));
+        m_rateLimits.put(Type.NORMAL, Integer.valueOf(DEFAULT_NORMAL_RATE_LIMIT));
+        m_rateLimits.put(Type.WARNING, Integer.valueOf(DEFAULT_WARNING_RATE_LIMIT));
+    }
+
+    /**
+     * Adds a message to the queue.<p>
+     * 
+     * @param mode the notification mode
+     * @param type the notification type
+     * @param message the message
+     * @param blocking <code>true</code> if the message should block the notification widget
+     */
+    public void add(Mode mode, Type type, String message, boolean blocking) {
+
+        if (message == null) {
+            message = "";
+        }
+        Entry entry = find(m_pending, mode, type, message);
+        if (entry == null) {
+            entry = find(m_live, mode, type, message);
+            if ((entry != null) && !isExpired(entry, Duration.currentTimeMillis())) {
+                // continue counting the displayed message
+                m_live.remove(entry);
+                entry.m_count += 1;
+                entry.m_time = Duration.currentTimeMillis();
+            } else {
+                entry = new Entry(mode, type, message, blocking);
+            }
+            m_pending.add(entry);
+        } else {
+            entry.m_count += 1;
+            entry.m_time = Duration.currentTimeMillis();
+        }
+        entry.m_blocking |= blocking;
+        scheduleFlush(0);
+    }
+
+    /**
+     * Removes all pending and displayed messages from the queue.<p>
+     */
+    public void clear() {
+
+        m_pending.clear();
+        m_live.clear();
+    }
+
+    /**
+     * Forgets about the displayed messages, for example because the notification widget has changed.<p>
+     */
+    public void clearDisplayed() {
+
+        m_live.clear();
+    }
+
+    /**
+     * Returns the number of pending messages.<p>
+     * 
+     * @return the number of pending messages
+     */
+    public int getPendingCount() {
+
+        return m_pending.size();
+    }
+
+    /**
+     * Returns the minimum time between two updates showing messages of the given type.<p>
+     * 
+     * @param type the notification type
+     * 
+     * @return the rate limit in milliseconds
+     */
+    public int getRateLimit(Type type) {
+
+        Integer limit = m_rateLimits.get(type);
+        return limit != null ? limit.intValue() : 0;
+    }
+
+    /**
+     * Sets the minimum time between two updates showing messages of the given type.<p>
+     * 
+     * @param type the notification type
+     * @param rateLimit the rate limit in milliseconds, use <code>0</code> to disable
+     */
+    public void setRateLimit(Type type, int rateLimit) {
+
+        m_rateLimits.put(type, Integer.valueOf(Math.max(rateLimit, 0)));
+    }
+
+    /**
+     * Renders the pending messages which are not held back by their rate limit.<p>
+     */
+    protected void flush() {
+
+        m_scheduled = false;
+        I_NotificationWidget widget = m_notification.getWidget();
+        if (m_pending.isEmpty() || (widget == null)) {
+            return;
+        }
+        double now = Duration.currentTimeMillis();
+        Mode mode = null;
+        List<Entry> batch = new ArrayList<Entry>();
+        int wait = Integer.MAX_VALUE;
+        Iterator<Entry> it = m_pending.iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            int remaining = getRemainingWait(entry.m_type, now);
+            if (remaining > 0) {
+                wait = Math.min(wait, remaining);
+            } else if ((mode == null) || (mode == entry.m_mode)) {
+                mode = entry.m_mode;
+                batch.add(entry);
+                it.remove();
+            }
+        }
+        if (mode != null) {
+            // keep the still displayed messages of the same mode
+            List<Entry> live = new ArrayList<Entry>();
+            for (Entry entry : m_live) {
+                if ((entry.m_mode == mode) && !isExpired(entry, now)) {
+                    live.add(entry);
+                }
+            }
+            for (Entry entry : batch) {
+                m_lastUpdates.put(entry.m_type, Double.valueOf(now));
+            }
+            live.addAll(batch);
+            if (live.size() > MAX_BATCH_SIZE) {
+                live = new ArrayList<Entry>(live.subList(live.size() - MAX_BATCH_SIZE, live.size()));
+            }
+            m_live = live;
+            render(widget, mode, live);
+        }
+        if (!m_pending.isEmpty()) {
+            scheduleFlush(mode != null ? 0 : wait);
+        }
+    }
+
+    /**
+     * Forgets about the displayed messages of the given mode, because the notification widget has hidden them.<p>
+     * 
+     * Sticky messages do not expire by time, so they have to be removed here.<p>
+     * 
+     * @param mode the notification mode
+     */
+    protected void onHidden(Mode mode) {
+
+        Iterator<Entry> it = m_live.iterator();
+        while (it.hasNext()) {
+            if (it.next().m_mode == mode) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns the matching entry from the given list.<p>
+     * 
+     * @param entries the entries to search
+     * @param mode the notification mode
+     * @param type the notification type
+     * @param message the message
+     * 
+     * @return the matching entry, or <code>null</code> if not found
+     */
+    private Entry find(List<Entry> entries, Mode mode, Type type, String message) {
+
+        for (Entry entry : entries) {
+            if (entry.matches(mode, type, message)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the time to wait before messages of the given type may be rendered again.<p>
+     * 
+     * @param type the notification type
+     * @param now the current time
+     * 
+     * @return the time to wait in milliseconds
+     */
+    private int getRemainingWait(Type type, double now) {
+
+        Double lastUpdate = m_lastUpdates.get(type);
+        if (lastUpdate == null) {
+            return 0;
+        }
+        return (int)Math.ceil((lastUpdate.doubleValue() + getRateLimit(type)) - now);
+    }
+
+    /**
+     * Returns if the given displayed entry has been hidden by the notification widget in the meantime.<p>
+     * 
+     * Sticky entries are removed through {@link #onHidden(Mode)} instead.<p>
+     * 
+     * @param entry the entry
+     * @param now the current time
+     * 
+     * @return <code>true</code> if the entry is no longer displayed
+     */
+    private boolean isExpired(Entry entry, double now) {
+
+        return Mode.NORMAL.equals(entry.m_mode)
+            && ((now - entry.m_time) >= Notification.getDisplayDuration(entry.m_type));
+    }
+
+    /**
+     * Renders the given entries as one notification.<p>
+     * 
+     * @param widget the notification widget
+     * @param mode the notification mode
+     * @param entries the entries to render
+     */
+    private void render(I_NotificationWidget widget, Mode mode, List<Entry> entries) {
+
+        Type type = null;
+        boolean blocking = false;
+        StringBuffer message = new StringBuffer();
+        for (Entry entry : entries) {
+            if (message.length() > 0) {
+                message.append(MESSAGE_SEPARATOR);
+            }
+            message.append(entry.render());
+            if ((type == null) || Notification.isSuperiorType(type, entry.m_type)) {
+                type = entry.m_type;
+            }
+            blocking |= entry.m_blocking;
+        }
+        widget.show(mode, type, message.toString());
+        if (blocking) {
+            widget.setBlocking();
+        }
+    }
+
+    /**
+     * Schedules flushing the queue.<p>
+     * 
+     * @param delay the time to wait before requesting the animation frame in milliseconds
+     */
+    private void scheduleFlush(int delay) {
+
+        if (m_scheduled) {
+            return;
+        }
+        m_scheduled = true;
+        final AnimationCallback callback = new AnimationCallback() {
+
+            /**
+             * @see com.google.gwt.animation.client.AnimationScheduler.AnimationCallback#execute(double)
+             */
+            public void execute(double timestamp) {
+
+                flush();
+            }
+        };
+        if (delay <= 0) {
+            AnimationScheduler.get().requestAnimationFrame(callback);
+        } else {
+            new Timer() {
+
+                /**
+                 * @see com.google.gwt.user.client.Timer#run()
+                 */
+                @Override
+                public void run() {
+
+                    AnimationScheduler.get().requestAnimationFrame(callback);
+                }
+            }.schedule(delay);
+        }
+    }
+}
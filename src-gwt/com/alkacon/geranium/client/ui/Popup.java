@@ -26,9 +26,11 @@ package com.alkacon.geranium.client.ui;
 
 import com.alkacon.geranium.client.Messages;
 import com.alkacon.geranium.client.ui.I_Button.ButtonStyle;
+import com.alkacon.geranium.client.ui.css.CssInjector;
 import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
 import com.alkacon.geranium.client.util.ClientStringUtil;
 import com.alkacon.geranium.client.util.FadeAnimation;
+import com.alkacon.geranium.client.util.LayoutThrashDetector;
 
 import java.util.Iterator;
 
@@ -216,7 +218,7 @@ public class Popup extends PopupPanel implements I_AutoHider {
     }
 
     /** The default width of this dialog. */
-    private static final int DEFAULT_WIDTH = 300;
+    protected static final int DEFAULT_WIDTH = 300;
 
     /** The window width. */
     protected int m_windowWidth;
@@ -257,12 +259,22 @@ public class Popup extends PopupPanel implements I_AutoHider {
     /** The main widget of this dialog containing all others. */
     private Element m_main;
 
+    /** Flag indicating the show animation is adjusted to the device performance. */
+    private boolean m_animationGoverned = true;
+
     /** The resize handler registration .*/
     private HandlerRegistration m_resizeHandlerRegistration;
 
     /** Signals whether a animation should be used to show the popup or not. */
     private boolean m_useAnimation = true;
 
+    static {
+
+        CssInjector.ensureInjected(
+            I_LayoutBundle.INSTANCE.dialogCss(),
+            I_LayoutBundle.INSTANCE.generalCss());
+    }
+
     /**
      * Constructor.<p>
      */
@@ -474,6 +486,7 @@ public class Popup extends PopupPanel implements I_AutoHider {
     @Override
     public void center() {
 
+        CssInjector.flush();
         if (Position.FIXED.getCssName().equals(getElement().getStyle().getPosition())) {
             show();
             // keep position fixed, as may have been set to absolute
@@ -502,6 +515,7 @@ public class Popup extends PopupPanel implements I_AutoHider {
      */
     public void centerHorizontally(int top) {
 
+        CssInjector.flush();
         if (Position.FIXED.getCssName().equals(getElement().getStyle().getPosition())) {
             show();
             // keep position fixed, as may have been set to absolute
@@ -745,6 +759,21 @@ public class Popup extends PopupPanel implements I_AutoHider {
         }
     }
 
+    /**
+     * Removes the close "button" from the top of the popup, if present.<p>
+     */
+    public void removeDialogClose() {
+
+        if (m_close != null) {
+            try {
+                orphan(m_close);
+            } finally {
+                m_close.getElement().removeFromParent();
+                m_close = null;
+            }
+        }
+    }
+
     /**
      * Removes the padding from the popup's content.<p>
      */
@@ -767,6 +796,8 @@ public class Popup extends PopupPanel implements I_AutoHider {
     /**
      * Sets the captions text.<p>
      * 
+     * An empty text hides the caption and clears the previous text, so {@link #hasCaption()} returns <code>false</code>.<p>
+     * 
      * @param caption the text to set
      */
     public void setCaption(String caption) {
@@ -776,6 +807,7 @@ public class Popup extends PopupPanel implements I_AutoHider {
             m_caption.setText(caption);
         } else {
             getElement().addClassName(I_LayoutBundle.INSTANCE.dialogCss().hideCaption());
+            m_caption.setText("");
         }
     }
 
@@ -787,7 +819,8 @@ public class Popup extends PopupPanel implements I_AutoHider {
     public void setHeight(int height) {
 
         if (height <= 0) {
-            m_containerElement.getStyle().clearWidth();
+            m_containerElement.getStyle().clearHeight();
+            m_main.getStyle().clearHeight();
         } else {
             int contentHeight = height;
             if (hasCaption()) {
@@ -861,6 +894,16 @@ public class Popup extends PopupPanel implements I_AutoHider {
         m_main.addClassName(cssClassName);
     }
 
+    /**
+     * Sets if the show animation may be shortened or skipped on slow devices, see {@link com.alkacon.geranium.client.util.AnimationGovernor}.<p>
+     * 
+     * @param governed <code>false</code> to always show the full animation, default is <code>true</code>
+     */
+    public void setAnimationGoverned(boolean governed) {
+
+        m_animationGoverned = governed;
+    }
+
     /**
      * Sets the use animation flag.<p>
      * 
@@ -913,14 +956,16 @@ public class Popup extends PopupPanel implements I_AutoHider {
     @Override
     public void show() {
 
+        CssInjector.flush();
         boolean fixed = Position.FIXED.getCssName().equals(getElement().getStyle().getPosition());
         super.show();
+        LayoutThrashDetector.write("Popup.show");
         if (fixed) {
             // keep position fixed as it may have been set to absolute
             setPositionFixed();
         }
         if (m_useAnimation) {
-            FadeAnimation.fadeIn(getElement(), null, 500);
+            FadeAnimation.fadeIn(getElement(), null, 500).setGoverned(m_animationGoverned);
         }
         if (m_resizeHandlerRegistration == null) {
             m_resizeHandlerRegistration = Window.addResizeHandler(new ResizeHandler() {
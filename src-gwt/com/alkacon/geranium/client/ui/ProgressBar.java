@@ -24,6 +24,7 @@
 
 package com.alkacon.geranium.client.ui;
 
+import com.alkacon.geranium.client.ui.css.CssInjector;
 import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
 
 import com.google.gwt.user.client.ui.FlowPanel;
@@ -40,6 +41,11 @@ public class ProgressBar extends FlowPanel {
     /** The div element for the percentage text. */
     private HTML m_text = new HTML();
 
+    static {
+
+        CssInjector.ensureInjected(I_LayoutBundle.INSTANCE.progressBarCss());
+    }
+
     /**
      * Creates a progress bar.<p>
      * 
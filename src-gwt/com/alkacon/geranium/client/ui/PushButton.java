@@ -26,7 +26,10 @@ package com.alkacon.geranium.client.ui;
 
 import com.alkacon.geranium.client.ui.I_Button.ButtonColor;
 import com.alkacon.geranium.client.ui.I_Button.ButtonStyle;
+import com.alkacon.geranium.client.ui.css.CssInjector;
 import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
+import com.alkacon.geranium.client.ui.css.I_ToolbarButtonLayoutBundle;
+import com.alkacon.geranium.client.util.ClassState;
 import com.alkacon.geranium.client.util.DomUtil;
 
 import com.google.gwt.user.client.DOM;
@@ -40,12 +43,24 @@ import com.google.gwt.user.client.ui.HasHorizontalAlignment;
  */
 public class PushButton extends com.google.gwt.user.client.ui.PushButton implements HasHorizontalAlignment {
 
+    /** Class slot of the button color. */
+    private static final String SLOT_COLOR = "color";
+
+    /** Class slot of the button size. */
+    private static final String SLOT_SIZE = "size";
+
+    /** Class slot of the button style. */
+    private static final String SLOT_STYLE = "style";
+
     /** The current horizontal alignment. */
     private HorizontalAlignmentConstant m_align;
 
     /** Stores the button style. */
     private ButtonStyle m_buttonStyle;
 
+    /** The state dependent CSS classes. */
+    private ClassState m_classState;
+
     /** Stores the button color. */
     private I_Button.ButtonColor m_color;
 
@@ -70,6 +85,15 @@ public class PushButton extends com.google.gwt.user.client.ui.PushButton impleme
     /** Use minimum width flag. */
     private boolean m_useMinWidth;
 
+    static {
+
+        CssInjector.ensureInjected(
+            I_LayoutBundle.INSTANCE.buttonCss(),
+            I_LayoutBundle.INSTANCE.generalCss(),
+            I_LayoutBundle.INSTANCE.stateCss(),
+            I_ToolbarButtonLayoutBundle.INSTANCE.toolbarButtonCss());
+    }
+
     /**
      * The constructor.<p>
      */
@@ -77,8 +101,11 @@ public class PushButton extends com.google.gwt.user.client.ui.PushButton impleme
 
         m_align = HasHorizontalAlignment.ALIGN_RIGHT;
         setStyleName(I_LayoutBundle.INSTANCE.buttonCss().cmsState());
+        m_classState = new ClassState(this);
+        m_classState.begin();
         setButtonStyle(ButtonStyle.TEXT, ButtonColor.BLUE);
         setSize(I_Button.Size.medium);
+        m_classState.end();
     }
 
     /**
@@ -110,8 +137,14 @@ public class PushButton extends com.google.gwt.user.client.ui.PushButton impleme
      */
     public void clearHoverState() {
 
-        setEnabled(!isEnabled());
-        setEnabled(!isEnabled());
+        // the current face is marked by a dependent style name of the primary style
+        String primary = getStylePrimaryName();
+        if (DomUtil.hasClass(primary + "-up-hovering", getElement())
+            || DomUtil.hasClass(primary + "-down-hovering", getElement())) {
+            // toggling the enabled state resets the face without any event reaching the DOM
+            setEnabled(false);
+            setEnabled(true);
+        }
     }
 
     /**
@@ -242,24 +275,15 @@ public class PushButton extends com.google.gwt.user.client.ui.PushButton impleme
      */
     public void setButtonStyle(I_Button.ButtonStyle style, I_Button.ButtonColor color) {
 
-        if (m_buttonStyle != null) {
-            for (String styleName : m_buttonStyle.getAdditionalClasses()) {
-                removeStyleName(styleName);
-            }
-        }
+        m_classState.begin();
         if (style == ButtonStyle.TRANSPARENT) {
             setSize(null);
         }
-        addStyleName(style.getCssClassName());
+        m_classState.set(SLOT_STYLE, style.getCssClassName());
         m_buttonStyle = style;
-
-        if (m_color != null) {
-            removeStyleName(m_color.getClassName());
-        }
-        if (color != null) {
-            addStyleName(color.getClassName());
-        }
+        m_classState.set(SLOT_COLOR, color != null ? color.getClassName() : null);
         m_color = color;
+        m_classState.end();
     }
 
     /**
@@ -324,12 +348,7 @@ public class PushButton extends com.google.gwt.user.client.ui.PushButton impleme
      */
     public void setSize(I_Button.Size size) {
 
-        if (m_size != null) {
-            removeStyleName(m_size.getCssClassName());
-        }
-        if (size != null) {
-            addStyleName(size.getCssClassName());
-        }
+        m_classState.set(SLOT_SIZE, size != null ? size.getCssClassName() : null);
         m_size = size;
     }
 
@@ -376,11 +395,7 @@ public class PushButton extends com.google.gwt.user.client.ui.PushButton impleme
     public void setUseMinWidth(boolean useMinWidth) {
 
         if (useMinWidth != m_useMinWidth) {
-            if (useMinWidth) {
-                addStyleName(I_LayoutBundle.INSTANCE.buttonCss().cmsMinWidth());
-            } else {
-                removeStyleName(I_LayoutBundle.INSTANCE.buttonCss().cmsMinWidth());
-            }
+            m_classState.toggle(I_LayoutBundle.INSTANCE.buttonCss().cmsMinWidth(), useMinWidth);
             m_useMinWidth = useMinWidth;
         }
     }
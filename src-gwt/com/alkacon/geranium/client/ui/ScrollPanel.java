@@ -81,9 +81,14 @@ public class ScrollPanel extends com.google.gwt.user.client.ui.ScrollPanel {
                     }
                 });
             }
-        } else if (m_handlerRegistration != null) {
-            m_handlerRegistration.removeHandler();
-            m_handlerRegistration = null;
+        } else {
+            if (m_handlerRegistration != null) {
+                m_handlerRegistration.removeHandler();
+                m_handlerRegistration = null;
+            }
+            if (m_focusedScrollingHandler != null) {
+                m_focusedScrollingHandler.removeHandler();
+            }
         }
     }
 
@@ -24,6 +24,9 @@
 
 package com.alkacon.geranium.client.ui;
 
+import com.alkacon.geranium.client.ui.css.CssInjector;
+import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
+
 import java.util.List;
 
 import com.google.gwt.core.client.GWT;
@@ -67,6 +70,13 @@ public class SimpleDecoratedPanel extends Composite implements I_Truncable {
     /** The width of the decoration box. */
     private int m_decorationWidth;
 
+    static {
+
+        CssInjector.ensureInjected(
+            I_LayoutBundle.INSTANCE.floatDecoratedPanelCss(),
+            I_LayoutBundle.INSTANCE.generalCss());
+    }
+
     /**
      * Creates a new instance of this widget.<p>
      * 
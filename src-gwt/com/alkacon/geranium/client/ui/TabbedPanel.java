@@ -24,9 +24,11 @@
 
 package com.alkacon.geranium.client.ui;
 
+import com.alkacon.geranium.client.ui.css.CssInjector;
 import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
 import com.alkacon.geranium.client.util.ClientStringUtil;
 import com.alkacon.geranium.client.util.DomUtil;
+import com.alkacon.geranium.client.util.LayoutThrashDetector;
 
 import java.util.HashMap;
 import java.util.Iterator;
@@ -172,8 +174,11 @@ public class TabbedPanel<E extends Widget> extends Composite {
          */
         protected void checkTabOverflow() {
 
+            CssInjector.flush();
+            LayoutThrashDetector.read("TabbedPanel.checkTabOverflow");
             int height = m_tabBar.getOffsetHeight();
             m_contentPanel.getElement().getParentElement().getStyle().setTop(height, Unit.PX);
+            LayoutThrashDetector.write("TabbedPanel.checkTabOverflow");
         }
     }
 
@@ -189,6 +194,13 @@ public class TabbedPanel<E extends Widget> extends Composite {
     /** A map from ids to tabs. */
     private Map<String, E> m_tabsById = new HashMap<String, E>();
 
+    static {
+
+        CssInjector.ensureInjected(
+            I_LayoutBundle.INSTANCE.generalCss(),
+            I_LayoutBundle.INSTANCE.tabbedPanelCss());
+    }
+
     /**
      * The default constructor for an empty tabbed panel. <p>
      */
@@ -26,7 +26,10 @@ package com.alkacon.geranium.client.ui;
 
 import com.alkacon.geranium.client.ui.I_Button.ButtonColor;
 import com.alkacon.geranium.client.ui.I_Button.ButtonStyle;
+import com.alkacon.geranium.client.ui.css.CssInjector;
 import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
+import com.alkacon.geranium.client.ui.css.I_ToolbarButtonLayoutBundle;
+import com.alkacon.geranium.client.util.ClassState;
 import com.alkacon.geranium.client.util.DomUtil;
 
 import com.google.gwt.user.client.DOM;
@@ -38,12 +41,24 @@ import com.google.gwt.user.client.ui.HasHorizontalAlignment;
  */
 public class ToggleButton extends com.google.gwt.user.client.ui.ToggleButton implements HasHorizontalAlignment {
 
+    /** Class slot of the button color. */
+    private static final String SLOT_COLOR = "color";
+
+    /** Class slot of the button size. */
+    private static final String SLOT_SIZE = "size";
+
+    /** Class slot of the button style. */
+    private static final String SLOT_STYLE = "style";
+
     /** The current horizontal alignment. */
     private HorizontalAlignmentConstant m_align;
 
     /** Stores the button style. */
     private ButtonStyle m_buttonStyle;
 
+    /** The state dependent CSS classes. */
+    private ClassState m_classState;
+
     /** Stores the button color. */
     private I_Button.ButtonColor m_color;
 
@@ -68,6 +83,15 @@ public class ToggleButton extends com.google.gwt.user.client.ui.ToggleButton imp
     /** Use minimum width flag. */
     private boolean m_useMinWidth;
 
+    static {
+
+        CssInjector.ensureInjected(
+            I_LayoutBundle.INSTANCE.buttonCss(),
+            I_LayoutBundle.INSTANCE.generalCss(),
+            I_LayoutBundle.INSTANCE.stateCss(),
+            I_ToolbarButtonLayoutBundle.INSTANCE.toolbarButtonCss());
+    }
+
     /**
      * Constructor.<p>
      */
@@ -76,8 +100,11 @@ public class ToggleButton extends com.google.gwt.user.client.ui.ToggleButton imp
         super();
         m_align = HasHorizontalAlignment.ALIGN_RIGHT;
         setStyleName(I_LayoutBundle.INSTANCE.buttonCss().cmsState());
+        m_classState = new ClassState(this);
+        m_classState.begin();
         setButtonStyle(ButtonStyle.TEXT, ButtonColor.BLUE);
         setSize(I_Button.Size.medium);
+        m_classState.end();
     }
 
     /**
@@ -220,24 +247,15 @@ public class ToggleButton extends com.google.gwt.user.client.ui.ToggleButton imp
      */
     public void setButtonStyle(I_Button.ButtonStyle style, I_Button.ButtonColor color) {
 
-        if (m_buttonStyle != null) {
-            for (String styleName : m_buttonStyle.getAdditionalClasses()) {
-                removeStyleName(styleName);
-            }
-        }
+        m_classState.begin();
         if (style == ButtonStyle.TRANSPARENT) {
             setSize(null);
         }
-        addStyleName(style.getCssClassName());
+        m_classState.set(SLOT_STYLE, style.getCssClassName());
         m_buttonStyle = style;
-
-        if (m_color != null) {
-            removeStyleName(m_color.getClassName());
-        }
-        if (color != null) {
-            addStyleName(color.getClassName());
-        }
+        m_classState.set(SLOT_COLOR, color != null ? color.getClassName() : null);
         m_color = color;
+        m_classState.end();
     }
 
     /**
@@ -302,12 +320,7 @@ public class ToggleButton extends com.google.gwt.user.client.ui.ToggleButton imp
      */
     public void setSize(I_Button.Size size) {
 
-        if (m_size != null) {
-            removeStyleName(m_size.getCssClassName());
-        }
-        if (size != null) {
-            addStyleName(size.getCssClassName());
-        }
+        m_classState.set(SLOT_SIZE, size != null ? size.getCssClassName() : null);
         m_size = size;
     }
 
@@ -355,11 +368,7 @@ public class ToggleButton extends com.google.gwt.user.client.ui.ToggleButton imp
     public void setUseMinWidth(boolean useMinWidth) {
 
         if (useMinWidth != m_useMinWidth) {
-            if (useMinWidth) {
-                addStyleName(I_LayoutBundle.INSTANCE.buttonCss().cmsMinWidth());
-            } else {
-                removeStyleName(I_LayoutBundle.INSTANCE.buttonCss().cmsMinWidth());
-            }
+            m_classState.toggle(I_LayoutBundle.INSTANCE.buttonCss().cmsMinWidth(), useMinWidth);
             m_useMinWidth = useMinWidth;
         }
     }
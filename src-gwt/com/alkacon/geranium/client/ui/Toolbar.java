@@ -24,6 +24,8 @@
 
 package com.alkacon.geranium.client.ui;
 
+import com.alkacon.geranium.client.ui.css.CssInjector;
+import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
 import com.alkacon.geranium.client.util.FadeAnimation;
 import com.alkacon.geranium.client.util.StyleVariable;
 
@@ -62,6 +64,11 @@ public class Toolbar extends Composite {
     @UiField
     protected FlowPanel m_buttonPanelRight;
 
+    static {
+
+        CssInjector.ensureInjected(I_LayoutBundle.INSTANCE.toolbarCss());
+    }
+
     /**
      * Constructor.<p>
      */
@@ -25,6 +25,7 @@
 package com.alkacon.geranium.client.ui;
 
 import com.alkacon.geranium.client.ui.Notification.Type;
+import com.alkacon.geranium.client.ui.css.CssInjector;
 import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
 import com.alkacon.geranium.client.util.FadeAnimation;
 
@@ -55,6 +56,13 @@ public class ToolbarNotificationWidget extends A_NotificationWidget {
     @UiField
     protected Element m_message;
 
+    static {
+
+        CssInjector.ensureInjected(
+            I_LayoutBundle.INSTANCE.notificationCss(),
+            I_LayoutBundle.INSTANCE.toolbarCss());
+    }
+
     /**
      * Constructor.<p>
      */
@@ -0,0 +1,363 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client.ui;
+
+import com.alkacon.geranium.client.util.PrefixSumIndex;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gwt.animation.client.AnimationScheduler;
+import com.google.gwt.animation.client.AnimationScheduler.AnimationCallback;
+import com.google.gwt.dom.client.Style;
+import com.google.gwt.dom.client.Style.Display;
+import com.google.gwt.dom.client.Style.Position;
+import com.google.gwt.dom.client.Style.Unit;
+import com.google.gwt.event.dom.client.ScrollEvent;
+import com.google.gwt.event.dom.client.ScrollHandler;
+import com.google.gwt.user.client.ui.Widget;
+
+/**
+ * Scroll panel rendering only the visible rows of a {@link I_VirtualRowModel}, plus a buffer above and below.<p>
+ * 
+ * Rows are positioned absolutely within a content panel that has the height of all rows. Row widgets leaving the
+ * window are hidden and re-used for the rows entering it. With a fixed row height nothing is measured; otherwise
+ * rows start out at the estimated height and are measured once rendered.<p>
+ * 
+ * @param <W> the row widget type
+ */
+public class VirtualScrollPanel<W extends Widget> extends ScrollPanel {
+
+    /** The default number of buffer rows above and below the visible window. */
+    public static final int DEFAULT_BUFFER = 10;
+
+    /** The default estimated row height. */
+    public static final int DEFAULT_ROW_HEIGHT = 24;
+
+    /** The rendered rows by index. */
+    protected Map<Integer, W> m_activeRows = new HashMap<Integer, W>();
+
+    /** The number of buffer rows. */
+    private int m_buffer = DEFAULT_BUFFER;
+
+    /** The content panel. */
+    private FlowPanel m_content;
+
+    /** Flag indicating the row height is fixed. */
+    private boolean m_fixedHeight;
+
+    /** The row heights. */
+    private PrefixSumIndex m_index;
+
+    /** The row model. */
+    private I_VirtualRowModel<W> m_model;
+
+    /** The hidden row widgets available for re-use. */
+    private List<W> m_pool = new ArrayList<W>();
+
+    /** Flag indicating an update is requested for the next animation frame. */
+    private boolean m_updateRequested;
+
+    /**
+     * Constructor.<p>
+     */
+    public VirtualScrollPanel() {
+
+        m_content = new FlowPanel();
+        m_content.getElement().getStyle().setPosition(Position.RELATIVE);
+        m_content.getElement().getStyle().setOverflow(Style.Overflow.HIDDEN);
+        setWidget(m_content);
+        m_index = new PrefixSumIndex(0, DEFAULT_ROW_HEIGHT);
+        addScrollHandler(new ScrollHandler() {
+
+            /**
+             * @see com.google.gwt.event.dom.client.ScrollHandler#onScroll(com.google.gwt.event.dom.client.ScrollEvent)
+             */
+            public void onScroll(ScrollEvent event) {
+
+                requestUpdate();
+            }
+        });
+    }
+
+    /**
+     * Returns the row model.<p>
+     * 
+     * @return the row model
+     */
+    public I_VirtualRowModel<W> getModel() {
+
+        return m_model;
+    }
+
+    /**
+     * Returns the number of rendered row widgets, including the ones kept for re-use.<p>
+     * 
+     * @return the number of row widgets
+     */
+    public int getRowWidgetCount() {
+
+        return m_activeRows.size() + m_pool.size();
+    }
+
+    /**
+     * @see com.google.gwt.user.client.ui.ScrollPanel#onResize()
+     */
+    @Override
+    public void onResize() {
+
+        super.onResize();
+        requestUpdate();
+    }
+
+    /**
+     * Re-reads the row count of the model and re-renders the visible rows.<p>
+     * 
+     * Call this whenever the model data has changed. Measured row heights are discarded.<p>
+     */
+    public void refresh() {
+
+        int count = m_model == null ? 0 : m_model.getRowCount();
+        m_index.reset(count);
+        for (W row : m_activeRows.values()) {
+            release(row);
+        }
+        m_activeRows.clear();
+        updateWindow();
+    }
+
+    /**
+     * Re-renders the given row, if it is currently rendered.<p>
+     * 
+     * @param index the row index
+     */
+    public void refreshRow(int index) {
+
+        W row = m_activeRows.get(Integer.valueOf(index));
+        if (row != null) {
+            m_model.updateRow(row, index);
+            requestUpdate();
+        }
+    }
+
+    /**
+     * Scrolls the given row to the top of the viewport.<p>
+     * 
+     * @param index the row index
+     */
+    public void scrollToRow(int index) {
+
+        if ((index < 0) || (index >= m_index.getSize())) {
+            return;
+        }
+        setVerticalScrollPosition(m_index.getOffset(index));
+        updateWindow();
+    }
+
+    /**
+     * Sets the number of rows rendered above and below the visible window.<p>
+     * 
+     * @param buffer the number of buffer rows
+     */
+    public void setBuffer(int buffer) {
+
+        m_buffer = Math.max(0, buffer);
+    }
+
+    /**
+     * Sets the estimated height for rows which have not been measured yet, enabling variable row heights.<p>
+     * 
+     * @param height the estimated row height
+     */
+    public void setEstimatedRowHeight(int height) {
+
+        m_fixedHeight = false;
+        m_index.setDefaultHeight(height);
+        requestUpdate();
+    }
+
+    /**
+     * Sets a fixed row height. Rows will not be measured.<p>
+     * 
+     * @param height the row height
+     */
+    public void setFixedRowHeight(int height) {
+
+        m_fixedHeight = true;
+        m_index.setDefaultHeight(height);
+        requestUpdate();
+    }
+
+    /**
+     * Sets the row model and renders the visible rows.<p>
+     * 
+     * @param model the row model
+     */
+    public void setModel(I_VirtualRowModel<W> model) {
+
+        m_model = model;
+        for (W row : m_activeRows.values()) {
+            row.removeFromParent();
+        }
+        for (W row : m_pool) {
+            row.removeFromParent();
+        }
+        m_activeRows.clear();
+        m_pool.clear();
+        refresh();
+    }
+
+    /**
+     * @see com.google.gwt.user.client.ui.Widget#onLoad()
+     */
+    @Override
+    protected void onLoad() {
+
+        super.onLoad();
+        requestUpdate();
+    }
+
+    /**
+     * Requests a window update with the next animation frame.<p>
+     */
+    protected void requestUpdate() {
+
+        if (m_updateRequested) {
+            return;
+        }
+        m_updateRequested = true;
+        AnimationScheduler.get().requestAnimationFrame(new AnimationCallback() {
+
+            /**
+             * @see com.google.gwt.animation.client.AnimationScheduler.AnimationCallback#execute(double)
+             */
+            public void execute(double timestamp) {
+
+                m_updateRequested = false;
+                updateWindow();
+            }
+        });
+    }
+
+    /**
+     * Renders the rows of the current window and releases the rows outside of it.<p>
+     */
+    protected void updateWindow() {
+
+        if ((m_model == null) || !isAttached()) {
+            return;
+        }
+        int count = m_index.getSize();
+        int scrollTop = getVerticalScrollPosition();
+        int viewHeight = getElement().getClientHeight();
+        int first = 0;
+        int last = -1;
+        if (count > 0) {
+            first = Math.max(0, m_index.findIndex(scrollTop) - m_buffer);
+            last = Math.min(count - 1, m_index.findIndex(scrollTop + viewHeight) + m_buffer);
+        }
+        Iterator<Map.Entry<Integer, W>> it = m_activeRows.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<Integer, W> entry = it.next();
+            int index = entry.getKey().intValue();
+            if ((index < first) || (index > last)) {
+                release(entry.getValue());
+                it.remove();
+            }
+        }
+        List<Integer> added = new ArrayList<Integer>();
+        for (int i = first; i <= last; i++) {
+            Integer key = Integer.valueOf(i);
+            if (!m_activeRows.containsKey(key)) {
+                W row = acquire();
+                m_model.updateRow(row, i);
+                m_activeRows.put(key, row);
+                added.add(key);
+            }
+        }
+        if (!m_fixedHeight && !added.isEmpty()) {
+            // read all heights first, then write the positions
+            boolean changed = false;
+            int anchorIndex = count > 0 ? m_index.findIndex(scrollTop) : 0;
+            int anchorDelta = scrollTop - (count > 0 ? m_index.getOffset(anchorIndex) : 0);
+            for (Integer key : added) {
+                int height = m_activeRows.get(key).getElement().getOffsetHeight();
+                changed |= m_index.setHeight(key.intValue(), height);
+            }
+            if (changed && (count > 0)) {
+                // keep the first visible row in place
+                int newScrollTop = m_index.getOffset(anchorIndex) + anchorDelta;
+                m_content.getElement().getStyle().setHeight(m_index.getTotalHeight(), Unit.PX);
+                if (newScrollTop != scrollTop) {
+                    setVerticalScrollPosition(newScrollTop);
+                }
+            }
+        }
+        m_content.getElement().getStyle().setHeight(m_index.getTotalHeight(), Unit.PX);
+        for (Map.Entry<Integer, W> entry : m_activeRows.entrySet()) {
+            Style style = entry.getValue().getElement().getStyle();
+            style.setTop(m_index.getOffset(entry.getKey().intValue()), Unit.PX);
+            if (m_fixedHeight) {
+                style.setHeight(m_index.getHeight(entry.getKey().intValue()), Unit.PX);
+            }
+        }
+    }
+
+    /**
+     * Returns a row widget, re-using a hidden one if available.<p>
+     * 
+     * @return the row widget
+     */
+    private W acquire() {
+
+        W row;
+        if (m_pool.isEmpty()) {
+            row = m_model.createRow();
+            Style style = row.getElement().getStyle();
+            style.setPosition(Position.ABSOLUTE);
+            style.setLeft(0, Unit.PX);
+            style.setRight(0, Unit.PX);
+            m_content.add(row);
+        } else {
+            row = m_pool.remove(m_pool.size() - 1);
+            row.getElement().getStyle().clearDisplay();
+        }
+        return row;
+    }
+
+    /**
+     * Hides the row widget and keeps it for re-use.<p>
+     * 
+     * @param row the row widget
+     */
+    private void release(W row) {
+
+        row.getElement().getStyle().setDisplay(Display.NONE);
+        m_pool.add(row);
+    }
+}
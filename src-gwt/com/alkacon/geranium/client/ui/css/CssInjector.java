@@ -0,0 +1,123 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client.ui.css;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.gwt.dom.client.StyleInjector;
+import com.google.gwt.resources.client.CssResource;
+
+/**
+ * Injects the CSS resources of the widgets on demand.<p>
+ * 
+ * Each widget class ensures its own CSS resources are injected when it is first used, so host pages only pay the
+ * style recalculation for the widgets actually shown. The resources are injected through the {@link StyleInjector},
+ * which collects all injections of the current event loop turn into a single style sheet. The widget code paths
+ * measuring the layout call {@link #flush()} first, so they never measure unstyled elements created within
+ * the same turn.<p>
+ * 
+ * To inject everything at startup, as before, call {@link CssResource#ensureInjected()} on the resources of
+ * {@link I_LayoutBundle}, this class will then skip them.<p>
+ */
+public final class CssInjector {
+
+    /** The names of the resources injected through this class, in injection order. */
+    private static List<String> m_injected = new ArrayList<String>();
+
+    /** The total length of the injected CSS text. */
+    private static int m_injectedLength;
+
+    /** Flag indicating resources have been injected since the last flush. */
+    private static boolean m_pending;
+
+    /**
+     * Hidden constructor.<p>
+     */
+    private CssInjector() {
+
+        // noop
+    }
+
+    /**
+     * Ensures the given CSS resources are injected.<p>
+     * 
+     * @param resources the CSS resources
+     */
+    public static void ensureInjected(CssResource... resources) {
+
+        for (CssResource resource : resources) {
+            if (resource.ensureInjected()) {
+                m_injected.add(resource.getName());
+                m_injectedLength += resource.getText().length();
+                m_pending = true;
+            }
+        }
+    }
+
+    /**
+     * Injects the pending CSS resources immediately.<p>
+     * 
+     * Does nothing if no resources have been injected through this class since the last flush, so it is cheap
+     * enough to call at the start of every measurement.<p>
+     */
+    public static void flush() {
+
+        if (m_pending) {
+            m_pending = false;
+            StyleInjector.flush();
+        }
+    }
+
+    /**
+     * Returns the names of the CSS resources injected through this class, in injection order.<p>
+     * 
+     * @return the resource names
+     */
+    public static List<String> getInjected() {
+
+        return Collections.unmodifiableList(m_injected);
+    }
+
+    /**
+     * Returns a report of the injected CSS resources.<p>
+     * 
+     * @return the report
+     */
+    public static String report() {
+
+        StringBuilder result = new StringBuilder();
+        result.append(m_injected.size()).append(" CSS resources injected, ");
+        result.append(m_injectedLength).append(" characters: ");
+        for (int i = 0; i < m_injected.size(); i++) {
+            if (i > 0) {
+                result.append(", ");
+            }
+            result.append(m_injected.get(i));
+        }
+        return result.toString();
+    }
+}
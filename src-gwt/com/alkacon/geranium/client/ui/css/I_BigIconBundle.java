@@ -26,9 +26,14 @@ package com.alkacon.geranium.client.ui.css;
 
 import com.google.gwt.resources.client.ClientBundle;
 import com.google.gwt.resources.client.ImageResource;
+import com.google.gwt.resources.client.ImageResource.ImageOptions;
 
 /**
- * Image bundle for big icons.
+ * Image bundle for big icons.<p>
+ * 
+ * The big icons are only shown in a few dialogs and tool-bars, so they are never inlined as data URIs. They are
+ * combined into a sprite of their own, which the browser only fetches once an icon is displayed, or when
+ * prefetched with {@link com.alkacon.geranium.client.util.IconDelivery#prefetchBigIcons()}.<p>
  */
 public interface I_BigIconBundle extends ClientBundle {
 
@@ -36,6 +41,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/addBigIconActive.png")
     ImageResource addBigIconActive();
 
@@ -43,6 +49,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/addBigIconDeactivated.png")
     ImageResource addBigIconDeactivated();
 
@@ -50,6 +57,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/backBigIconDeactivated.png")
     ImageResource backBigIconActive();
 
@@ -57,6 +65,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/backBigIconDeactivated.png")
     ImageResource backBigIconDeactivated();
 
@@ -64,6 +73,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/brokenLinkBigIcon.png")
     ImageResource brokenLinkBigIcon();
 
@@ -71,6 +81,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/checkmark.png")
     ImageResource checkmark();
 
@@ -78,6 +89,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/clipboardBigIconActive.png")
     ImageResource clipboardBigIconActive();
 
@@ -85,6 +97,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/clipboardBigIconDeactivated.png")
     ImageResource clipboardBigIconDeactivated();
 
@@ -92,6 +105,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/editBigIconActive.png")
     ImageResource editBigIconActive();
 
@@ -99,6 +113,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/editBigIconDeactivated.png")
     ImageResource editBigIconDeactivated();
 
@@ -106,6 +121,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/gotoBigIconDeactivated.png")
     ImageResource gotoBigIconDeactivated();
 
@@ -113,6 +129,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/gotoPageBigIconActive.png")
     ImageResource gotoPageBigIconActive();
 
@@ -121,6 +138,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * @return an image resource
      */
 
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/gotoParentBigIconActive.png")
     ImageResource gotoParentBigIconActive();
 
@@ -129,6 +147,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * @return an image resource
      */
 
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/gotoParentBigIconDeactivated.png")
     ImageResource gotoParentBigIconDeactivated();
 
@@ -137,6 +156,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * @return an image resource
      */
 
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/gotoSubSitemapBigIconActive.png")
     ImageResource gotoSubSitemapBigIconActive();
 
@@ -144,6 +164,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/menuBigIconActive.png")
     ImageResource menuBigIconActive();
 
@@ -151,6 +172,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/menuBigIconDeactivated.png")
     ImageResource menuBigIconDeactivated();
 
@@ -158,6 +180,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/moveBigIconActive.png")
     ImageResource moveBigIconActive();
 
@@ -165,6 +188,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/moveBigIconDeactivated.png")
     ImageResource moveBigIconDeactivated();
 
@@ -172,6 +196,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/propertyBigIconActive.png")
     ImageResource propertyBigIconActive();
 
@@ -179,6 +204,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/propertyBigIconDeactivated.png")
     ImageResource propertyBigIconDeactivated();
 
@@ -186,6 +212,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/publishBigIconActive.png")
     ImageResource publishBigIconActive();
 
@@ -193,6 +220,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/publishBigIconDeactivated.png")
     ImageResource publishBigIconDeactivated();
 
@@ -200,6 +228,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/removeBigIconActive.png")
     ImageResource removeBigIconActive();
 
@@ -207,6 +236,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/removeBigIconDeactivated.png")
     ImageResource removeBigIconDeactivated();
 
@@ -214,6 +244,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/resetBigIconActive.png")
     ImageResource resetBigIconActive();
 
@@ -221,6 +252,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/resetBigIconDeactivated.png")
     ImageResource resetBigIconDeactivated();
 
@@ -228,6 +260,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/saveBigIconActive.png")
     ImageResource saveBigIconActive();
 
@@ -235,6 +268,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/saveBigIconDeactivated.png")
     ImageResource saveBigIconDeactivated();
 
@@ -242,6 +276,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/searchBigIconActive.png")
     ImageResource searchBigIconActive();
 
@@ -249,6 +284,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/searchBigIconDeactivated.png")
     ImageResource searchBigIconDeactivated();
 
@@ -256,6 +292,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/selectionBigIconActive.png")
     ImageResource selectionBigIconActive();
 
@@ -263,6 +300,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/selectionBigIconDeactivated.png")
     ImageResource selectionBigIconDeactivated();
 
@@ -270,6 +308,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/showSmallElementsBigIconActive.png")
     ImageResource showSmallElementsIconActive();
 
@@ -277,6 +316,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/showSmallElementsBigIconDeactivated.png")
     ImageResource showSmallElementsIconDeactivated();
 
@@ -284,6 +324,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/sitemapBigIconActive.png")
     ImageResource sitemapBigIconActive();
 
@@ -291,6 +332,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/sitemapBigIconDeactivated.png")
     ImageResource sitemapBigIconDeactivated();
 
@@ -299,6 +341,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * 
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/stateExportBigIcon.png")
     ImageResource stateExportBigIcon();
 
@@ -307,6 +350,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * 
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/stateHiddenBigIcon.png")
     ImageResource stateHiddenBigIcon();
 
@@ -315,6 +359,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * 
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/stateNormalBigIcon.png")
     ImageResource stateNormalBigIcon();
 
@@ -323,6 +368,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * 
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/stateRedirectBigIcon.png")
     ImageResource stateRedirectBigIcon();
 
@@ -331,6 +377,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * 
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/stateSecureBigIcon.png")
     ImageResource stateSecureBigIcon();
 
@@ -338,6 +385,7 @@ public interface I_BigIconBundle extends ClientBundle {
      * Access method.<p>
      * @return an image resource
      */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/undoBigIconActive.png")
     ImageResource undoBigIconActive();
 
@@ -345,6 +393,7 @@ public interface I_BigIconBundle extends ClientBundle {
     * Access method.<p>
     * @return an image resource
     */
+    @ImageOptions(preventInlining = true)
     @Source("images/icons/big/undoBigIconDeactivated.png")
     ImageResource undoBigIconDeactivated();
 
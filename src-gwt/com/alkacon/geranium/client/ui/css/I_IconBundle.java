@@ -30,6 +30,9 @@ import com.google.gwt.resources.client.ImageResource;
 
 /**
  * Image bundle for smaller icons.<p>
+ * 
+ * These icons are needed by most widgets right away, they are delivered inlined as data URIs within the
+ * generated code and CSS.<p>
  */
 public interface I_IconBundle extends ClientBundle {
 
@@ -177,6 +177,13 @@ public interface I_InputCss extends CssResource {
      */
     String labelTruncated();
 
+    /**
+     * Css class reader.<p>
+     * 
+     * @return the css class
+     */
+    String lightInput();
+
     /**
      * Css class reader.<p>
      * 
@@ -24,16 +24,19 @@
 
 package com.alkacon.geranium.client.ui.input;
 
+import com.alkacon.geranium.client.ui.HoverManager;
 import com.alkacon.geranium.client.ui.I_Button.ButtonStyle;
 import com.alkacon.geranium.client.ui.I_Truncable;
 import com.alkacon.geranium.client.ui.PushButton;
+import com.alkacon.geranium.client.ui.css.CssInjector;
 import com.alkacon.geranium.client.ui.css.I_ImageBundle;
 import com.alkacon.geranium.client.ui.css.I_InputCss;
 import com.alkacon.geranium.client.ui.css.I_InputLayoutBundle;
 import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
-import com.alkacon.geranium.client.util.DebugLog;
 import com.alkacon.geranium.client.util.DomUtil;
+import com.alkacon.geranium.client.util.LayoutThrashDetector;
 import com.alkacon.geranium.client.util.StyleVariable;
+import com.alkacon.geranium.client.util.Tracing;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -41,10 +44,6 @@ import java.util.Map;
 import com.google.gwt.core.client.GWT;
 import com.google.gwt.event.dom.client.ClickEvent;
 import com.google.gwt.event.dom.client.ClickHandler;
-import com.google.gwt.event.dom.client.MouseOutEvent;
-import com.google.gwt.event.dom.client.MouseOutHandler;
-import com.google.gwt.event.dom.client.MouseOverEvent;
-import com.google.gwt.event.dom.client.MouseOverHandler;
 import com.google.gwt.event.logical.shared.CloseEvent;
 import com.google.gwt.event.logical.shared.CloseHandler;
 import com.google.gwt.event.logical.shared.HasValueChangeHandlers;
@@ -137,6 +136,13 @@ implements I_FormWidget, HasValueChangeHandlers<String>, I_Truncable {
     /** The widget width for truncation. */
     private int m_widgetWidth;
 
+    static {
+
+        CssInjector.ensureInjected(
+            I_LayoutBundle.INSTANCE.generalCss(),
+            I_InputLayoutBundle.INSTANCE.inputCss());
+    }
+
     /**
      * Creates a new select box.<p>
      */
@@ -412,17 +418,20 @@ implements I_FormWidget, HasValueChangeHandlers<String>, I_Truncable {
      */
     protected void initMaxCellWidth() {
 
+        Tracing.Span span = Tracing.startSpan("selectBox.initMaxCellWidth");
         m_maxCellWidth = m_opener.getOffsetWidth() - 2 /*border*/;
+        int cells = 0;
         for (Widget widget : m_selector) {
             if (widget instanceof A_SelectCell) {
+                cells++;
                 int cellWidth = ((A_SelectCell)widget).getRequiredWidth();
-                DebugLog.getInstance().printLine(
-                    "Measure for " + ((A_SelectCell)widget).getElement().getInnerText() + ": " + cellWidth);
                 if (cellWidth > m_maxCellWidth) {
                     m_maxCellWidth = cellWidth;
                 }
             }
         }
+        span.end();
+        Tracing.gauge("selectBox.cells", cells);
     }
 
     /** 
@@ -455,6 +464,8 @@ implements I_FormWidget, HasValueChangeHandlers<String>, I_Truncable {
         }
 
         m_openClose.setDown(true);
+        // the cells may have been created in this turn, so make sure they are styled before measuring
+        CssInjector.flush();
         if (m_maxCellWidth == 0) {
             initMaxCellWidth();
         }
@@ -466,6 +477,7 @@ implements I_FormWidget, HasValueChangeHandlers<String>, I_Truncable {
         }
         m_popup.setWidth(selectorWidth + "px");
         m_popup.show();
+        LayoutThrashDetector.read("A_SelectBox.open");
         int panelTop = m_panel.getElement().getAbsoluteTop();
         int openerHeight = DomUtil.getCurrentStyleInt(m_opener.getElement(), DomUtil.Style.height);
         int popupHeight = m_popup.getOffsetHeight();
@@ -505,37 +517,14 @@ implements I_FormWidget, HasValueChangeHandlers<String>, I_Truncable {
     protected abstract void updateOpener(String newValue);
 
     /**
-     * Helper method for adding event handlers for a 'hover' effect to the opener.<p>
+     * Helper method for registering a 'hover' effect for the opener.<p>
      * 
      * @param panel the opener
      */
     private void addHoverHandlers(FocusPanel panel) {
 
-        final StyleVariable hoverVar = new StyleVariable(panel);
-        hoverVar.setValue(CSS.openerNoHover());
-        panel.addMouseOverHandler(new MouseOverHandler() {
-
-            /**
-             * @see com.google.gwt.event.dom.client.MouseOverHandler#onMouseOver(com.google.gwt.event.dom.client.MouseOverEvent)
-             */
-            public void onMouseOver(MouseOverEvent event) {
-
-                hoverVar.setValue(CSS.openerHover());
-
-            }
-        });
-
-        panel.addMouseOutHandler(new MouseOutHandler() {
-
-            /**
-             * @see com.google.gwt.event.dom.client.MouseOutHandler#onMouseOut(com.google.gwt.event.dom.client.MouseOutEvent)
-             */
-            public void onMouseOut(MouseOutEvent event) {
-
-                hoverVar.setValue(CSS.openerNoHover());
-            }
-        });
-
+        panel.addStyleName(CSS.openerNoHover());
+        HoverManager.get().register(panel.getElement(), CSS.openerHover(), 0);
     }
 
     /**
@@ -557,28 +546,7 @@ implements I_FormWidget, HasValueChangeHandlers<String>, I_Truncable {
             }
         }, ClickEvent.getType());
 
-        cell.registerDomHandler(new MouseOverHandler() {
-
-            /**
-             * @see com.google.gwt.event.dom.client.MouseOverHandler#onMouseOver(com.google.gwt.event.dom.client.MouseOverEvent)
-             */
-            public void onMouseOver(MouseOverEvent e) {
-
-                cell.addStyleName(CSS.selectHover());
-
-            }
-        }, MouseOverEvent.getType());
-
-        cell.registerDomHandler(new MouseOutHandler() {
-
-            /**
-             * @see com.google.gwt.event.dom.client.MouseOutHandler#onMouseOut(com.google.gwt.event.dom.client.MouseOutEvent)
-             */
-            public void onMouseOut(MouseOutEvent e) {
-
-                cell.removeStyleName(CSS.selectHover());
-            }
-        }, MouseOutEvent.getType());
+        HoverManager.get().register(cell.getElement(), CSS.selectHover(), 0);
     }
 
     /**
@@ -28,6 +28,7 @@ import com.alkacon.geranium.client.I_HasInit;
 import com.alkacon.geranium.client.ui.I_AutoHider;
 import com.alkacon.geranium.client.ui.I_Button.ButtonStyle;
 import com.alkacon.geranium.client.ui.ToggleButton;
+import com.alkacon.geranium.client.ui.css.CssInjector;
 import com.alkacon.geranium.client.ui.css.I_InputCss;
 import com.alkacon.geranium.client.ui.css.I_InputLayoutBundle;
 
@@ -72,6 +73,11 @@ implements HasClickHandlers, I_FormWidget, I_HasInit, HasHorizontalAlignment, Ha
     /** Internal root widget to which all other components of this widget are attached. */
     private final FlowPanel m_root;
 
+    static {
+
+        CssInjector.ensureInjected(I_InputLayoutBundle.INSTANCE.inputCss());
+    }
+
     /**
      * Default constructor which creates a checkbox without a label.<p>
      */
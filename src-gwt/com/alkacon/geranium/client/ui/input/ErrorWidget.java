@@ -24,6 +24,7 @@
 
 package com.alkacon.geranium.client.ui.input;
 
+import com.alkacon.geranium.client.ui.css.CssInjector;
 import com.alkacon.geranium.client.ui.css.I_InputLayoutBundle;
 import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
 import com.alkacon.geranium.client.util.ClientStringUtil;
@@ -41,6 +42,13 @@ public class ErrorWidget extends Composite {
     /** The internal label that displays the error message. */
     private Label m_label;
 
+    static {
+
+        CssInjector.ensureInjected(
+            I_LayoutBundle.INSTANCE.generalCss(),
+            I_InputLayoutBundle.INSTANCE.inputCss());
+    }
+
     /**
      * Creates a new instance.<p>
      */
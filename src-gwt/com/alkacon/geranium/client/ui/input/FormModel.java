@@ -0,0 +1,480 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client.ui.input;
+
+import com.alkacon.geranium.client.util.BurstEventManager;
+import com.alkacon.geranium.client.util.I_CmsSimpleCallback;
+import com.alkacon.geranium.client.util.Tracing;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gwt.event.logical.shared.HasValueChangeHandlers;
+import com.google.gwt.event.logical.shared.ValueChangeEvent;
+import com.google.gwt.event.logical.shared.ValueChangeHandler;
+import com.google.gwt.event.shared.HandlerRegistration;
+import com.google.gwt.user.client.Command;
+
+/**
+ * Aggregates the {@link I_FormWidget}s of a form and keeps track of their values.<p>
+ * 
+ * Value changes are debounced per field, so a burst of changes while typing is committed only once. Committing
+ * a value updates the dirty state of the field and runs the validator of this field only. Validation results
+ * of superseded runs are discarded, and the error messages of all fields are written together with the next
+ * animation frame.<p>
+ * 
+ * Widgets implementing {@link HasValueChangeHandlers} are observed automatically, other widgets have to report
+ * their changes through {@link #notifyChanged(String)}.<p>
+ */
+public class FormModel {
+
+    /**
+     * The state of a single form field.<p>
+     */
+    private class Field {
+
+        /** The last committed value. */
+        protected String m_committedValue;
+
+        /** The error message currently displayed by the widget. */
+        protected String m_displayedError;
+
+        /** The error message of the last finished validation. */
+        protected String m_error;
+
+        /** The validation run counter, used to recognize stale results. */
+        protected int m_generation;
+
+        /** The value the dirty state is computed against. */
+        protected String m_initialValue;
+
+        /** The field name. */
+        protected String m_name;
+
+        /** The value change handler registration, if the widget is observed. */
+        protected HandlerRegistration m_registration;
+
+        /** Flag indicating a validation is running. */
+        protected boolean m_validating;
+
+        /** The validator, may be <code>null</code>. */
+        protected I_FormFieldValidator m_validator;
+
+        /** The widget. */
+        protected I_FormWidget m_widget;
+
+        /**
+         * Constructor.<p>
+         * 
+         * @param name the field name
+         * @param widget the widget
+         * @param validator the validator, may be <code>null</code>
+         */
+        protected Field(String name, I_FormWidget widget, I_FormFieldValidator validator) {
+
+            m_name = name;
+            m_widget = widget;
+            m_validator = validator;
+            m_initialValue = widget.getFormValueAsString();
+            m_committedValue = m_initialValue;
+        }
+
+        /**
+         * Returns if the committed value differs from the initial value.<p>
+         * 
+         * @return <code>true</code> if the field is dirty
+         */
+        protected boolean isDirty() {
+
+            return !isEqual(m_initialValue, m_committedValue);
+        }
+    }
+
+    /** The default debounce delay in milliseconds. */
+    public static final int DEFAULT_DELAY = 300;
+
+    /** The default maximum time a value change waits to be committed, in milliseconds. */
+    public static final int DEFAULT_MAX_WAIT = 1500;
+
+    /** Counter used to give each model unique event names. */
+    private static int m_counter;
+
+    /** The debounce delay. */
+    private int m_delay = DEFAULT_DELAY;
+
+    /** The fields by name. */
+    private Map<String, Field> m_fields = new LinkedHashMap<String, Field>();
+
+    /** The prefix of the event names of this model. */
+    private String m_id;
+
+    /** The maximum time a value change waits to be committed. */
+    private int m_maxWait = DEFAULT_MAX_WAIT;
+
+    /** The fields whose error display needs to be updated with the next frame. */
+    private List<Field> m_pendingErrors = new ArrayList<Field>();
+
+    /** The command writing the pending error messages. */
+    private Command m_writeErrors = new Command() {
+
+        /**
+         * @see com.google.gwt.user.client.Command#execute()
+         */
+        public void execute() {
+
+            writeErrors();
+        }
+    };
+
+    /**
+     * Constructor.<p>
+     */
+    public FormModel() {
+
+        m_counter++;
+        m_id = "form-model-" + m_counter;
+    }
+
+    /**
+     * Checks if two values are equal, treating empty strings like <code>null</code>.<p>
+     * 
+     * @param first the first value
+     * @param second the second value
+     * 
+     * @return <code>true</code> if the values are equal
+     */
+    protected static boolean isEqual(String first, String second) {
+
+        if ((first == null) || (first.length() == 0)) {
+            return (second == null) || (second.length() == 0);
+        }
+        return first.equals(second);
+    }
+
+    /**
+     * Adds a field to the model.<p>
+     * 
+     * The current value of the widget becomes the initial value the dirty state is computed against.<p>
+     * 
+     * @param name the unique field name
+     * @param widget the widget
+     * @param validator the validator, may be <code>null</code>
+     */
+    @SuppressWarnings("unchecked")
+    public void addField(final String name, I_FormWidget widget, I_FormFieldValidator validator) {
+
+        removeField(name);
+        Field field = new Field(name, widget, validator);
+        if (widget instanceof HasValueChangeHandlers<?>) {
+            field.m_registration = ((HasValueChangeHandlers<Object>)widget).addValueChangeHandler(
+                new ValueChangeHandler<Object>() {
+
+                    /**
+                     * @see com.google.gwt.event.logical.shared.ValueChangeHandler#onValueChange(com.google.gwt.event.logical.shared.ValueChangeEvent)
+                     */
+                    public void onValueChange(ValueChangeEvent<Object> event) {
+
+                        notifyChanged(name);
+                    }
+                });
+        }
+        m_fields.put(name, field);
+    }
+
+    /**
+     * Commits all value changes still waiting for their debounce delay.<p>
+     * 
+     * Call this before reading the values, e.g. when the form is submitted.<p>
+     */
+    public void flush() {
+
+        for (Field field : m_fields.values()) {
+            String eventName = getEventName(field);
+            if (BurstEventManager.get().isPending(eventName)) {
+                BurstEventManager.get().cancel(eventName);
+                commit(field);
+            }
+        }
+    }
+
+    /**
+     * Returns the names of the fields whose committed value differs from the initial value.<p>
+     * 
+     * @return the dirty field names
+     */
+    public List<String> getDirtyFields() {
+
+        List<String> result = new ArrayList<String>();
+        for (Field field : m_fields.values()) {
+            if (field.isDirty()) {
+                result.add(field.m_name);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the error message of the given field.<p>
+     * 
+     * @param name the field name
+     * 
+     * @return the error message, or <code>null</code> if the field is valid or unknown
+     */
+    public String getError(String name) {
+
+        Field field = m_fields.get(name);
+        return field != null ? field.m_error : null;
+    }
+
+    /**
+     * Returns the committed values of all fields.<p>
+     * 
+     * @return the values by field name
+     */
+    public Map<String, String> getValues() {
+
+        Map<String, String> result = new LinkedHashMap<String, String>();
+        for (Field field : m_fields.values()) {
+            result.put(field.m_name, field.m_committedValue);
+        }
+        return result;
+    }
+
+    /**
+     * Returns if any field has an error.<p>
+     * 
+     * @return <code>true</code> if any field has an error
+     */
+    public boolean hasErrors() {
+
+        for (Field field : m_fields.values()) {
+            if (field.m_error != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns if any field is dirty.<p>
+     * 
+     * @return <code>true</code> if any field is dirty
+     */
+    public boolean isDirty() {
+
+        for (Field field : m_fields.values()) {
+            if (field.isDirty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns if any validation is still running.<p>
+     * 
+     * @return <code>true</code> if a validation is running
+     */
+    public boolean isValidating() {
+
+        for (Field field : m_fields.values()) {
+            if (field.m_validating) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Takes the committed values as the new initial values, e.g. after they have been saved.<p>
+     */
+    public void markClean() {
+
+        for (Field field : m_fields.values()) {
+            field.m_initialValue = field.m_committedValue;
+        }
+    }
+
+    /**
+     * Reports a value change of the given field, which will be committed after the debounce delay.<p>
+     * 
+     * @param name the field name
+     */
+    public void notifyChanged(String name) {
+
+        final Field field = m_fields.get(name);
+        if (field == null) {
+            return;
+        }
+        BurstEventManager.get().scheduleDebounced(getEventName(field), new Command() {
+
+            /**
+             * @see com.google.gwt.user.client.Command#execute()
+             */
+            public void execute() {
+
+                commit(field);
+            }
+        }, m_delay, m_maxWait);
+    }
+
+    /**
+     * Removes a field from the model, canceling its pending changes and validation.<p>
+     * 
+     * @param name the field name
+     */
+    public void removeField(String name) {
+
+        Field field = m_fields.remove(name);
+        if (field == null) {
+            return;
+        }
+        BurstEventManager.get().cancel(getEventName(field));
+        if (field.m_registration != null) {
+            field.m_registration.removeHandler();
+        }
+        field.m_generation++;
+        field.m_validating = false;
+        m_pendingErrors.remove(field);
+    }
+
+    /**
+     * Sets the debounce timing.<p>
+     * 
+     * @param delay the time without changes after which a value is committed, in milliseconds
+     * @param maxWait the maximum time a change waits to be committed, <code>0</code> for unlimited
+     */
+    public void setDebounce(int delay, int maxWait) {
+
+        m_delay = delay;
+        m_maxWait = maxWait;
+    }
+
+    /**
+     * Commits all pending changes and validates all fields, regardless of their dirty state.<p>
+     */
+    public void validateAll() {
+
+        flush();
+        for (Field field : m_fields.values()) {
+            validate(field);
+        }
+    }
+
+    /**
+     * Commits the current widget value of the given field, validating it if it has changed.<p>
+     * 
+     * @param field the field
+     */
+    private void commit(Field field) {
+
+        String value = field.m_widget.getFormValueAsString();
+        if (isEqual(value, field.m_committedValue)) {
+            return;
+        }
+        field.m_committedValue = value;
+        validate(field);
+    }
+
+    /**
+     * Returns the debounce event name of the given field.<p>
+     * 
+     * @param field the field
+     * 
+     * @return the event name
+     */
+    private String getEventName(Field field) {
+
+        return m_id + "/" + field.m_name;
+    }
+
+    /**
+     * Stores the error of a field and schedules its display for the next frame.<p>
+     * 
+     * @param field the field
+     * @param errorMessage the error message, or <code>null</code>
+     */
+    private void setError(Field field, String errorMessage) {
+
+        if ((errorMessage != null) && (errorMessage.trim().length() == 0)) {
+            errorMessage = null;
+        }
+        field.m_error = errorMessage;
+        if (!m_pendingErrors.contains(field)) {
+            m_pendingErrors.add(field);
+        }
+        BurstEventManager.get().scheduleOnAnimationFrame(m_id + "/errors", m_writeErrors);
+    }
+
+    /**
+     * Validates the committed value of the given field, superseding any running validation of this field.<p>
+     * 
+     * @param field the field
+     */
+    private void validate(final Field field) {
+
+        field.m_generation++;
+        if ((field.m_validator == null) || !field.m_widget.isEnabled()) {
+            field.m_validating = false;
+            setError(field, null);
+            return;
+        }
+        final int generation = field.m_generation;
+        field.m_validating = true;
+        Tracing.count("form.validate");
+        field.m_validator.validate(field.m_committedValue, new I_CmsSimpleCallback<String>() {
+
+            /**
+             * @see com.alkacon.geranium.client.util.I_CmsSimpleCallback#execute(java.lang.Object)
+             */
+            public void execute(String errorMessage) {
+
+                if ((generation != field.m_generation) || (m_fields.get(field.m_name) != field)) {
+                    Tracing.count("form.validate.stale");
+                    return;
+                }
+                field.m_validating = false;
+                setError(field, errorMessage);
+            }
+        });
+    }
+
+    /**
+     * Writes the pending error messages to the widgets.<p>
+     */
+    private void writeErrors() {
+
+        List<Field> fields = new ArrayList<Field>(m_pendingErrors);
+        m_pendingErrors.clear();
+        for (Field field : fields) {
+            if (!isEqual(field.m_error, field.m_displayedError)) {
+                field.m_displayedError = field.m_error;
+                field.m_widget.setErrorMessage(field.m_error);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client.ui.input;
+
+import com.alkacon.geranium.client.util.I_CmsSimpleCallback;
+
+/**
+ * Validates the value of a single form field.<p>
+ * 
+ * Validation may be asynchronous, e.g. involve a server round trip. The {@link FormModel} discards results
+ * of runs which have been superseded by a newer value in the mean time.<p>
+ */
+public interface I_FormFieldValidator {
+
+    /**
+     * Validates the given value.<p>
+     * 
+     * @param value the value to validate, may be <code>null</code>
+     * @param callback the call-back to pass the error message to, or <code>null</code> if the value is valid
+     */
+    void validate(String value, I_CmsSimpleCallback<String> callback);
+}
@@ -25,6 +25,7 @@
 package com.alkacon.geranium.client.ui.input;
 
 import com.alkacon.geranium.client.ui.I_Truncable;
+import com.alkacon.geranium.client.ui.css.CssInjector;
 import com.alkacon.geranium.client.ui.css.I_InputCss;
 import com.alkacon.geranium.client.ui.css.I_InputLayoutBundle;
 import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
@@ -67,6 +68,13 @@ public class Label extends com.google.gwt.user.client.ui.Label implements I_Trun
     /** The title generator. */
     private I_TitleGenerator m_titleGenerator;
 
+    static {
+
+        CssInjector.ensureInjected(
+            I_LayoutBundle.INSTANCE.generalCss(),
+            I_InputLayoutBundle.INSTANCE.inputCss());
+    }
+
     /**
      * Creates an empty label.<p>
      */
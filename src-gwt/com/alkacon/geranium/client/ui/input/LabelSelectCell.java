@@ -25,6 +25,7 @@
 package com.alkacon.geranium.client.ui.input;
 
 import com.alkacon.geranium.client.ui.I_Truncable;
+import com.alkacon.geranium.client.ui.css.CssInjector;
 import com.alkacon.geranium.client.ui.css.I_InputLayoutBundle;
 
 /**
@@ -47,6 +48,11 @@ public class LabelSelectCell extends A_SelectCell implements I_Truncable {
     /** The text metrics key last used in a truncate()-call. */
     private String m_textMetricsKey;
 
+    static {
+
+        CssInjector.ensureInjected(I_InputLayoutBundle.INSTANCE.inputCss());
+    }
+
     /**
      * Creates a new select cell.<p>
      * 
@@ -0,0 +1,158 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client.ui.input;
+
+import com.alkacon.geranium.client.util.DomUtil;
+
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.EventTarget;
+import com.google.gwt.dom.client.Style.Unit;
+import com.google.gwt.user.client.DOM;
+import com.google.gwt.user.client.Event;
+import com.google.gwt.user.client.EventListener;
+import com.google.gwt.user.client.ui.FlowPanel;
+
+/**
+ * Container for {@link LightTextInput}s, listening for the events of all inputs inside it.<p>
+ * 
+ * The inputs may be nested at any depth, e.g. in the cells of an editing table. Events bubbling up from an input
+ * are delegated to it, so no input needs own event handlers. A single error widget is created the first time an
+ * input with an error is hovered, and is then shared by all inputs.<p>
+ * 
+ * The delegation relies on bubbling change events, which excludes Internet Explorer 8 and older.<p>
+ */
+public class LightInputPanel extends FlowPanel {
+
+    /** The shared error display, created on demand. */
+    private ErrorWidget m_error;
+
+    /** The input whose error is currently displayed. */
+    private LightTextInput m_errorTarget;
+
+    /**
+     * Constructor.<p>
+     */
+    public LightInputPanel() {
+
+        sinkEvents(Event.ONCHANGE | Event.ONKEYUP | Event.ONMOUSEOVER | Event.ONMOUSEOUT);
+    }
+
+    /**
+     * @see com.google.gwt.user.client.ui.Widget#onBrowserEvent(com.google.gwt.user.client.Event)
+     */
+    @Override
+    public void onBrowserEvent(Event event) {
+
+        super.onBrowserEvent(event);
+        LightTextInput input = getInput(event.getEventTarget());
+        if (input == null) {
+            return;
+        }
+        switch (event.getTypeInt()) {
+            case Event.ONMOUSEOVER:
+                showError(input);
+                break;
+            case Event.ONMOUSEOUT:
+                hideError(input);
+                break;
+            default:
+                input.onDelegatedEvent(event);
+                break;
+        }
+    }
+
+    /**
+     * Called by the inputs when their error message changes.<p>
+     * 
+     * @param input the input
+     */
+    protected void onErrorChanged(LightTextInput input) {
+
+        if (m_errorTarget != input) {
+            return;
+        }
+        if (input.hasError()) {
+            // the input is still hovered, display the new message
+            m_errorTarget = null;
+            showError(input);
+        } else {
+            hideError(input);
+        }
+    }
+
+    /**
+     * Returns the input an event originated from.<p>
+     * 
+     * @param target the event target
+     * 
+     * @return the input, or <code>null</code> if the event did not originate from an input of this panel
+     */
+    private LightTextInput getInput(EventTarget target) {
+
+        if (!Element.is(target)) {
+            return null;
+        }
+        // attached widgets are registered as event listener of their element, even without sunk events
+        EventListener listener = DOM.getEventListener(Element.as(target));
+        if ((listener instanceof LightTextInput) && ((LightTextInput)listener).isAttached()) {
+            return (LightTextInput)listener;
+        }
+        return null;
+    }
+
+    /**
+     * Hides the error of the given input, if it is displayed.<p>
+     * 
+     * @param input the input
+     */
+    private void hideError(LightTextInput input) {
+
+        if (m_errorTarget == input) {
+            m_error.hideError();
+            m_errorTarget = null;
+        }
+    }
+
+    /**
+     * Displays the error of the given input below it.<p>
+     * 
+     * @param input the input
+     */
+    private void showError(LightTextInput input) {
+
+        if (!input.hasError() || (m_errorTarget == input)) {
+            return;
+        }
+        if ((m_error == null) || (m_error.getParent() != this)) {
+            m_error = new ErrorWidget();
+            add(m_error);
+        }
+        m_errorTarget = input;
+        m_error.setText(input.getErrorMessage());
+        m_error.setWidth((input.getOffsetWidth() - 8) + Unit.PX.toString());
+        m_error.showError();
+        DomUtil.positionElement(m_error.getElement(), input.getElement(), 0, input.getOffsetHeight());
+    }
+}
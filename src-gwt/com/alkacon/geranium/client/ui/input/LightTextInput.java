@@ -0,0 +1,404 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client.ui.input;
+
+import com.alkacon.geranium.client.ui.I_AutoHider;
+import com.alkacon.geranium.client.ui.css.CssInjector;
+import com.alkacon.geranium.client.ui.css.I_InputCss;
+import com.alkacon.geranium.client.ui.css.I_InputLayoutBundle;
+import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
+import com.alkacon.geranium.client.util.ClassState;
+import com.alkacon.geranium.client.util.ClientStringUtil;
+
+import com.google.gwt.dom.client.Document;
+import com.google.gwt.event.logical.shared.HasValueChangeHandlers;
+import com.google.gwt.event.logical.shared.ValueChangeEvent;
+import com.google.gwt.event.logical.shared.ValueChangeHandler;
+import com.google.gwt.event.shared.HandlerRegistration;
+import com.google.gwt.user.client.Event;
+import com.google.gwt.user.client.ui.Widget;
+
+/**
+ * Light weight text box or text area for dense input grids, like editing tables.<p>
+ * 
+ * The widget consists of a single input or text area element and does not sink any events itself. Instead the
+ * surrounding {@link LightInputPanel} listens for the events of all its inputs and delegates them. The ghost
+ * value is rendered as native placeholder, and the error message is displayed by a single error widget
+ * shared by all inputs of the panel.<p>
+ * 
+ * Use {@link TextBox} or {@link TextArea} where click, focus or key handlers are needed.<p>
+ */
+public class LightTextInput extends Widget
+implements I_FormWidget, HasValueChangeHandlers<String>, I_HasBlur, I_HasGhostValue {
+
+    /** The CSS bundle used for this widget. */
+    private static final I_InputCss CSS = I_InputLayoutBundle.INSTANCE.inputCss();
+
+    /** The value the last change event was fired for. */
+    private String m_currentValue = "";
+
+    /** The error message. */
+    private String m_errorMessage;
+
+    /** The ghost value. */
+    private String m_ghostValue;
+
+    /** Flag indicating if the value change event should also be fired after key strokes. */
+    private boolean m_triggerChangeOnKeyPress;
+
+    static {
+
+        CssInjector.ensureInjected(
+            I_LayoutBundle.INSTANCE.generalCss(),
+            I_InputLayoutBundle.INSTANCE.inputCss());
+    }
+
+    /**
+     * Creates a single line input.<p>
+     */
+    public LightTextInput() {
+
+        this(false);
+    }
+
+    /**
+     * Creates a single line input or a text area.<p>
+     * 
+     * @param multiLine <code>true</code> to create a text area
+     */
+    public LightTextInput(boolean multiLine) {
+
+        setElement(multiLine
+        ? Document.get().createTextAreaElement()
+        : Document.get().createTextInputElement());
+        // a single class name write for all initial classes
+        setStyleName(CSS.lightInput()
+            + " "
+            + CSS.textBoxPanel()
+            + " "
+            + I_LayoutBundle.INSTANCE.generalCss().cornerAll()
+            + " "
+            + I_LayoutBundle.INSTANCE.generalCss().textMedium());
+    }
+
+    /**
+     * @see com.google.gwt.event.logical.shared.HasValueChangeHandlers#addValueChangeHandler(com.google.gwt.event.logical.shared.ValueChangeHandler)
+     */
+    public HandlerRegistration addValueChangeHandler(ValueChangeHandler<String> handler) {
+
+        return addHandler(handler, ValueChangeEvent.getType());
+    }
+
+    /**
+     * @see com.alkacon.geranium.client.ui.input.I_HasBlur#blur()
+     */
+    public void blur() {
+
+        getElement().blur();
+    }
+
+    /**
+     * @see com.alkacon.geranium.client.ui.input.I_FormWidget#getApparentValue()
+     */
+    public String getApparentValue() {
+
+        String result = getText();
+        if (ClientStringUtil.isEmpty(result)) {
+            result = m_ghostValue;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the error message.<p>
+     * 
+     * @return the error message, or <code>null</code> if there is no error
+     */
+    public String getErrorMessage() {
+
+        return m_errorMessage;
+    }
+
+    /**
+     * @see com.alkacon.geranium.client.ui.input.I_FormWidget#getFieldType()
+     */
+    public FieldType getFieldType() {
+
+        return I_FormWidget.FieldType.STRING;
+    }
+
+    /**
+     * @see com.alkacon.geranium.client.ui.input.I_FormWidget#getFormValue()
+     */
+    public Object getFormValue() {
+
+        return getFormValueAsString();
+    }
+
+    /**
+     * @see com.alkacon.geranium.client.ui.input.I_FormWidget#getFormValueAsString()
+     */
+    public String getFormValueAsString() {
+
+        String result = getText();
+        if (result.equals("")) {
+            result = null;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the text of the input.<p>
+     * 
+     * @return the text
+     */
+    public String getText() {
+
+        String result = getElement().getPropertyString("value");
+        return result != null ? result : "";
+    }
+
+    /**
+     * Returns <code>true</code> if an error is set.<p>
+     * 
+     * @return <code>true</code> if an error is set
+     */
+    public boolean hasError() {
+
+        return m_errorMessage != null;
+    }
+
+    /**
+     * @see com.alkacon.geranium.client.ui.input.I_FormWidget#isEnabled()
+     */
+    public boolean isEnabled() {
+
+        return !getElement().getPropertyBoolean("disabled");
+    }
+
+    /**
+     * Returns the read only flag.<p>
+     * 
+     * @return <code>true</code> if this input is only readable
+     */
+    public boolean isReadOnly() {
+
+        return getElement().getPropertyBoolean("readOnly");
+    }
+
+    /**
+     * Returns if the value changed event is triggered on key strokes and not on change only.<p>
+     * 
+     * @return <code>true</code> if the value changed event is triggered on key strokes
+     */
+    public boolean isTriggerChangeOnKeyPress() {
+
+        return m_triggerChangeOnKeyPress;
+    }
+
+    /**
+     * @see com.alkacon.geranium.client.ui.input.I_FormWidget#reset()
+     */
+    public void reset() {
+
+        setText("");
+    }
+
+    /**
+     * @see com.alkacon.geranium.client.ui.input.I_FormWidget#setAutoHideParent(com.alkacon.geranium.client.ui.I_AutoHider)
+     */
+    public void setAutoHideParent(I_AutoHider autoHideParent) {
+
+        // nothing to do
+    }
+
+    /**
+     * @see com.alkacon.geranium.client.ui.input.I_FormWidget#setEnabled(boolean)
+     */
+    public void setEnabled(boolean enabled) {
+
+        if (enabled == isEnabled()) {
+            return;
+        }
+        getElement().setPropertyBoolean("disabled", !enabled);
+        setStyleName(CSS.textBoxPanelDisabled(), !enabled);
+        if (!enabled) {
+            setErrorMessage(null);
+        }
+    }
+
+    /**
+     * @see com.alkacon.geranium.client.ui.input.I_FormWidget#setErrorMessage(java.lang.String)
+     */
+    public void setErrorMessage(String errorMessage) {
+
+        if (ClientStringUtil.isEmptyOrWhitespaceOnly(errorMessage)) {
+            errorMessage = null;
+        }
+        if ((errorMessage == null) ? (m_errorMessage == null) : errorMessage.equals(m_errorMessage)) {
+            return;
+        }
+        if ((errorMessage == null) != (m_errorMessage == null)) {
+            if (errorMessage != null) {
+                ClassState.replaceClass(getElement(), CSS.textBoxPanel(), CSS.textBoxPanelError());
+            } else {
+                ClassState.replaceClass(getElement(), CSS.textBoxPanelError(), CSS.textBoxPanel());
+            }
+        }
+        m_errorMessage = errorMessage;
+        LightInputPanel panel = getPanel();
+        if (panel != null) {
+            panel.onErrorChanged(this);
+        }
+    }
+
+    /**
+     * Sets the focus on the input.<p>
+     * 
+     * @param focused signals if the focus should be set
+     */
+    public void setFocus(boolean focused) {
+
+        if (focused) {
+            getElement().focus();
+        } else {
+            getElement().blur();
+        }
+    }
+
+    /**
+     * @see com.alkacon.geranium.client.ui.input.I_FormWidget#setFormValueAsString(java.lang.String)
+     */
+    public void setFormValueAsString(String value) {
+
+        setText(value);
+    }
+
+    /**
+     * @see com.alkacon.geranium.client.ui.input.I_HasGhostValue#setGhostMode(boolean)
+     */
+    public void setGhostMode(boolean enable) {
+
+        if (enable) {
+            setText("");
+        }
+    }
+
+    /**
+     * @see com.alkacon.geranium.client.ui.input.I_HasGhostValue#setGhostValue(java.lang.String, boolean)
+     */
+    public void setGhostValue(String value, boolean isGhostMode) {
+
+        m_ghostValue = value;
+        if (value != null) {
+            getElement().setAttribute("placeholder", value);
+        } else {
+            getElement().removeAttribute("placeholder");
+        }
+        setGhostMode(isGhostMode);
+    }
+
+    /**
+     * Enables or disables read-only mode.<p>
+     * 
+     * @param readOnly if true, enables read-only mode, else disables it
+     */
+    public void setReadOnly(boolean readOnly) {
+
+        getElement().setPropertyBoolean("readOnly", readOnly);
+        setStyleName(CSS.textBoxReadOnly(), readOnly);
+    }
+
+    /**
+     * Sets the text of the input, without firing a value change event.<p>
+     * 
+     * @param text the text
+     */
+    public void setText(String text) {
+
+        if (text == null) {
+            text = "";
+        }
+        getElement().setPropertyString("value", text);
+        m_currentValue = text;
+    }
+
+    /**
+     * Sets if the value changed event should be triggered on key strokes and not on change only.<p>
+     * 
+     * @param triggerOnKeyPress <code>true</code> if the value changed event should be triggered on key strokes
+     */
+    public void setTriggerChangeOnKeyPress(boolean triggerOnKeyPress) {
+
+        m_triggerChangeOnKeyPress = triggerOnKeyPress;
+    }
+
+    /**
+     * Handles an event of this input, delegated by the surrounding {@link LightInputPanel}.<p>
+     * 
+     * @param event the event
+     */
+    protected void onDelegatedEvent(Event event) {
+
+        switch (event.getTypeInt()) {
+            case Event.ONCHANGE:
+                checkForChange();
+                break;
+            case Event.ONKEYUP:
+                if (m_triggerChangeOnKeyPress) {
+                    checkForChange();
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Fires the value change event if the text has changed since the last event.<p>
+     */
+    private void checkForChange() {
+
+        String text = getText();
+        if (!text.equals(m_currentValue)) {
+            m_currentValue = text;
+            ValueChangeEvent.fire(this, getFormValueAsString());
+        }
+    }
+
+    /**
+     * Returns the panel delegating the events of this input.<p>
+     * 
+     * @return the panel, or <code>null</code> if this input is not inside a light input panel
+     */
+    private LightInputPanel getPanel() {
+
+        Widget parent = getParent();
+        while ((parent != null) && !(parent instanceof LightInputPanel)) {
+            parent = parent.getParent();
+        }
+        return (LightInputPanel)parent;
+    }
+}
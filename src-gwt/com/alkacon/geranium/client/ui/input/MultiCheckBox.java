@@ -26,6 +26,7 @@ package com.alkacon.geranium.client.ui.input;
 
 import com.alkacon.geranium.client.I_HasInit;
 import com.alkacon.geranium.client.ui.I_AutoHider;
+import com.alkacon.geranium.client.ui.css.CssInjector;
 import com.alkacon.geranium.client.ui.css.I_InputLayoutBundle;
 import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
 import com.alkacon.geranium.client.util.ClientStringUtil;
@@ -61,6 +62,13 @@ public class MultiCheckBox extends Composite implements I_FormWidget, I_HasInit
     /** Panel which contains all the components of the widget. */
     private Panel m_panel = new FlowPanel();
 
+    static {
+
+        CssInjector.ensureInjected(
+            I_LayoutBundle.INSTANCE.generalCss(),
+            I_InputLayoutBundle.INSTANCE.inputCss());
+    }
+
     /**
      * Constructs a new checkbox group from a map from strings to strings.<p>
      * 
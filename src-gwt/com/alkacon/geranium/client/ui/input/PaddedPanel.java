@@ -24,6 +24,7 @@
 
 package com.alkacon.geranium.client.ui.input;
 
+import com.alkacon.geranium.client.ui.css.CssInjector;
 import com.alkacon.geranium.client.ui.css.I_InputCss;
 import com.alkacon.geranium.client.ui.css.I_InputLayoutBundle;
 
@@ -48,6 +49,11 @@ public class PaddedPanel extends SimplePanel {
     /** The horizontal "padding" for the text box. */
     private int m_paddingX;
 
+    static {
+
+        CssInjector.ensureInjected(I_InputLayoutBundle.INSTANCE.inputCss());
+    }
+
     /**
      * Constructs a new instance of this widget.<p>
      * 
@@ -26,6 +26,7 @@ package com.alkacon.geranium.client.ui.input;
 
 import com.alkacon.geranium.client.ui.I_Button.ButtonStyle;
 import com.alkacon.geranium.client.ui.ToggleButton;
+import com.alkacon.geranium.client.ui.css.CssInjector;
 import com.alkacon.geranium.client.ui.css.I_InputCss;
 import com.alkacon.geranium.client.ui.css.I_InputLayoutBundle;
 
@@ -60,6 +61,11 @@ public class RadioButton extends Composite implements HasHorizontalAlignment, Ha
     /** The value associated with this radio button. */
     private String m_name;
 
+    static {
+
+        CssInjector.ensureInjected(I_InputLayoutBundle.INSTANCE.inputCss());
+    }
+
     /**
      * Creates a new radio button without setting the name and label text.<p>
      */
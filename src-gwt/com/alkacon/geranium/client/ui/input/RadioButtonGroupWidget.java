@@ -26,6 +26,7 @@ package com.alkacon.geranium.client.ui.input;
 
 import com.alkacon.geranium.client.I_HasInit;
 import com.alkacon.geranium.client.ui.I_AutoHider;
+import com.alkacon.geranium.client.ui.css.CssInjector;
 import com.alkacon.geranium.client.ui.css.I_InputLayoutBundle;
 import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
 
@@ -70,6 +71,13 @@ implements I_FormWidget, HasValueChangeHandlers<String>, I_HasInit {
     /** A map which stores all radio buttons using their value as keys. */
     private Map<String, RadioButton> m_radioButtons;
 
+    static {
+
+        CssInjector.ensureInjected(
+            I_LayoutBundle.INSTANCE.generalCss(),
+            I_InputLayoutBundle.INSTANCE.inputCss());
+    }
+
     /**
      * Creates a new instance from a map of strings.<p>
      * 
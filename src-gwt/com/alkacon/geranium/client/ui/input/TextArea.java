@@ -26,9 +26,11 @@ package com.alkacon.geranium.client.ui.input;
 
 import com.alkacon.geranium.client.I_HasInit;
 import com.alkacon.geranium.client.ui.I_AutoHider;
+import com.alkacon.geranium.client.ui.css.CssInjector;
 import com.alkacon.geranium.client.ui.css.I_InputCss;
 import com.alkacon.geranium.client.ui.css.I_InputLayoutBundle;
 import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
+import com.alkacon.geranium.client.util.ClientStringUtil;
 
 import com.google.gwt.user.client.ui.Composite;
 import com.google.gwt.user.client.ui.FlowPanel;
@@ -48,8 +50,8 @@ public class TextArea extends Composite implements I_FormWidget, I_HasInit {
     /** The widget type identifier for this widget. */
     private static final String WIDGET_TYPE = "textarea";
 
-    /** The error display for this widget. */
-    private ErrorWidget m_error = new ErrorWidget();
+    /** The error display for this widget, created when the first error is set. */
+    private ErrorWidget m_error;
 
     /** The root panel containing the other components of this widget. */
     private Panel m_panel = new FlowPanel();
@@ -60,6 +62,13 @@ public class TextArea extends Composite implements I_FormWidget, I_HasInit {
     /** The container for the text area. */
     private PaddedPanel m_textAreaContainer = new PaddedPanel(DEFAULT_PADDING);
 
+    static {
+
+        CssInjector.ensureInjected(
+            I_LayoutBundle.INSTANCE.generalCss(),
+            I_InputLayoutBundle.INSTANCE.inputCss());
+    }
+
     /**
      * Text area widgets for ADE forms.<p>
      */
@@ -69,7 +78,6 @@ public class TextArea extends Composite implements I_FormWidget, I_HasInit {
         initWidget(m_panel);
         m_panel.add(m_textAreaContainer);
         m_textAreaContainer.add(m_textArea);
-        m_panel.add(m_error);
         m_textArea.addStyleName(CSS.textArea());
         m_textAreaContainer.addStyleName(CSS.textAreaContainer());
         m_textAreaContainer.addStyleName(I_LayoutBundle.INSTANCE.generalCss().cornerAll());
@@ -154,6 +162,13 @@ public class TextArea extends Composite implements I_FormWidget, I_HasInit {
      */
     public void setErrorMessage(String errorMessage) {
 
+        if (m_error == null) {
+            if (ClientStringUtil.isEmptyOrWhitespaceOnly(errorMessage)) {
+                return;
+            }
+            m_error = new ErrorWidget();
+            m_panel.add(m_error);
+        }
         m_error.setText(errorMessage);
     }
 
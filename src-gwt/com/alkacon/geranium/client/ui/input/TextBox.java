@@ -26,6 +26,7 @@ package com.alkacon.geranium.client.ui.input;
 
 import com.alkacon.geranium.client.I_HasInit;
 import com.alkacon.geranium.client.ui.I_AutoHider;
+import com.alkacon.geranium.client.ui.css.CssInjector;
 import com.alkacon.geranium.client.ui.css.I_InputCss;
 import com.alkacon.geranium.client.ui.css.I_InputLayoutBundle;
 import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
@@ -76,6 +77,9 @@ HasKeyPressHandlers, HasClickHandlers, I_HasBlur, I_HasGhostValue {
     implements MouseOverHandler, MouseOutHandler, FocusHandler, BlurHandler, ValueChangeHandler<String>,
     KeyPressHandler {
 
+        /** Flag indicating a change check is already scheduled for the pending key presses. */
+        private boolean m_changeCheckScheduled;
+
         /** The current text box value. */
         private String m_currentValue;
 
@@ -119,15 +123,20 @@ HasKeyPressHandlers, HasClickHandlers, I_HasBlur, I_HasGhostValue {
             if (!isNavigationKey(keyCode)) {
                 setGhostMode(false);
             }
-            if (isTriggerChangeOnKeyPress()) {
+            if (isTriggerChangeOnKeyPress() && !m_changeCheckScheduled) {
+                // one check covers all key presses typed before it runs
+                m_changeCheckScheduled = true;
                 Scheduler.get().scheduleDeferred(new ScheduledCommand() {
 
+                    /**
+                     * @see com.google.gwt.core.client.Scheduler.ScheduledCommand#execute()
+                     */
                     public void execute() {
 
+                        m_changeCheckScheduled = false;
                         checkForChange();
                     }
                 });
-
             }
         }
 
@@ -213,7 +222,7 @@ HasKeyPressHandlers, HasClickHandlers, I_HasBlur, I_HasGhostValue {
     /** Default pseudo-padding for text boxes. */
     private static final int DEFAULT_PADDING = 4;
 
-    /** A counter used for giving text box widgets ids. */
+    /** A counter used for giving text box widgets ids on demand. */
     private static int idCounter;
 
     /** Flag for ghost mode. */
@@ -237,8 +246,8 @@ HasKeyPressHandlers, HasClickHandlers, I_HasBlur, I_HasGhostValue {
     /** Stores the enable/disable state of the textbox. */
     private boolean m_enabled;
 
-    /** The error display for this widget. */
-    private ErrorWidget m_error = new ErrorWidget();
+    /** The error display for this widget, created when the first error is set. */
+    private ErrorWidget m_error;
 
     /** The width of the error message. */
     private String m_errorMessageWidth;
@@ -258,6 +267,13 @@ HasKeyPressHandlers, HasClickHandlers, I_HasBlur, I_HasGhostValue {
     /** Flag indicating if the value change event should also be fired after key press events. */
     private boolean m_triggerChangeOnKeyPress;
 
+    static {
+
+        CssInjector.ensureInjected(
+            I_LayoutBundle.INSTANCE.generalCss(),
+            I_InputLayoutBundle.INSTANCE.inputCss());
+    }
+
     /**
      * Constructs a new instance of this widget.
      */
@@ -265,7 +281,6 @@ HasKeyPressHandlers, HasClickHandlers, I_HasBlur, I_HasGhostValue {
 
         setEnabled(true);
         m_textbox.setStyleName(CSS.textBox());
-        m_textbox.getElement().setId("CmsTextBox_" + (idCounter++));
 
         TextBoxHandler handler = new TextBoxHandler("");
         m_textbox.addMouseOverHandler(handler);
@@ -281,7 +296,6 @@ HasKeyPressHandlers, HasClickHandlers, I_HasBlur, I_HasGhostValue {
         m_textboxContainer.addStyleName(I_LayoutBundle.INSTANCE.generalCss().cornerAll());
         m_textboxContainer.addStyleName(I_LayoutBundle.INSTANCE.generalCss().textMedium());
         m_panel.add(m_textboxContainer);
-        m_panel.add(m_error);
         m_textboxContainer.add(m_textbox);
         m_textboxContainer.setPaddingX(4);
         sinkEvents(Event.ONPASTE);
@@ -390,7 +404,12 @@ HasKeyPressHandlers, HasClickHandlers, I_HasBlur, I_HasGhostValue {
      */
     public String getId() {
 
-        return m_textbox.getElement().getId();
+        String id = m_textbox.getElement().getId();
+        if (ClientStringUtil.isEmpty(id)) {
+            id = "CmsTextBox_" + (idCounter++);
+            m_textbox.getElement().setId(id);
+        }
+        return id;
     }
 
     /**
@@ -410,7 +429,7 @@ HasKeyPressHandlers, HasClickHandlers, I_HasBlur, I_HasGhostValue {
      */
     public boolean hasError() {
 
-        return m_error.hasError();
+        return (m_error != null) && m_error.hasError();
     }
 
     /**
@@ -527,6 +546,10 @@ HasKeyPressHandlers, HasClickHandlers, I_HasBlur, I_HasGhostValue {
     public void setErrorMessage(String errorMessage) {
 
         if (ClientStringUtil.isNotEmptyOrWhitespaceOnly(errorMessage)) {
+            if (m_error == null) {
+                m_error = new ErrorWidget();
+                m_panel.add(m_error);
+            }
             if (ClientStringUtil.isNotEmptyOrWhitespaceOnly(m_errorMessageWidth)) {
                 m_error.setWidth(m_errorMessageWidth);
             } else {
@@ -538,7 +561,9 @@ HasKeyPressHandlers, HasClickHandlers, I_HasBlur, I_HasGhostValue {
             m_textboxContainer.removeStyleName(CSS.textBoxPanelError());
             m_textboxContainer.addStyleName(CSS.textBoxPanel());
         }
-        m_error.setText(errorMessage);
+        if (m_error != null) {
+            m_error.setText(errorMessage);
+        }
     }
 
     /**
@@ -654,7 +679,7 @@ HasKeyPressHandlers, HasClickHandlers, I_HasBlur, I_HasGhostValue {
     public void setPreventShowError(boolean preventShowError) {
 
         m_preventShowError = preventShowError;
-        if (preventShowError) {
+        if (preventShowError && (m_error != null)) {
             m_error.setErrorVisible(false);
         }
     }
@@ -706,7 +731,9 @@ HasKeyPressHandlers, HasClickHandlers, I_HasBlur, I_HasGhostValue {
      */
     protected void hideError() {
 
-        m_error.hideError();
+        if (m_error != null) {
+            m_error.hideError();
+        }
     }
 
     /**
@@ -731,7 +758,9 @@ HasKeyPressHandlers, HasClickHandlers, I_HasBlur, I_HasGhostValue {
      */
     protected void showError() {
 
-        m_error.showError();
+        if (m_error != null) {
+            m_error.showError();
+        }
     }
 
     /**
@@ -25,16 +25,64 @@
 package com.alkacon.geranium.client.util;
 
 import com.google.gwt.animation.client.Animation;
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.dom.client.Element;
 import com.google.gwt.user.client.Command;
 
 /**
  * Abstract animation class.<p>
+ * 
+ * All running animations are driven from a single animation frame callback by the {@link AnimationDriver}.
+ * Sub-classes should read any layout information they need in {@link #onMeasure()}, which is called
+ * for all animations before any of them is updated.<p>
+ * 
+ * Sub-classes may also implement {@link #startNativeAnimation(int, String)} to let the browser run the animation,
+ * preferably on compositor friendly properties like opacity and transform. The animation is then driven by the browser
+ * once started, and {@link #onComplete()} is called when it has finished. It stays registered with the driver until
+ * then, so the {@link AnimationGovernor} keeps sampling frame times. If native animations are not supported
+ * or disabled, the animation is driven by updating the element style on every frame.<p>
  */
 public abstract class A_Animation extends Animation {
 
+    /** Flag indicating native animations should be used where available. */
+    private static boolean m_nativeAnimationsEnabled = true;
+
     /** The call-back function to execute on animation complete. */
     protected Command m_callback;
 
+    /** The animation duration. */
+    private int m_duration;
+
+    /** The easing function. */
+    private I_Easing m_easing = Easing.SWING;
+
+    /** Flag indicating the animation duration is adjusted by the animation governor. */
+    private boolean m_governed = true;
+
+    /** Flag indicating the animation has taken its measurements. */
+    private boolean m_measured;
+
+    /** The native animation, while running through the browser. */
+    private NativeAnimation m_nativeAnimation;
+
+    /** Flag indicating the start state has been applied by {@link #onPrepare()}. */
+    private boolean m_prepared;
+
+    /** Flag indicating the animation is running. */
+    private boolean m_running;
+
+    /** Flag indicating the animation has started. */
+    private boolean m_started;
+
+    /** The animation start time. */
+    private double m_startTime;
+
+    /** Flag indicating this animation may use a native animation. */
+    private boolean m_useNativeAnimation = true;
+
+    /** Flag indicating the animation had started when it was canceled. */
+    private boolean m_wasStarted;
+
     /**
      * Constructor. Setting the call-back to be executed on animation complete.<p>
      * 
@@ -45,6 +93,173 @@ public abstract class A_Animation extends Animation {
         m_callback = callback;
     }
 
+    /**
+     * Returns if native animations are used where available.<p>
+     * 
+     * @return <code>true</code> if native animations are used
+     */
+    public static boolean isNativeAnimationsEnabled() {
+
+        return m_nativeAnimationsEnabled;
+    }
+
+    /**
+     * Sets if native animations should be used where available. Enabled by default.<p>
+     * 
+     * @param enabled <code>true</code> to use native animations
+     */
+    public static void setNativeAnimationsEnabled(boolean enabled) {
+
+        m_nativeAnimationsEnabled = enabled;
+    }
+
+    /**
+     * @see com.google.gwt.animation.client.Animation#cancel()
+     */
+    @Override
+    public void cancel() {
+
+        if (!m_running) {
+            return;
+        }
+        m_wasStarted = m_started || m_prepared;
+        m_running = false;
+        m_started = false;
+        m_prepared = false;
+        if (m_nativeAnimation != null) {
+            m_nativeAnimation.cancel();
+            m_nativeAnimation = null;
+        }
+        AnimationDriver.get().remove(this);
+        onCancel();
+    }
+
+    /**
+     * Returns the easing function.<p>
+     * 
+     * @return the easing function
+     */
+    public I_Easing getEasing() {
+
+        return m_easing;
+    }
+
+    /**
+     * Returns if the animation duration is adjusted by the {@link AnimationGovernor}.<p>
+     * 
+     * @return <code>true</code> if the animation is governed
+     */
+    public boolean isGoverned() {
+
+        return m_governed;
+    }
+
+    /**
+     * @see com.google.gwt.animation.client.Animation#isRunning()
+     */
+    @Override
+    public boolean isRunning() {
+
+        return m_running;
+    }
+
+    /**
+     * Runs the animation.<p>
+     * 
+     * The start state not depending on any measurements is applied right away through {@link #onPrepare()},
+     * so it is painted with the next frame. Measuring and updating is left to the {@link AnimationDriver}.<p>
+     * 
+     * @see com.google.gwt.animation.client.Animation#run(int, double, com.google.gwt.dom.client.Element)
+     */
+    @Override
+    public void run(int duration, double startTime, Element element) {
+
+        cancel();
+        m_duration = duration;
+        m_startTime = startTime;
+        m_running = true;
+        m_started = false;
+        m_measured = false;
+        m_prepared = onPrepare();
+        AnimationDriver.get().add(this);
+    }
+
+    /**
+     * Sets the easing function.<p>
+     * 
+     * @param easing the easing function
+     */
+    public void setEasing(I_Easing easing) {
+
+        m_easing = easing;
+    }
+
+    /**
+     * Sets if the animation duration should be adjusted by the {@link AnimationGovernor}. Enabled by default.<p>
+     * 
+     * May be changed until the animation starts with the next animation frame.<p>
+     * 
+     * @param governed <code>true</code> if the animation should be governed
+     */
+    public void setGoverned(boolean governed) {
+
+        m_governed = governed;
+    }
+
+    /**
+     * Sets if this animation may use a native animation. Has no effect if native animations are disabled globally.<p>
+     * 
+     * @param useNativeAnimation <code>true</code> to allow native animations
+     */
+    public void setUseNativeAnimation(boolean useNativeAnimation) {
+
+        m_useNativeAnimation = useNativeAnimation;
+    }
+
+    /**
+     * Starts a native animation of the given element, calling {@link #onComplete()} once it has finished.<p>
+     * 
+     * @param element the element to animate
+     * @param keyframes the key frames
+     * @param duration the duration in milliseconds
+     * @param easing the CSS timing function
+     * 
+     * @return the native animation, or <code>null</code> if not supported
+     */
+    protected NativeAnimation animateNative(Element element, JavaScriptObject keyframes, int duration, String easing) {
+
+        return NativeAnimation.animate(element, keyframes, duration, easing, new Command() {
+
+            /**
+             * @see com.google.gwt.user.client.Command#execute()
+             */
+            public void execute() {
+
+                onNativeFinish();
+            }
+        });
+    }
+
+    /**
+     * @see com.google.gwt.animation.client.Animation#interpolate(double)
+     */
+    @Override
+    protected double interpolate(double progress) {
+
+        return m_easing.ease(progress);
+    }
+
+    /**
+     * @see com.google.gwt.animation.client.Animation#onCancel()
+     */
+    @Override
+    protected void onCancel() {
+
+        if (m_wasStarted) {
+            onComplete();
+        }
+    }
+
     /**
      * @see com.google.gwt.animation.client.Animation#onComplete()
      */
@@ -57,4 +272,142 @@ public abstract class A_Animation extends Animation {
         }
     }
 
+    /**
+     * Takes the layout measurements needed by the animation.<p>
+     * 
+     * Called once per run before the animation is started, together with the measurements of all other animations
+     * starting in the same frame. Implementations should only read from the DOM here.<p>
+     */
+    protected void onMeasure() {
+
+        // nothing to measure by default
+    }
+
+    /**
+     * Applies the start state of the animation, called synchronously when the animation is run.<p>
+     * 
+     * Implementations should only write to the DOM here, and only properties which need no measurements,
+     * like the opacity. An animation with an applied start state is completed when canceled.<p>
+     * 
+     * @return <code>true</code> if a start state has been applied
+     */
+    protected boolean onPrepare() {
+
+        return false;
+    }
+
+    /**
+     * Starts the animation as a native animation using {@link #animateNative(Element, JavaScriptObject, int, String)}.<p>
+     * 
+     * Implementations should apply the end state of the animated properties which are not part of the key frames.
+     * The default implementation returns <code>null</code>, so the animation is driven by {@link #onUpdate(double)}.<p>
+     * 
+     * @param duration the remaining duration in milliseconds
+     * @param easing the CSS timing function
+     * 
+     * @return the native animation, or <code>null</code> to drive the animation by updating the element style
+     */
+    protected NativeAnimation startNativeAnimation(int duration, String easing) {
+
+        return null;
+    }
+
+    /**
+     * Takes the measurements, if not done yet for the current run.<p>
+     */
+    void measure() {
+
+        if (!m_measured) {
+            m_measured = true;
+            onMeasure();
+        }
+    }
+
+    /**
+     * Updates the animation for the given time.<p>
+     * 
+     * @param now the current time
+     * 
+     * @return <code>true</code> if the animation is still running
+     */
+    boolean update(double now) {
+
+        if (m_nativeAnimation != null) {
+            // driven by the browser, only kept to sample the frame times
+            return m_running;
+        }
+        boolean finished = now >= (m_startTime + m_duration);
+        if (m_started && !finished) {
+            onUpdate(interpolate((now - m_startTime) / m_duration));
+            return m_running;
+        }
+        if (!m_started && (now >= m_startTime)) {
+            m_started = true;
+            if (m_governed) {
+                m_duration = AnimationGovernor.get().adjustDuration(m_duration);
+                if (m_duration <= 0) {
+                    // skip the animation
+                    m_running = false;
+                    m_started = false;
+                    onComplete();
+                    return m_running;
+                }
+                finished = now >= (m_startTime + m_duration);
+            }
+            m_nativeAnimation = startNative(now);
+            if (m_nativeAnimation != null) {
+                // the browser takes over
+                return true;
+            }
+            onStart();
+            if (!m_running) {
+                return false;
+            }
+        }
+        if (finished) {
+            m_running = false;
+            m_started = false;
+            onComplete();
+            return m_running;
+        }
+        return true;
+    }
+
+    /**
+     * Completes the animation after the native animation has finished.<p>
+     */
+    void onNativeFinish() {
+
+        NativeAnimation nativeAnimation = m_nativeAnimation;
+        if (!m_running || (nativeAnimation == null)) {
+            return;
+        }
+        m_running = false;
+        m_started = false;
+        m_nativeAnimation = null;
+        AnimationDriver.get().remove(this);
+        onComplete();
+        // remove the kept final key frame after the end state has been applied
+        nativeAnimation.cancel();
+    }
+
+    /**
+     * Starts the native animation if possible.<p>
+     * 
+     * @param now the current time
+     * 
+     * @return the native animation, or <code>null</code> if the animation should be driven by style updates
+     */
+    private NativeAnimation startNative(double now) {
+
+        if (!m_nativeAnimationsEnabled || !m_useNativeAnimation) {
+            return null;
+        }
+        String easing = Easing.getCssTimingFunction(m_easing);
+        int duration = (int)Math.ceil((m_startTime + m_duration) - now);
+        if ((easing == null) || (duration <= 0) || !NativeAnimation.isSupported()) {
+            return null;
+        }
+        return startNativeAnimation(duration, easing);
+    }
 }
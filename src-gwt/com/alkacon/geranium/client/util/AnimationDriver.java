@@ -0,0 +1,155 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gwt.animation.client.AnimationScheduler;
+import com.google.gwt.animation.client.AnimationScheduler.AnimationCallback;
+import com.google.gwt.core.client.Duration;
+
+/**
+ * Drives all running {@link A_Animation}s from a single animation frame callback.<p>
+ * 
+ * Each frame is processed in two phases: first all newly started animations take their measurements
+ * (see {@link A_Animation#onMeasure()}), then all animations write their styles. This way concurrent
+ * animations, like many list items sliding at once, cause at most one layout per frame.<p>
+ */
+public final class AnimationDriver {
+
+    /** The singleton instance. */
+    private static AnimationDriver INSTANCE;
+
+    /** The running animations. */
+    private List<A_Animation> m_animations = new ArrayList<A_Animation>();
+
+    /** The frame callback. */
+    private AnimationCallback m_frameCallback = new AnimationCallback() {
+
+        /**
+         * @see com.google.gwt.animation.client.AnimationScheduler.AnimationCallback#execute(double)
+         */
+        public void execute(double timestamp) {
+
+            onFrame();
+        }
+    };
+
+    /** Flag indicating an animation frame has been requested. */
+    private boolean m_frameRequested;
+
+    /**
+     * Hidden constructor.<p>
+     */
+    private AnimationDriver() {
+
+        // empty
+    }
+
+    /**
+     * Returns the singleton instance.<p>
+     * 
+     * @return the singleton instance
+     */
+    public static AnimationDriver get() {
+
+        if (INSTANCE == null) {
+            INSTANCE = new AnimationDriver();
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the number of running animations.<p>
+     * 
+     * @return the number of running animations
+     */
+    public int getRunningCount() {
+
+        return m_animations.size();
+    }
+
+    /**
+     * Adds an animation to be driven from the next frame on.<p>
+     * 
+     * @param animation the animation
+     */
+    protected void add(A_Animation animation) {
+
+        if (!m_animations.contains(animation)) {
+            m_animations.add(animation);
+        }
+        if (!m_frameRequested) {
+            m_frameRequested = true;
+            AnimationScheduler.get().requestAnimationFrame(m_frameCallback);
+        }
+    }
+
+    /**
+     * Removes an animation.<p>
+     * 
+     * @param animation the animation
+     */
+    protected void remove(A_Animation animation) {
+
+        m_animations.remove(animation);
+    }
+
+    /**
+     * Executed on every animation frame while animations are running.<p>
+     */
+    protected void onFrame() {
+
+        m_frameRequested = false;
+        if (m_animations.isEmpty()) {
+            // all animations have been removed since the frame was requested
+            AnimationGovernor.get().endFrames();
+            return;
+        }
+        double now = Duration.currentTimeMillis();
+        AnimationGovernor.get().recordFrame(now);
+        // animations may be started, canceled or completed by call-backs, so work on a copy
+        List<A_Animation> animations = new ArrayList<A_Animation>(m_animations);
+        // read phase
+        for (A_Animation animation : animations) {
+            if (animation.isRunning()) {
+                animation.measure();
+            }
+        }
+        // write phase
+        for (A_Animation animation : animations) {
+            if (animation.isRunning() && !animation.update(now)) {
+                m_animations.remove(animation);
+            }
+        }
+        if (m_animations.isEmpty()) {
+            AnimationGovernor.get().endFrames();
+        } else if (!m_frameRequested) {
+            m_frameRequested = true;
+            AnimationScheduler.get().requestAnimationFrame(m_frameCallback);
+        }
+    }
+}
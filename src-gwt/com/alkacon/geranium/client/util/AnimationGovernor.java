@@ -0,0 +1,244 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client.util;
+
+import com.google.gwt.core.client.Duration;
+
+/**
+ * Adapts the animation quality to the performance of the device.<p>
+ * 
+ * The governor samples the frame times while animations are running. If the page is over budget,
+ * animations are shortened or skipped altogether. Animations are also skipped if the user prefers reduced motion.
+ * Animations may opt out by {@link A_Animation#setGoverned(boolean)}, most animated widgets offer a corresponding setter.<p>
+ */
+public final class AnimationGovernor {
+
+    /**
+     * The animation quality.<p>
+     */
+    public static enum Quality {
+
+        /** Animations run with their full duration. */
+        FULL,
+
+        /** Animations are skipped, jumping to their end state. */
+        NONE,
+
+        /** Animations run with half their duration. */
+        REDUCED;
+    }
+
+    /** The average frame time above which animations are shortened, in milliseconds. */
+    public static final int REDUCED_FRAME_TIME = 34;
+
+    /** The average frame time above which animations are skipped, in milliseconds. */
+    public static final int SKIP_FRAME_TIME = 67;
+
+    /** The frame time expected on a device without load, in milliseconds. */
+    private static final double IDEAL_FRAME_TIME = 1000.0 / 60;
+
+    /** Time without frame samples after which the frame time average is reset, in milliseconds. */
+    private static final int RECOVERY_TIME = 5000;
+
+    /** Weight of a new sample in the frame time average. */
+    private static final double SAMPLE_WEIGHT = 0.2;
+
+    /** The singleton instance. */
+    private static AnimationGovernor INSTANCE;
+
+    /** The average frame time. */
+    private double m_averageFrameTime = IDEAL_FRAME_TIME;
+
+    /** The forced quality, <code>null</code> to adapt automatically. */
+    private Quality m_forcedQuality;
+
+    /** The time of the last frame of the current sampling sequence. */
+    private double m_lastFrame = -1;
+
+    /** The time of the last frame time sample. */
+    private double m_lastSample = -1;
+
+    /** Flag indicating the user prefers reduced motion. */
+    private boolean m_reducedMotion;
+
+    /**
+     * Hidden constructor.<p>
+     */
+    private AnimationGovernor() {
+
+        initReducedMotion();
+    }
+
+    /**
+     * Returns the singleton instance.<p>
+     * 
+     * @return the singleton instance
+     */
+    public static AnimationGovernor get() {
+
+        if (INSTANCE == null) {
+            INSTANCE = new AnimationGovernor();
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the given animation duration adjusted to the current quality.<p>
+     * 
+     * @param duration the full duration
+     * 
+     * @return the adjusted duration, <code>0</code> if the animation should be skipped
+     */
+    public int adjustDuration(int duration) {
+
+        switch (getQuality()) {
+            case NONE:
+                return 0;
+            case REDUCED:
+                return duration / 2;
+            default:
+                return duration;
+        }
+    }
+
+    /**
+     * Returns the average frame time sampled while animations were running.<p>
+     * 
+     * @return the average frame time in milliseconds
+     */
+    public double getAverageFrameTime() {
+
+        return m_averageFrameTime;
+    }
+
+    /**
+     * Returns the current animation quality.<p>
+     * 
+     * @return the animation quality
+     */
+    public Quality getQuality() {
+
+        if (m_forcedQuality != null) {
+            return m_forcedQuality;
+        }
+        if (m_reducedMotion) {
+            return Quality.NONE;
+        }
+        if ((m_lastSample >= 0) && ((Duration.currentTimeMillis() - m_lastSample) > RECOVERY_TIME)) {
+            // no recent samples, as animations may have been skipped, give them another chance
+            m_averageFrameTime = IDEAL_FRAME_TIME;
+            m_lastSample = -1;
+        }
+        if (m_averageFrameTime > SKIP_FRAME_TIME) {
+            return Quality.NONE;
+        }
+        if (m_averageFrameTime > REDUCED_FRAME_TIME) {
+            return Quality.REDUCED;
+        }
+        return Quality.FULL;
+    }
+
+    /**
+     * Returns if animations should be shown at all.<p>
+     * 
+     * @return <code>true</code> if animations should be shown
+     */
+    public boolean isAnimationAllowed() {
+
+        return getQuality() != Quality.NONE;
+    }
+
+    /**
+     * Returns if the user prefers reduced motion.<p>
+     * 
+     * @return <code>true</code> if the user prefers reduced motion
+     */
+    public boolean isReducedMotion() {
+
+        return m_reducedMotion;
+    }
+
+    /**
+     * Forces the given animation quality, ignoring frame times and the reduced motion preference.<p>
+     * 
+     * @param quality the quality, use <code>null</code> to adapt automatically again
+     */
+    public void setForcedQuality(Quality quality) {
+
+        m_forcedQuality = quality;
+    }
+
+    /**
+     * Ends the current frame sampling sequence, as no more animations are running.<p>
+     */
+    protected void endFrames() {
+
+        m_lastFrame = -1;
+    }
+
+    /**
+     * Records a frame rendered while animations are running.<p>
+     * 
+     * @param time the frame time
+     */
+    protected void recordFrame(double time) {
+
+        if (m_lastFrame >= 0) {
+            m_averageFrameTime = ((1 - SAMPLE_WEIGHT) * m_averageFrameTime) + (SAMPLE_WEIGHT * (time - m_lastFrame));
+            m_lastSample = time;
+        }
+        m_lastFrame = time;
+    }
+
+    /**
+     * Sets the reduced motion flag.<p>
+     * 
+     * @param reducedMotion <code>true</code> if the user prefers reduced motion
+     */
+    protected void setReducedMotion(boolean reducedMotion) {
+
+        m_reducedMotion = reducedMotion;
+    }
+
+    /**
+     * Reads the reduced motion preference and listens for changes.<p>
+     */
+    private native void initReducedMotion() /*-{
+        if (!$wnd.matchMedia) {
+            return;
+        }
+        var self = this;
+        var query = $wnd.matchMedia('(prefers-reduced-motion: reduce)');
+        var listener = function() {
+            self.@com.alkacon.geranium.client.util.AnimationGovernor::setReducedMotion(Z)(query.matches);
+        };
+        if (query.addEventListener) {
+            query.addEventListener('change', listener);
+        } else if (query.addListener) {
+            query.addListener(listener);
+        }
+        listener();
+    }-*/;
+}
@@ -24,21 +24,30 @@
 
 package com.alkacon.geranium.client.util;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import com.google.gwt.animation.client.AnimationScheduler;
+import com.google.gwt.animation.client.AnimationScheduler.AnimationCallback;
+import com.google.gwt.core.client.Duration;
 import com.google.gwt.user.client.Command;
 import com.google.gwt.user.client.Timer;
 
 /**
  * Takes care of the burst of the same event, by skipping the first ones and executing only the last one.<p>
  * 
+ * All events share a single timer wheel, ticking with {@link #RESOLUTION} while events are pending. Besides the
+ * default debounce behavior, events may be debounced with a maximum wait time, throttled on the leading and/or
+ * trailing edge, or coalesced to once per animation frame.<p>
+ * 
  * Usage example:
  * 
  * <pre>
  *   Window.addResizeHandler(new ResizeHandler() {
  *       public void onResize(ResizeEvent event) {
- *           CmsBurstEventManager.get().schedule("resize-window", new Command() {
+ *           BurstEventManager.get().schedule("resize-window", new Command() {
  *               public void execute() {
  *                   // resize                        
  *               }
@@ -52,60 +61,146 @@ import com.google.gwt.user.client.Timer;
 public final class BurstEventManager {
 
     /**
-     * The class is model of one 'burst' event that is added to the manager.<p>
+     * The scheduling modes.<p>
+     */
+    private static enum Mode {
+
+        /** Execute once per animation frame. */
+        ANIMATION_FRAME,
+
+        /** Execute after the events have stopped for a given delay. */
+        DEBOUNCE,
+
+        /** Execute at most once per interval. */
+        THROTTLE;
+    }
+
+    /**
+     * The model of one 'burst' event that is added to the manager.<p>
+     * 
+     * Events are re-used when the same name is scheduled again while pending. Executed events are removed,
+     * except throttled events, which need to remember their last execution until their interval has passed.<p>
      */
     private static class BurstEvent {
 
-        /** The timer. */
-        private final Timer m_timer;
+        /** The command to execute. */
+        protected Command m_command;
+
+        /** The time after which the event should be executed. */
+        protected double m_due;
+
+        /** The time the first event of the current burst was scheduled. */
+        protected double m_firstScheduled;
+
+        /** Flag indicating the event is part of the timer wheel. */
+        protected boolean m_inWheel;
+
+        /** Throttle mode: the interval. */
+        protected int m_interval;
+
+        /** The time the event was executed last. */
+        protected double m_lastFired = Double.NEGATIVE_INFINITY;
+
+        /** Throttle mode: execute on the leading edge of the interval. */
+        protected boolean m_leading;
+
+        /** Debounce mode: the maximum time to wait since the first event of the burst, 0 for unlimited. */
+        protected int m_maxWait;
+
+        /** The scheduling mode. */
+        protected Mode m_mode;
+
+        /** The event name. */
+        protected String m_name;
+
+        /** Flag indicating the event waits for execution. */
+        protected boolean m_pending;
+
+        /** Throttle mode: execute on the trailing edge of the interval. */
+        protected boolean m_trailing;
 
         /**
-         * Constructor of the 'burst' event.<p>
+         * Constructor.<p>
          * 
          * @param name the unique name, which identifies the event
-         * @param command command to execute when the timer expires
          */
-        public BurstEvent(final String name, final Command command) {
+        protected BurstEvent(String name) {
 
-            m_timer = new Timer() {
+            m_name = name;
+        }
+    }
 
-                /**
-                 * @see com.google.gwt.user.client.Timer#run()
-                 */
-                @Override
-                public void run() {
+    /** The resolution of the timer wheel in milliseconds. */
+    public static final int RESOLUTION = 16;
 
-                    if (command != null) {
-                        command.execute();
-                    }
-                    BurstEventManager.get().cancel(name);
-                }
-            };
-        }
+    /** The number of slots of the timer wheel. */
+    private static final int SLOT_COUNT = 64;
+
+    /** The singleton instance. */
+    private static BurstEventManager INSTANCE;
+
+    /** The number of events scheduled while already pending, or dropped by a throttle. */
+    private int m_coalescedCount;
+
+    /** The number of executed events. */
+    private int m_firedCount;
+
+    /** The frame callback. */
+    private AnimationCallback m_frameCallback = new AnimationCallback() {
 
         /**
-         * Returns the timer.<p>
-         *
-         * @return the timer
+         * @see com.google.gwt.animation.client.AnimationScheduler.AnimationCallback#execute(double)
          */
-        public Timer getTimer() {
+        public void execute(double timestamp) {
 
-            return m_timer;
+            onFrame();
         }
-    }
+    };
 
-    /** The singleton instance. */
-    private static BurstEventManager INSTANCE;
+    /** The events waiting for the next animation frame. */
+    private List<BurstEvent> m_frameEvents = new ArrayList<BurstEvent>();
+
+    /** The absolute index of the last processed wheel slot. */
+    private long m_lastTick;
 
     /** The internal memory. */
     private Map<String, BurstEvent> m_memory = new HashMap<String, BurstEvent>();
 
+    /** The number of schedule calls. */
+    private int m_scheduledCount;
+
+    /** The shared timer ticking the wheel. */
+    private Timer m_timer;
+
+    /** Flag indicating the timer is running. */
+    private boolean m_timerRunning;
+
+    /** The timer wheel slots. */
+    private List<List<BurstEvent>> m_wheel;
+
+    /** The number of events in the timer wheel. */
+    private int m_wheelSize;
+
     /**
      * Hidden constructor.<p>
      */
     private BurstEventManager() {
 
-        // emtpy
+        m_wheel = new ArrayList<List<BurstEvent>>(SLOT_COUNT);
+        for (int i = 0; i < SLOT_COUNT; i++) {
+            m_wheel.add(new ArrayList<BurstEvent>());
+        }
+        m_timer = new Timer() {
+
+            /**
+             * @see com.google.gwt.user.client.Timer#run()
+             */
+            @Override
+            public void run() {
+
+                onTick();
+            }
+        };
     }
 
     /**
@@ -113,7 +208,7 @@ public final class BurstEventManager {
      * 
      * @return the singleton instance
      */
-    protected static BurstEventManager get() {
+    public static BurstEventManager get() {
 
         if (INSTANCE == null) {
             INSTANCE = new BurstEventManager();
@@ -121,6 +216,73 @@ public final class BurstEventManager {
         return INSTANCE;
     }
 
+    /**
+     * Removes the event from the manager.<p>
+     * 
+     * @param eventName the name of the event that we need to remove
+     */
+    public void cancel(final String eventName) {
+
+        BurstEvent e = m_memory.remove(eventName);
+        if (e != null) {
+            // the wheel and the frame list drop events which are no longer pending
+            e.m_pending = false;
+        }
+    }
+
+    /**
+     * Returns the number of events scheduled while already pending, or dropped by a throttle.<p>
+     * 
+     * @return the number of coalesced events
+     */
+    public int getCoalescedCount() {
+
+        return m_coalescedCount;
+    }
+
+    /**
+     * Returns the number of executed events.<p>
+     * 
+     * @return the number of executed events
+     */
+    public int getFiredCount() {
+
+        return m_firedCount;
+    }
+
+    /**
+     * Returns the number of schedule calls.<p>
+     * 
+     * @return the number of schedule calls
+     */
+    public int getScheduledCount() {
+
+        return m_scheduledCount;
+    }
+
+    /**
+     * Returns if an event with the given name is waiting for execution.<p>
+     * 
+     * @param name the event name
+     * 
+     * @return <code>true</code> if the event is pending
+     */
+    public boolean isPending(String name) {
+
+        BurstEvent e = m_memory.get(name);
+        return (e != null) && e.m_pending;
+    }
+
+    /**
+     * Resets the scheduled, coalesced and fired counters.<p>
+     */
+    public void resetCounters() {
+
+        m_scheduledCount = 0;
+        m_coalescedCount = 0;
+        m_firedCount = 0;
+    }
+
     /**
      * Adds an 'burst' event to the manager.<p>
      * 
@@ -130,28 +292,234 @@ public final class BurstEventManager {
      */
     public void schedule(final String name, final Command command, final int delayMsec) {
 
-        BurstEvent e = m_memory.remove(name);
-        if (e != null) {
-            // disable the old event
-            e.getTimer().cancel();
+        scheduleDebounced(name, command, delayMsec, 0);
+    }
+
+    /**
+     * Adds a 'burst' event, executing the command once the events have stopped for the given delay,
+     * but not later than the given maximum wait time after the first event of the burst.<p>
+     * 
+     * @param name the unique name, which identifies the event
+     * @param command command to execute
+     * @param delayMsec the delay, reset with every event
+     * @param maxWaitMsec the maximum time to wait after the first event, <code>0</code> for unlimited
+     */
+    public void scheduleDebounced(String name, Command command, int delayMsec, int maxWaitMsec) {
+
+        double now = Duration.currentTimeMillis();
+        BurstEvent e = getEvent(name, command, Mode.DEBOUNCE);
+        if (!e.m_pending) {
+            e.m_pending = true;
+            e.m_firstScheduled = now;
         }
-        // put the new event and schedule it
-        e = new BurstEvent(name, command);
-        m_memory.put(name, e);
-        e.getTimer().schedule(delayMsec);
+        e.m_maxWait = maxWaitMsec;
+        e.m_due = now + delayMsec;
+        if ((maxWaitMsec > 0) && (e.m_due > (e.m_firstScheduled + maxWaitMsec))) {
+            e.m_due = e.m_firstScheduled + maxWaitMsec;
+        }
+        addToWheel(e);
     }
 
     /**
-     * Removes the event from the manager.<p>
+     * Adds a 'burst' event, executing the command once with the next animation frame.<p>
      * 
-     * @param eventName the name of the event that we need to remove
+     * @param name the unique name, which identifies the event
+     * @param command command to execute
      */
-    public void cancel(final String eventName) {
+    public void scheduleOnAnimationFrame(String name, Command command) {
+
+        BurstEvent e = getEvent(name, command, Mode.ANIMATION_FRAME);
+        if (e.m_pending) {
+            return;
+        }
+        e.m_pending = true;
+        m_frameEvents.add(e);
+        if (m_frameEvents.size() == 1) {
+            AnimationScheduler.get().requestAnimationFrame(m_frameCallback);
+        }
+    }
+
+    /**
+     * Adds a 'burst' event, executing the command at most once per interval.<p>
+     * 
+     * With leading execution, the first event of a burst is executed immediately. With trailing execution,
+     * the command is executed at the end of the interval if further events arrived in the meantime.
+     * If neither is set, trailing execution is used.<p>
+     * 
+     * @param name the unique name, which identifies the event
+     * @param command command to execute
+     * @param intervalMsec the interval
+     * @param leading <code>true</code> to execute on the leading edge of the interval
+     * @param trailing <code>true</code> to execute on the trailing edge of the interval
+     */
+    public void scheduleThrottled(String name, Command command, int intervalMsec, boolean leading, boolean trailing) {
+
+        double now = Duration.currentTimeMillis();
+        BurstEvent e = getEvent(name, command, Mode.THROTTLE);
+        e.m_interval = intervalMsec;
+        e.m_leading = leading;
+        e.m_trailing = trailing || !leading;
+        if (e.m_pending) {
+            // already waiting for the trailing edge
+            return;
+        }
+        if ((now - e.m_lastFired) >= intervalMsec) {
+            if (e.m_leading) {
+                fire(e, now);
+                return;
+            }
+            e.m_lastFired = now;
+        } else if (!e.m_trailing) {
+            m_coalescedCount += 1;
+            return;
+        }
+        e.m_pending = true;
+        e.m_due = e.m_lastFired + intervalMsec;
+        addToWheel(e);
+    }
+
+    /**
+     * Executed on every tick of the shared timer, executing the due events of the passed slots.<p>
+     */
+    protected void onTick() {
+
+        double now = Duration.currentTimeMillis();
+        long tick = (long)(now / RESOLUTION);
+        long first = Math.max(m_lastTick + 1, tick - (SLOT_COUNT - 1));
+        m_lastTick = tick;
+        List<BurstEvent> due = new ArrayList<BurstEvent>();
+        for (long t = first; t <= tick; t++) {
+            List<BurstEvent> slot = m_wheel.get((int)(t % SLOT_COUNT));
+            if (slot.isEmpty()) {
+                continue;
+            }
+            List<BurstEvent> events = new ArrayList<BurstEvent>(slot);
+            slot.clear();
+            m_wheelSize -= events.size();
+            for (BurstEvent e : events) {
+                e.m_inWheel = false;
+                if (!e.m_pending) {
+                    if ((e.m_mode == Mode.THROTTLE) && (m_memory.get(e.m_name) == e)) {
+                        // an executed throttle, forget it once its interval has passed
+                        if (e.m_due <= now) {
+                            m_memory.remove(e.m_name);
+                        } else {
+                            addToWheel(e);
+                        }
+                    }
+                    continue;
+                }
+                if (e.m_due <= now) {
+                    due.add(e);
+                } else {
+                    // rescheduled in the meantime
+                    addToWheel(e);
+                }
+            }
+        }
+        for (BurstEvent e : due) {
+            // may have been canceled by a previous command
+            if (e.m_pending) {
+                fire(e, now);
+            }
+        }
+        if ((m_wheelSize == 0) && m_timerRunning) {
+            m_timer.cancel();
+            m_timerRunning = false;
+        }
+    }
+
+    /**
+     * Executes the events waiting for the animation frame.<p>
+     */
+    protected void onFrame() {
+
+        double now = Duration.currentTimeMillis();
+        List<BurstEvent> events = new ArrayList<BurstEvent>(m_frameEvents);
+        m_frameEvents.clear();
+        for (BurstEvent e : events) {
+            if (e.m_pending) {
+                fire(e, now);
+            }
+        }
+    }
+
+    /**
+     * Adds the event to the wheel slot for its due time, unless it is already part of the wheel.<p>
+     * 
+     * Events which are already part of the wheel are moved when their slot comes up, if their due time has changed.<p>
+     * 
+     * @param e the event
+     */
+    private void addToWheel(BurstEvent e) {
+
+        if (e.m_inWheel) {
+            return;
+        }
+        if (!m_timerRunning) {
+            // the first tick of the restarted timer scans the slots following the current one
+            m_lastTick = (long)(Duration.currentTimeMillis() / RESOLUTION);
+            m_timerRunning = true;
+            m_timer.scheduleRepeating(RESOLUTION);
+        }
+        long tick = Math.max((long)Math.ceil(e.m_due / RESOLUTION), m_lastTick + 1);
+        // events due after a full revolution are checked once per revolution
+        m_wheel.get((int)(tick % SLOT_COUNT)).add(e);
+        e.m_inWheel = true;
+        m_wheelSize += 1;
+    }
+
+    /**
+     * Executes the event.<p>
+     * 
+     * @param e the event
+     * @param now the current time
+     */
+    private void fire(BurstEvent e, double now) {
+
+        e.m_pending = false;
+        e.m_lastFired = now;
+        m_firedCount += 1;
+        if (e.m_mode == Mode.THROTTLE) {
+            // throttled events remember their last execution until the interval has passed
+            e.m_due = now + e.m_interval;
+            addToWheel(e);
+        } else if (m_memory.get(e.m_name) == e) {
+            // remove the others before executing, so the command may schedule the event again
+            m_memory.remove(e.m_name);
+        }
+        if (e.m_command != null) {
+            e.m_command.execute();
+        }
+    }
+
+    /**
+     * Returns the event for the given name, creating it if necessary, and updates its command and mode.<p>
+     * 
+     * @param name the event name
+     * @param command the command to execute
+     * @param mode the scheduling mode
+     * 
+     * @return the event
+     */
+    private BurstEvent getEvent(String name, Command command, Mode mode) {
 
-        BurstEvent oe = m_memory.remove(eventName);
-        if (oe != null) {
-            // disable the old event.
-            oe.getTimer().cancel();
+        m_scheduledCount += 1;
+        BurstEvent e = m_memory.get(name);
+        if (e == null) {
+            e = new BurstEvent(name);
+            m_memory.put(name, e);
+        } else if (e.m_pending) {
+            m_coalescedCount += 1;
+            if (e.m_mode != mode) {
+                // switching the mode starts a new burst, the wheel or frame list drops the old event
+                e.m_pending = false;
+                e = new BurstEvent(name);
+                m_memory.put(name, e);
+            }
         }
+        e.m_command = command;
+        e.m_mode = mode;
+        return e;
     }
-}
\ No newline at end of file
+}
@@ -34,6 +34,9 @@ import com.google.gwt.user.client.Command;
  */
 public class ChangeHeightAnimation extends A_Animation {
 
+    /** The element to animate. */
+    private Element m_element;
+
     /** The element style. */
     private Style m_elementStyle;
 
@@ -56,12 +59,10 @@ public class ChangeHeightAnimation extends A_Animation {
     public ChangeHeightAnimation(Element element, int targetHeight, Command callback) {
 
         super(callback);
-
+        setEasing(Easing.SWING_IN);
+        m_element = element;
         m_elementStyle = element.getStyle();
-
-        m_height = DomUtil.getCurrentStyleInt(element, DomUtil.Style.height);
         m_targetHeight = targetHeight;
-        m_heightDiff = m_targetHeight - m_height;
     }
 
     /**
@@ -93,12 +94,22 @@ public class ChangeHeightAnimation extends A_Animation {
         }
     }
 
+    /**
+     * @see com.alkacon.geranium.client.util.A_Animation#onMeasure()
+     */
+    @Override
+    protected void onMeasure() {
+
+        m_height = DomUtil.getCurrentStyleInt(m_element, DomUtil.Style.height);
+        m_heightDiff = m_targetHeight - m_height;
+    }
+
     /**
      * @see com.google.gwt.animation.client.Animation#onUpdate(double)
      */
     @Override
     protected void onUpdate(double progress) {
 
-        m_elementStyle.setHeight((m_heightDiff * progress * progress) + m_height, Unit.PX);
+        m_elementStyle.setHeight((m_heightDiff * progress) + m_height, Unit.PX);
     }
 }
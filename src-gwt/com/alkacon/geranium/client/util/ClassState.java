@@ -0,0 +1,252 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client.util;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.gwt.core.client.JsArrayString;
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.user.client.ui.UIObject;
+
+/**
+ * Manages the state dependent CSS classes of an element in named slots, writing the class attribute once per change.<p>
+ * 
+ * Every slot holds one or more space separated class names, setting a slot replaces the classes previously set
+ * for it. Classes not set through a slot are left untouched. Changes made between {@link #begin()} and
+ * {@link #end()} are collected and written together, outside of a batch every change is written immediately.
+ * Single class changes use the element's <code>classList</code> where available, everything else rewrites
+ * <code>className</code> once.<p>
+ */
+public class ClassState {
+
+    /** The classes currently applied, by slot. */
+    private Map<String, String> m_applied = new HashMap<String, String>();
+
+    /** The batch nesting depth. */
+    private int m_depth;
+
+    /** The element. */
+    private Element m_element;
+
+    /** The classes to apply at the end of the batch, by slot. */
+    private Map<String, String> m_pending = new HashMap<String, String>();
+
+    /**
+     * Creates a class state for the given element.<p>
+     * 
+     * @param element the element
+     */
+    public ClassState(Element element) {
+
+        m_element = element;
+    }
+
+    /**
+     * Creates a class state for the element of the given UI object.<p>
+     * 
+     * @param ui the UI object
+     */
+    public ClassState(UIObject ui) {
+
+        this(ui.getElement());
+    }
+
+    /**
+     * Replaces a class of the element with a single write of the class attribute.<p>
+     * 
+     * @param element the element
+     * @param oldClass the class to remove, may be <code>null</code>
+     * @param newClass the class to add, may be <code>null</code>
+     */
+    public static void replaceClass(Element element, String oldClass, String newClass) {
+
+        if ((oldClass == null) ? (newClass == null) : oldClass.equals(newClass)) {
+            return;
+        }
+        JsArrayString remove = JsArrayString.createArray().cast();
+        JsArrayString add = JsArrayString.createArray().cast();
+        if (oldClass != null) {
+            remove.push(oldClass);
+        }
+        if (newClass != null) {
+            add.push(newClass);
+        }
+        applyClasses(element, remove, add);
+    }
+
+    /**
+     * Removes the given classes and adds the others, writing the class attribute at most once.<p>
+     * 
+     * @param element the element
+     * @param remove the classes to remove, each entry may contain several space separated classes
+     * @param add the classes to add, each entry may contain several space separated classes
+     */
+    private static native void applyClasses(Element element, JsArrayString remove, JsArrayString add) /*-{
+        var split = function(values) {
+            var result = [];
+            for ( var i = 0; i < values.length; i++) {
+                var tokens = values[i].split(/\s+/);
+                for ( var j = 0; j < tokens.length; j++) {
+                    if (tokens[j]) {
+                        result.push(tokens[j]);
+                    }
+                }
+            }
+            return result;
+        };
+        var removed = split(remove);
+        var added = split(add);
+        var classList = element.classList;
+        if (classList && ((removed.length + added.length) == 1)) {
+            if (removed.length == 1) {
+                classList.remove(removed[0]);
+            } else {
+                classList.add(added[0]);
+            }
+            return;
+        }
+        var skip = {};
+        for ( var i = 0; i < removed.length; i++) {
+            skip[removed[i]] = true;
+        }
+        var current = element.className ? element.className.split(/\s+/) : [];
+        var result = [];
+        var seen = {};
+        for ( var i = 0; i < current.length; i++) {
+            var token = current[i];
+            if (token && !skip[token] && !seen[token]) {
+                seen[token] = true;
+                result.push(token);
+            }
+        }
+        for ( var i = 0; i < added.length; i++) {
+            if (!seen[added[i]]) {
+                seen[added[i]] = true;
+                result.push(added[i]);
+            }
+        }
+        var value = result.join(' ');
+        if (value != element.className) {
+            element.className = value;
+        }
+    }-*/;
+
+    /**
+     * Starts a batch of changes. Batches may be nested, the changes are written when the outermost batch ends.<p>
+     */
+    public void begin() {
+
+        m_depth++;
+    }
+
+    /**
+     * Ends a batch of changes, writing the changes if this was the outermost batch.<p>
+     */
+    public void end() {
+
+        if (m_depth > 0) {
+            m_depth--;
+        }
+        if (m_depth == 0) {
+            flush();
+        }
+    }
+
+    /**
+     * Returns the classes of the given slot, including pending changes.<p>
+     * 
+     * @param slot the slot name
+     * 
+     * @return the classes, or <code>null</code> if none are set
+     */
+    public String get(String slot) {
+
+        if (m_pending.containsKey(slot)) {
+            return m_pending.get(slot);
+        }
+        return m_applied.get(slot);
+    }
+
+    /**
+     * Sets the classes of the given slot, replacing the previous ones.<p>
+     * 
+     * @param slot the slot name
+     * @param classes the space separated classes, or <code>null</code> to clear the slot
+     */
+    public void set(String slot, String classes) {
+
+        if ((classes != null) && (classes.trim().length() == 0)) {
+            classes = null;
+        }
+        m_pending.put(slot, classes);
+        if (m_depth == 0) {
+            flush();
+        }
+    }
+
+    /**
+     * Adds or removes a single class, using the class as slot name.<p>
+     * 
+     * @param className the class
+     * @param enabled <code>true</code> to add the class, <code>false</code> to remove it
+     */
+    public void toggle(String className, boolean enabled) {
+
+        set(className, enabled ? className : null);
+    }
+
+    /**
+     * Writes the pending changes.<p>
+     */
+    private void flush() {
+
+        if (m_pending.isEmpty()) {
+            return;
+        }
+        JsArrayString remove = JsArrayString.createArray().cast();
+        JsArrayString add = JsArrayString.createArray().cast();
+        for (Map.Entry<String, String> entry : m_pending.entrySet()) {
+            String oldClasses = m_applied.get(entry.getKey());
+            String newClasses = entry.getValue();
+            if ((oldClasses == null) ? (newClasses == null) : oldClasses.equals(newClasses)) {
+                continue;
+            }
+            if (oldClasses != null) {
+                remove.push(oldClasses);
+            }
+            if (newClasses != null) {
+                add.push(newClasses);
+                m_applied.put(entry.getKey(), newClasses);
+            } else {
+                m_applied.remove(entry.getKey());
+            }
+        }
+        m_pending.clear();
+        if ((remove.length() > 0) || (add.length() > 0)) {
+            applyClasses(m_element, remove, add);
+        }
+    }
+}
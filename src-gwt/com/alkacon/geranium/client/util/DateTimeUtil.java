@@ -25,8 +25,11 @@
 package com.alkacon.geranium.client.util;
 
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 
 import com.google.gwt.i18n.client.DateTimeFormat;
+import com.google.gwt.i18n.client.DateTimeFormat.PredefinedFormat;
 
 /**
  * Date utility.<p>
@@ -53,6 +56,12 @@ public final class DateTimeUtil {
         SHORT;
     }
 
+    /** The cached date formatters by format ordinal. */
+    private static DateTimeFormat[] m_dateFormats = new DateTimeFormat[Format.values().length];
+
+    /** The cached time formatters by format ordinal. */
+    private static DateTimeFormat[] m_timeFormats = new DateTimeFormat[Format.values().length];
+
     /**
      * Hides the public constructor.<p>
      */
@@ -72,25 +81,22 @@ public final class DateTimeUtil {
      */
     public static String getDate(Date date, Format format) {
 
-        DateTimeFormat df;
-        switch (format) {
-            case FULL:
-                df = DateTimeFormat.getFormat(DateTimeFormat.PredefinedFormat.DATE_FULL);
-                break;
-            case LONG:
-                df = DateTimeFormat.getFormat(DateTimeFormat.PredefinedFormat.DATE_LONG);
-                break;
-            case MEDIUM:
-                df = DateTimeFormat.getFormat(DateTimeFormat.PredefinedFormat.DATE_MEDIUM);
-                break;
-            case SHORT:
-                df = DateTimeFormat.getFormat(DateTimeFormat.PredefinedFormat.DATE_SHORT);
-                break;
-            default:
-                // can never happen, just to prevent stupid warning
-                return "";
-        }
-        return df.format(date);
+        return getDateFormat(format).format(date);
+    }
+
+    /**
+     * Formats the date part of many timestamps at once.<p>
+     * 
+     * The formatted date is computed only once per calendar day.<p>
+     * 
+     * @param times the timestamps
+     * @param format the format to use
+     * 
+     * @return the formatted dates, in the order of the timestamps
+     */
+    public static String[] getDates(long[] times, Format format) {
+
+        return formatBulk(times, format, false);
     }
 
     /**
@@ -116,11 +122,22 @@ public final class DateTimeUtil {
      */
     public static String getDateTime(Date date, Format format) {
 
-        StringBuffer buf = new StringBuffer();
-        buf.append(getDate(date, format));
-        buf.append(" ");
-        buf.append(getTime(date, format));
-        return buf.toString();
+        return getDateFormat(format).format(date) + " " + getTimeFormat(format).format(date);
+    }
+
+    /**
+     * Formats many timestamps as date and time at once.<p>
+     * 
+     * The formatted date part is computed only once per calendar day.<p>
+     * 
+     * @param times the timestamps
+     * @param format the format to use
+     * 
+     * @return the formatted dates and times, in the order of the timestamps
+     */
+    public static String[] getDateTimes(long[] times, Format format) {
+
+        return formatBulk(times, format, true);
     }
 
     /**
@@ -147,24 +164,93 @@ public final class DateTimeUtil {
      */
     public static String getTime(Date date, Format format) {
 
-        DateTimeFormat df;
-        switch (format) {
-            case FULL:
-                df = DateTimeFormat.getFormat(DateTimeFormat.PredefinedFormat.TIME_FULL);
-                break;
-            case LONG:
-                df = DateTimeFormat.getFormat(DateTimeFormat.PredefinedFormat.TIME_LONG);
-                break;
-            case MEDIUM:
-                df = DateTimeFormat.getFormat(DateTimeFormat.PredefinedFormat.TIME_MEDIUM);
-                break;
-            case SHORT:
-                df = DateTimeFormat.getFormat(DateTimeFormat.PredefinedFormat.TIME_SHORT);
-                break;
-            default:
-                // can never happen, just to prevent stupid warning
-                return "";
+        return getTimeFormat(format).format(date);
+    }
+
+    /**
+     * Formats the timestamps, memoizing the date part per calendar day.<p>
+     * 
+     * @param times the timestamps
+     * @param format the format to use
+     * @param withTime <code>true</code> to append the time
+     * 
+     * @return the formatted timestamps
+     */
+    @SuppressWarnings("deprecation")
+    private static String[] formatBulk(long[] times, Format format, boolean withTime) {
+
+        DateTimeFormat dateFormat = getDateFormat(format);
+        DateTimeFormat timeFormat = withTime ? getTimeFormat(format) : null;
+        Map<Integer, String> days = new HashMap<Integer, String>();
+        String[] result = new String[times.length];
+        for (int i = 0; i < times.length; i++) {
+            Date date = new Date(times[i]);
+            Integer day = Integer.valueOf((date.getYear() * 512) + (date.getMonth() * 32) + date.getDate());
+            String datePart = days.get(day);
+            if (datePart == null) {
+                datePart = dateFormat.format(date);
+                days.put(day, datePart);
+            }
+            result[i] = withTime ? datePart + " " + timeFormat.format(date) : datePart;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the cached date formatter for the given format.<p>
+     * 
+     * @param format the format
+     * 
+     * @return the date formatter
+     */
+    private static DateTimeFormat getDateFormat(Format format) {
+
+        DateTimeFormat df = m_dateFormats[format.ordinal()];
+        if (df == null) {
+            switch (format) {
+                case FULL:
+                    df = DateTimeFormat.getFormat(PredefinedFormat.DATE_FULL);
+                    break;
+                case LONG:
+                    df = DateTimeFormat.getFormat(PredefinedFormat.DATE_LONG);
+                    break;
+                case MEDIUM:
+                    df = DateTimeFormat.getFormat(PredefinedFormat.DATE_MEDIUM);
+                    break;
+                default:
+                    df = DateTimeFormat.getFormat(PredefinedFormat.DATE_SHORT);
+            }
+            m_dateFormats[format.ordinal()] = df;
+        }
+        return df;
+    }
+
+    /**
+     * Returns the cached time formatter for the given format.<p>
+     * 
+     * @param format the format
+     * 
+     * @return the time formatter
+     */
+    private static DateTimeFormat getTimeFormat(Format format) {
+
+        DateTimeFormat df = m_timeFormats[format.ordinal()];
+        if (df == null) {
+            switch (format) {
+                case FULL:
+                    df = DateTimeFormat.getFormat(PredefinedFormat.TIME_FULL);
+                    break;
+                case LONG:
+                    df = DateTimeFormat.getFormat(PredefinedFormat.TIME_LONG);
+                    break;
+                case MEDIUM:
+                    df = DateTimeFormat.getFormat(PredefinedFormat.TIME_MEDIUM);
+                    break;
+                default:
+                    df = DateTimeFormat.getFormat(PredefinedFormat.TIME_SHORT);
+            }
+            m_timeFormats[format.ordinal()] = df;
         }
-        return df.format(date);
+        return df;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,333 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client.util;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.dom.client.Element;
+
+/**
+ * Counts the DOM operations performed while recording, to measure the DOM cost of widget operations.<p>
+ * 
+ * The layout helpers of {@link DomUtil} and {@link PositionBean} as well as the computed style lookups of
+ * {@link com.alkacon.geranium.client.util.impl.DocumentStyleImpl} report to this class. When recording is
+ * started for the first time, the document's <code>createElement</code>, the element geometry properties and
+ * <code>getBoundingClientRect</code> are wrapped to count element creations and layout reads, and style attribute
+ * changes are counted with a mutation observer. Browsers not allowing to wrap the native properties, or lacking
+ * mutation observers, report <code>0</code> for the respective counters, use {@link #isCounted(Counter)} to check.<p>
+ * 
+ * Recording is meant for tests and diagnostics. While not recording, reporting only costs a flag check.<p>
+ */
+public final class DomCost {
+
+    /**
+     * The counters.<p>
+     */
+    public static enum Counter {
+
+        /** Computed style lookups. */
+        COMPUTED_STYLE_READS,
+
+        /** Element creations through the document. */
+        ELEMENT_CREATIONS,
+
+        /** Calls of the layout reading helpers of DomUtil and PositionBean. */
+        LAYOUT_HELPER_CALLS,
+
+        /** Native layout property reads, only the bounding rectangle reads where the properties can not be wrapped. */
+        LAYOUT_READS,
+
+        /** Style attribute changes. */
+        STYLE_WRITES;
+    }
+
+    /** The flags indicating the counters recorded by the current browser, by counter ordinal. */
+    private static boolean[] m_counted = new boolean[Counter.values().length];
+
+    /** The counts by counter ordinal. */
+    private static int[] m_counts = new int[Counter.values().length];
+
+    /** Flag indicating the native wrappers are installed. */
+    private static boolean m_installed;
+
+    /** The mutation observer, if supported. */
+    private static JavaScriptObject m_observer;
+
+    /** Flag indicating recording is active. */
+    private static boolean m_recording;
+
+    /**
+     * Hidden constructor.<p>
+     */
+    private DomCost() {
+
+        // noop
+    }
+
+    /**
+     * Returns the number of elements within the given root element, including the root.<p>
+     * 
+     * @param root the root element
+     * 
+     * @return the number of elements
+     */
+    public static native int countElements(Element root) /*-{
+        return root.getElementsByTagName('*').length + 1;
+    }-*/;
+
+    /**
+     * Returns the count of the given counter.<p>
+     * 
+     * @param counter the counter
+     * 
+     * @return the count
+     */
+    public static int get(Counter counter) {
+
+        return m_counts[counter.ordinal()];
+    }
+
+    /**
+     * Returns if the given counter is recorded by the current browser.<p>
+     * 
+     * Only known once recording has been started, the native counters depend on the browser.<p>
+     * 
+     * @param counter the counter
+     * 
+     * @return <code>true</code> if the counter is recorded
+     */
+    public static boolean isCounted(Counter counter) {
+
+        return m_counted[counter.ordinal()];
+    }
+
+    /**
+     * Returns if recording is active.<p>
+     * 
+     * @return <code>true</code> if recording is active
+     */
+    public static boolean isRecording() {
+
+        return m_recording;
+    }
+
+    /**
+     * Counts an operation, if recording.<p>
+     * 
+     * @param counter the counter
+     */
+    public static void record(Counter counter) {
+
+        if (m_recording) {
+            m_counts[counter.ordinal()] += 1;
+        }
+    }
+
+    /**
+     * Returns the current counts as a readable string.<p>
+     * 
+     * @return the counts
+     */
+    public static String report() {
+
+        StringBuilder result = new StringBuilder();
+        for (Counter counter : Counter.values()) {
+            if (result.length() > 0) {
+                result.append(", ");
+            }
+            result.append(counter.name()).append('=').append(get(counter));
+        }
+        return result.toString();
+    }
+
+    /**
+     * Resets all counts.<p>
+     */
+    public static void reset() {
+
+        for (int i = 0; i < m_counts.length; i++) {
+            m_counts[i] = 0;
+        }
+    }
+
+    /**
+     * Resets the counts and starts recording.<p>
+     */
+    public static void start() {
+
+        if (!m_installed) {
+            m_installed = true;
+            m_counted[Counter.COMPUTED_STYLE_READS.ordinal()] = true;
+            m_counted[Counter.LAYOUT_HELPER_CALLS.ordinal()] = true;
+            m_observer = installNative();
+        }
+        reset();
+        m_recording = true;
+        observe(m_observer);
+    }
+
+    /**
+     * Stops recording. The counts are kept until the next start or reset.<p>
+     */
+    public static void stop() {
+
+        // the mutation records are delivered asynchronously, collect the pending ones
+        disconnect(m_observer);
+        m_recording = false;
+    }
+
+    /**
+     * Marks the given counter as recorded by the current browser, called when installing the native wrappers.<p>
+     * 
+     * @param ordinal the counter ordinal
+     */
+    protected static void setCounted(int ordinal) {
+
+        m_counted[ordinal] = true;
+    }
+
+    /**
+     * Counts the given number of operations, called from the native wrappers.<p>
+     * 
+     * @param ordinal the counter ordinal
+     * @param count the number of operations
+     */
+    protected static void recordNative(int ordinal, int count) {
+
+        if (m_recording) {
+            m_counts[ordinal] += count;
+        }
+    }
+
+    /**
+     * Collects the pending records and disconnects the mutation observer.<p>
+     * 
+     * @param observer the observer, may be <code>null</code>
+     */
+    private static native void disconnect(JavaScriptObject observer) /*-{
+        if (observer) {
+            observer.__callback(observer.takeRecords());
+            observer.disconnect();
+        }
+    }-*/;
+
+    /**
+     * Wraps the native DOM functions and properties.<p>
+     * 
+     * @return the mutation observer for style changes, or <code>null</code> if not supported
+     */
+    private static native JavaScriptObject installNative() /*-{
+        var record = function(counter, count) {
+            @com.alkacon.geranium.client.util.DomCost::recordNative(II)(counter, count);
+        };
+        var creations = @com.alkacon.geranium.client.util.DomCost.Counter::ELEMENT_CREATIONS.@java.lang.Enum::ordinal()();
+        var reads = @com.alkacon.geranium.client.util.DomCost.Counter::LAYOUT_READS.@java.lang.Enum::ordinal()();
+        var writes = @com.alkacon.geranium.client.util.DomCost.Counter::STYLE_WRITES.@java.lang.Enum::ordinal()();
+        var counted = function(counter) {
+            @com.alkacon.geranium.client.util.DomCost::setCounted(I)(counter);
+        };
+        var createElement = $doc.createElement;
+        $doc.createElement = function() {
+            record(creations, 1);
+            return createElement.apply($doc, arguments);
+        };
+        counted(creations);
+        var proto = $wnd.Element ? $wnd.Element.prototype : null;
+        if (proto && proto.getBoundingClientRect) {
+            var getRect = proto.getBoundingClientRect;
+            proto.getBoundingClientRect = function() {
+                record(reads, 1);
+                return getRect.apply(this, arguments);
+            };
+            counted(reads);
+        }
+        var props = [ 'offsetWidth', 'offsetHeight', 'offsetTop', 'offsetLeft',
+                'clientWidth', 'clientHeight', 'scrollWidth', 'scrollHeight',
+                'scrollTop', 'scrollLeft' ];
+        if (Object.getOwnPropertyDescriptor && Object.defineProperty) {
+            for ( var i = 0; i < props.length; i++) {
+                var owner = $wnd.HTMLElement ? $wnd.HTMLElement.prototype : null;
+                while (owner && !Object.prototype.hasOwnProperty.call(owner, props[i])) {
+                    owner = Object.getPrototypeOf(owner);
+                }
+                if (!owner) {
+                    continue;
+                }
+                var desc = null;
+                try {
+                    desc = Object.getOwnPropertyDescriptor(owner, props[i]);
+                    // some engines, like the one of HtmlUnit, expose getters which can not be called from script
+                    if (desc && desc.get && desc.get.call && desc.configurable) {
+                        (function(getter, setter, name) {
+                            Object.defineProperty(owner, name, {
+                                configurable : true,
+                                enumerable : desc.enumerable,
+                                get : function() {
+                                    record(reads, 1);
+                                    return getter.call(this);
+                                },
+                                set : setter
+                            });
+                        })(desc.get, desc.set, props[i]);
+                        // make sure the wrapped property can still be read
+                        var probe = $doc.body[props[i]];
+                        counted(reads);
+                    }
+                } catch (e) {
+                    // not supported by this browser, restore the original property
+                    if (desc && desc.configurable) {
+                        Object.defineProperty(owner, props[i], desc);
+                    }
+                }
+            }
+        }
+        if (!$wnd.MutationObserver) {
+            return null;
+        }
+        counted(writes);
+        var callback = function(records) {
+            if (records.length > 0) {
+                record(writes, records.length);
+            }
+        };
+        var observer = new $wnd.MutationObserver(callback);
+        observer.__callback = callback;
+        return observer;
+    }-*/;
+
+    /**
+     * Starts observing style attribute changes.<p>
+     * 
+     * @param observer the observer, may be <code>null</code>
+     */
+    private static native void observe(JavaScriptObject observer) /*-{
+        if (observer) {
+            observer.observe($doc.documentElement, {
+                attributes : true,
+                attributeFilter : [ 'style' ],
+                subtree : true
+            });
+        }
+    }-*/;
+}
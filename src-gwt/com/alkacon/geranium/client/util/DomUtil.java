@@ -24,6 +24,7 @@
 
 package com.alkacon.geranium.client.util;
 
+import com.alkacon.geranium.client.ui.css.CssInjector;
 import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
 import com.alkacon.geranium.client.util.impl.DOMImpl;
 import com.alkacon.geranium.client.util.impl.DocumentStyleImpl;
@@ -487,6 +488,7 @@ public final class DomUtil {
      */
     public static void addDisablingOverlay(Element element) {
 
+        CssInjector.ensureInjected(I_LayoutBundle.INSTANCE.generalCss());
         Element overlay = DOM.createDiv();
         overlay.addClassName(I_LayoutBundle.INSTANCE.generalCss().disablingOverlay());
         element.getStyle().setPosition(Position.RELATIVE);
@@ -589,8 +591,6 @@ public final class DomUtil {
             DOM.removeChild(wrapperDiv, elementRoot);
         }
         if (elementRoot == null) {
-            DebugLog.getInstance().printLine(
-                "Could not create element as the given HTML has no appropriate root element");
             throw new IllegalArgumentException(
                 "Could not create element as the given HTML has no appropriate root element");
         }
@@ -618,6 +618,7 @@ public final class DomUtil {
         if (ClientStringUtil.isNotEmptyOrWhitespaceOnly(imageClass)) {
             String clazz = imageClass;
             if (ClientStringUtil.isNotEmptyOrWhitespaceOnly(text)) {
+                CssInjector.ensureInjected(I_LayoutBundle.INSTANCE.buttonCss());
                 if (align == HasHorizontalAlignment.ALIGN_LEFT) {
                     clazz += " " + I_LayoutBundle.INSTANCE.buttonCss().spacerLeft();
                 } else {
@@ -772,6 +773,38 @@ public final class DomUtil {
         }).run(animationTime);
     }
 
+    /**
+     * Resets the given form element to the given action, method and target and replaces all its input fields
+     * with hidden inputs for the given values.<p>
+     * 
+     * Use this to re-use a form element instead of generating a new one for every submit.<p>
+     * 
+     * @param formElement the form element to fill
+     * @param action the form action
+     * @param method the form method
+     * @param target the form target
+     * @param values the input values
+     */
+    public static void fillHiddenForm(
+        FormElement formElement,
+        String action,
+        Method method,
+        String target,
+        Map<String, String> values) {
+
+        formElement.setMethod(method.name());
+        if (ClientStringUtil.isNotEmptyOrWhitespaceOnly(target)) {
+            formElement.setTarget(target);
+        } else {
+            formElement.removeAttribute("target");
+        }
+        formElement.setAction(action);
+        formElement.setInnerHTML("");
+        for (Entry<String, String> input : values.entrySet()) {
+            formElement.appendChild(createHiddenInput(input.getKey(), input.getValue()));
+        }
+    }
+
     /**
      * Ensures any embedded flash players are set opaque so UI elements may be placed above them.<p>
      * 
@@ -866,14 +899,7 @@ public final class DomUtil {
     public static FormElement generateHiddenForm(String action, Method method, String target, Map<String, String> values) {
 
         FormElement formElement = Document.get().createFormElement();
-        formElement.setMethod(method.name());
-        if (ClientStringUtil.isNotEmptyOrWhitespaceOnly(target)) {
-            formElement.setTarget(target);
-        }
-        formElement.setAction(action);
-        for (Entry<String, String> input : values.entrySet()) {
-            formElement.appendChild(createHiddenInput(input.getKey(), input.getValue()));
-        }
+        fillHiddenForm(formElement, action, method, target, values);
         return formElement;
     }
 
@@ -1193,6 +1219,8 @@ public final class DomUtil {
      */
     public static int getRelativeX(int x, Element target) {
 
+        DomCost.record(DomCost.Counter.LAYOUT_HELPER_CALLS);
+        LayoutThrashDetector.read("DomUtil.getRelativeX");
         return (x - target.getAbsoluteLeft())
             + /* target.getScrollLeft() + */target.getOwnerDocument().getScrollLeft();
     }
@@ -1225,6 +1253,8 @@ public final class DomUtil {
      */
     public static int getRelativeY(int y, Element target, Element scrollParent) {
 
+        DomCost.record(DomCost.Counter.LAYOUT_HELPER_CALLS);
+        LayoutThrashDetector.read("DomUtil.getRelativeY");
         return (y - target.getAbsoluteTop())
             + (scrollParent != null ? scrollParent.getScrollTop() : 0)
             + target.getOwnerDocument().getScrollTop();
@@ -1330,6 +1360,8 @@ public final class DomUtil {
      */
     public static boolean hasDimension(Element element) {
 
+        DomCost.record(DomCost.Counter.LAYOUT_HELPER_CALLS);
+        LayoutThrashDetector.read("DomUtil.hasDimension");
         return (element.getOffsetHeight() > 0) || (element.getOffsetWidth() > 0);
     }
 
@@ -1382,17 +1414,28 @@ public final class DomUtil {
      */
     public static void positionElement(Element elem, Element referenceElement, int dx, int dy) {
 
+        DomCost.record(DomCost.Counter.LAYOUT_HELPER_CALLS);
         com.google.gwt.dom.client.Style style = elem.getStyle();
-        style.setLeft(0, Unit.PX);
-        style.setTop(0, Unit.PX);
-        int myX = elem.getAbsoluteLeft();
-        int myY = elem.getAbsoluteTop();
+        String left = style.getLeft();
+        String top = style.getTop();
+        if (!left.endsWith(Unit.PX.getType()) || !top.endsWith(Unit.PX.getType())) {
+            // no pixel position to subtract, so move the element to the origin before reading its position
+            style.setLeft(0, Unit.PX);
+            style.setTop(0, Unit.PX);
+            LayoutThrashDetector.write("DomUtil.positionElement");
+            left = "0";
+            top = "0";
+        }
+        LayoutThrashDetector.read("DomUtil.positionElement");
+        int myX = elem.getAbsoluteLeft() - ClientStringUtil.parseInt(left);
+        int myY = elem.getAbsoluteTop() - ClientStringUtil.parseInt(top);
         int refX = referenceElement.getAbsoluteLeft();
         int refY = referenceElement.getAbsoluteTop();
         int newX = (refX - myX) + dx;
         int newY = (refY - myY) + dy;
         style.setLeft(newX, Unit.PX);
         style.setTop(newY, Unit.PX);
+        LayoutThrashDetector.write("DomUtil.positionElement");
     }
 
     /**
@@ -1410,9 +1453,10 @@ public final class DomUtil {
      */
     public static int positionElementInside(Element element, Element parent, int currentIndex, int x, int y) {
 
+        DomCost.record(DomCost.Counter.LAYOUT_HELPER_CALLS);
         if ((x == -1) && (y == -1)) {
             // this is wrong usage, do nothing
-            DebugLog.getInstance().printLine("this is wrong usage, doing nothing");
+            Tracing.count("domUtil.positionElementInside.invalidPosition");
             return currentIndex;
         }
         int indexCorrection = 0;
@@ -1598,6 +1642,7 @@ public final class DomUtil {
      */
     public static void showOverlay(Element element, boolean show) {
 
+        CssInjector.ensureInjected(I_LayoutBundle.INSTANCE.generalCss());
         if (show) {
             element.removeClassName(I_LayoutBundle.INSTANCE.generalCss().hideOverlay());
         } else {
@@ -1684,13 +1729,7 @@ public final class DomUtil {
      */
     private static boolean internalHasClass(String className, Element element) {
 
-        String elementClass = element.getClassName().trim();
-        boolean hasClass = elementClass.equals(className);
-        hasClass |= elementClass.contains(" " + className + " ");
-        hasClass |= elementClass.startsWith(className + " ");
-        hasClass |= elementClass.endsWith(" " + className);
-
-        return hasClass;
+        return getDOMImpl().hasClass(element, className);
     }
 
     /**
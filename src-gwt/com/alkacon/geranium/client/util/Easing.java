@@ -0,0 +1,129 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client.util;
+
+/**
+ * Commonly used easing functions.<p>
+ * 
+ * The instances are stateless and may be shared by any number of animations.<p>
+ */
+public final class Easing {
+
+    /** Starts slowly, ending at full speed. */
+    public static final I_Easing EASE_IN = new I_Easing() {
+
+        /**
+         * @see com.alkacon.geranium.client.util.I_Easing#ease(double)
+         */
+        public double ease(double progress) {
+
+            return progress * progress;
+        }
+    };
+
+    /** Starts at full speed, slowing down towards the end. */
+    public static final I_Easing EASE_OUT = new I_Easing() {
+
+        /**
+         * @see com.alkacon.geranium.client.util.I_Easing#ease(double)
+         */
+        public double ease(double progress) {
+
+            return progress * (2 - progress);
+        }
+    };
+
+    /** Constant speed. */
+    public static final I_Easing LINEAR = new I_Easing() {
+
+        /**
+         * @see com.alkacon.geranium.client.util.I_Easing#ease(double)
+         */
+        public double ease(double progress) {
+
+            return progress;
+        }
+    };
+
+    /** Starts and ends slowly, the default easing of GWT animations. */
+    public static final I_Easing SWING = new I_Easing() {
+
+        /**
+         * @see com.alkacon.geranium.client.util.I_Easing#ease(double)
+         */
+        public double ease(double progress) {
+
+            return (1 + Math.cos(Math.PI + (progress * Math.PI))) / 2;
+        }
+    };
+
+    /** The swing easing squared, starting very slowly. Used by the move, slide and change height animations. */
+    public static final I_Easing SWING_IN = new I_Easing() {
+
+        /**
+         * @see com.alkacon.geranium.client.util.I_Easing#ease(double)
+         */
+        public double ease(double progress) {
+
+            double swing = SWING.ease(progress);
+            return swing * swing;
+        }
+    };
+
+    /**
+     * Hidden constructor.<p>
+     */
+    private Easing() {
+
+        // empty
+    }
+
+    /**
+     * Returns the CSS timing function approximating the given easing.<p>
+     * 
+     * @param easing the easing
+     * 
+     * @return the CSS timing function, or <code>null</code> if the easing has no CSS equivalent
+     */
+    public static String getCssTimingFunction(I_Easing easing) {
+
+        if (easing == LINEAR) {
+            return "linear";
+        }
+        if (easing == EASE_IN) {
+            return "cubic-bezier(0.55, 0.085, 0.68, 0.53)";
+        }
+        if (easing == EASE_OUT) {
+            return "cubic-bezier(0.25, 0.46, 0.45, 0.94)";
+        }
+        if (easing == SWING) {
+            return "cubic-bezier(0.35, 0, 0.65, 1)";
+        }
+        if (easing == SWING_IN) {
+            return "cubic-bezier(0.7, 0, 0.6, 0.8)";
+        }
+        return null;
+    }
+}
@@ -96,6 +96,32 @@ public class FadeAnimation extends A_Animation {
         DomUtil.clearOpacity(m_element);
     }
 
+    /**
+     * @see com.alkacon.geranium.client.util.A_Animation#onPrepare()
+     */
+    @Override
+    protected boolean onPrepare() {
+
+        if (!m_show) {
+            return false;
+        }
+        m_element.getStyle().setOpacity(0);
+        return true;
+    }
+
+    /**
+     * @see com.alkacon.geranium.client.util.A_Animation#startNativeAnimation(int, java.lang.String)
+     */
+    @Override
+    protected NativeAnimation startNativeAnimation(int duration, String easing) {
+
+        return animateNative(
+            m_element,
+            NativeAnimation.createKeyframes("opacity", m_show ? "0" : "1", m_show ? "1" : "0"),
+            duration,
+            easing);
+    }
+
     /**
      * @see com.google.gwt.animation.client.Animation#onUpdate(double)
      */
@@ -24,23 +24,68 @@
 
 package com.alkacon.geranium.client.util;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.NativeEvent;
+import com.google.gwt.event.logical.shared.ResizeEvent;
+import com.google.gwt.event.logical.shared.ResizeHandler;
 import com.google.gwt.event.shared.HandlerRegistration;
 import com.google.gwt.user.client.Event;
 import com.google.gwt.user.client.Event.NativePreviewEvent;
 import com.google.gwt.user.client.Event.NativePreviewHandler;
+import com.google.gwt.user.client.Window;
 import com.google.gwt.user.client.ui.ScrollPanel;
-import com.google.gwt.user.client.ui.Widget;
 
 /**
  * Native preview handler that focuses the on scroll wheel mouse event on the given scroll panel.<p>
+ * 
+ * Where the browser supports the CSS property <code>overscroll-behavior</code>, it is set to <code>contain</code>
+ * on the scroll panel while the handler is registered and no event handling is needed. Otherwise all registered handlers share a single native
+ * preview handler, which hit-tests the cached bounding rectangles of the panels. The rectangles are invalidated
+ * when the window is resized or an enclosing element is scrolled.<p>
  */
 public final class FocusedScrollingHandler implements NativePreviewHandler {
 
+    /** The style property name of overscroll-behavior. */
+    private static final String OVERSCROLL_BEHAVIOR = "overscrollBehavior";
+
+    /** Flag indicating the rectangles may be cached, which requires the scroll listener. */
+    private static boolean m_cacheRects;
+
+    /** Flag indicating the shared listeners for invalidating the cached rectangles are installed. */
+    private static boolean m_listenersInstalled;
+
+    /** Flag indicating the browser supports overscroll-behavior, <code>null</code> if not checked yet. */
+    private static Boolean m_overscrollSupported;
+
+    /** The shared native preview handler registration. */
+    private static HandlerRegistration m_previewRegistration;
+
+    /** The registered handlers. */
+    private static List<FocusedScrollingHandler> m_registeredHandlers = new ArrayList<FocusedScrollingHandler>();
+
+    /** The cached bottom edge of the panel in client coordinates. */
+    private double m_bottom;
+
+    /** The cached left edge of the panel in client coordinates. */
+    private double m_left;
+
+    /** Flag indicating the cached rectangle is valid. */
+    private boolean m_rectValid;
+
+    /** Flag indicating the handler is registered. */
+    private boolean m_registered;
+
+    /** The cached right edge of the panel in client coordinates. */
+    private double m_right;
+
     /** The scroll panel. */
     private ScrollPanel m_scrollPanel;
 
-    /** The scroll handler registration. */
-    private HandlerRegistration m_handlerRegistration;
+    /** The cached top edge of the panel in client coordinates. */
+    private double m_top;
 
     /**
      * Constructor.<p>
@@ -70,36 +115,121 @@ public final class FocusedScrollingHandler implements NativePreviewHandler {
     }
 
     /**
-     * @see com.google.gwt.user.client.Event.NativePreviewHandler#onPreviewNativeEvent(com.google.gwt.user.client.Event.NativePreviewEvent)
+     * Invalidates the cached rectangles of all panels.<p>
      */
-    public void onPreviewNativeEvent(NativePreviewEvent event) {
+    public static void invalidateAll() {
 
-        if ((Event.ONMOUSEWHEEL == event.getTypeInt()) && (m_handlerRegistration != null)) {
-            PositionBean position = PositionBean.generatePositionInfo(m_scrollPanel);
-            if (position.isOverElement(event.getNativeEvent().getClientX(), event.getNativeEvent().getClientY())) {
-                boolean cancelEvent = false;
-                int velocity = event.getNativeEvent().getMouseWheelVelocityY();
-                if (velocity > 0) {
-
-                    Widget child = m_scrollPanel.getWidget();
-                    int scrollSpace = child.getOffsetHeight()
-                        - m_scrollPanel.getVerticalScrollPosition()
-                        - m_scrollPanel.getOffsetHeight();
-                    DebugLog.getInstance().printLine("Scrolling down:  " + scrollSpace);
-                    cancelEvent = scrollSpace <= 0;
-                } else {
-                    DebugLog.getInstance().printLine("Scrolling up:  " + m_scrollPanel.getVerticalScrollPosition());
-                    cancelEvent = m_scrollPanel.getVerticalScrollPosition() == 0;
-                }
-                if (cancelEvent) {
-                    event.cancel();
-                }
-            } else {
-                removeHandler();
+        for (FocusedScrollingHandler handler : m_registeredHandlers) {
+            handler.m_rectValid = false;
+        }
+    }
+
+    /**
+     * Checks whether the browser supports the CSS property <code>overscroll-behavior</code>.<p>
+     * 
+     * @return <code>true</code> if the property is supported
+     */
+    private static boolean isOverscrollSupported() {
+
+        if (m_overscrollSupported == null) {
+            m_overscrollSupported = Boolean.valueOf(checkOverscrollSupport());
+        }
+        return m_overscrollSupported.booleanValue();
+    }
+
+    /**
+     * Checks the browser support for <code>overscroll-behavior</code>.<p>
+     * 
+     * @return <code>true</code> if the property is supported
+     */
+    private static native boolean checkOverscrollSupport() /*-{
+        return !!($wnd.CSS && $wnd.CSS.supports && $wnd.CSS.supports('overscroll-behavior', 'contain'));
+    }-*/;
+
+    /**
+     * Installs the shared listeners invalidating the cached rectangles.<p>
+     */
+    private static void installListeners() {
+
+        if (m_listenersInstalled) {
+            return;
+        }
+        m_listenersInstalled = true;
+        Window.addResizeHandler(new ResizeHandler() {
+
+            /**
+             * @see com.google.gwt.event.logical.shared.ResizeHandler#onResize(com.google.gwt.event.logical.shared.ResizeEvent)
+             */
+            public void onResize(ResizeEvent event) {
+
+                invalidateAll();
             }
+        });
+        m_cacheRects = installScrollListener();
+    }
 
+    /**
+     * Installs a capturing scroll listener on the document, as scroll events don't bubble.<p>
+     * 
+     * @return <code>false</code> if the browser doesn't support capturing listeners
+     */
+    private static native boolean installScrollListener() /*-{
+        if (!$doc.addEventListener) {
+            return false;
         }
+        $doc.addEventListener('scroll', $entry(function(event) {
+            @com.alkacon.geranium.client.util.FocusedScrollingHandler::onScroll(Lcom/google/gwt/dom/client/NativeEvent;)(event);
+        }), true);
+        return true;
+    }-*/;
+
+    /**
+     * Invalidates the cached rectangles of the panels inside the scrolled element.<p>
+     * 
+     * @param event the scroll event
+     */
+    private static void onScroll(NativeEvent event) {
 
+        if (!Element.is(event.getEventTarget())) {
+            // the document itself was scrolled
+            invalidateAll();
+            return;
+        }
+        Element scrolled = Element.as(event.getEventTarget());
+        for (FocusedScrollingHandler handler : m_registeredHandlers) {
+            Element panel = handler.m_scrollPanel.getElement();
+            if ((panel != scrolled) && scrolled.isOrHasChild(panel)) {
+                handler.m_rectValid = false;
+            }
+        }
+    }
+
+    /**
+     * Dispatches the wheel event to the innermost registered panel under the mouse pointer.<p>
+     * 
+     * Handlers of panels not under the pointer are removed, they will register again once their panel is scrolled.<p>
+     * 
+     * @param event the preview event
+     */
+    private static void onWheel(NativePreviewEvent event) {
+
+        Tracing.Span span = Tracing.startSpan("focusedScrolling.wheel");
+        int x = event.getNativeEvent().getClientX();
+        int y = event.getNativeEvent().getClientY();
+        FocusedScrollingHandler target = null;
+        for (FocusedScrollingHandler handler : new ArrayList<FocusedScrollingHandler>(m_registeredHandlers)) {
+            if (!handler.isOver(x, y)) {
+                handler.removeHandler();
+            } else if ((target == null)
+                || target.m_scrollPanel.getElement().isOrHasChild(handler.m_scrollPanel.getElement())) {
+                target = handler;
+            }
+        }
+        if (target != null) {
+            target.handleWheel(event);
+        }
+        span.end();
+        Tracing.gauge("focusedScrolling.handlers", m_registeredHandlers.size());
     }
 
     /**
@@ -109,7 +239,21 @@ public final class FocusedScrollingHandler implements NativePreviewHandler {
      */
     public boolean isRegistered() {
 
-        return m_handlerRegistration != null;
+        return m_registered;
+    }
+
+    /**
+     * @see com.google.gwt.user.client.Event.NativePreviewHandler#onPreviewNativeEvent(com.google.gwt.user.client.Event.NativePreviewEvent)
+     */
+    public void onPreviewNativeEvent(NativePreviewEvent event) {
+
+        if ((Event.ONMOUSEWHEEL == event.getTypeInt()) && m_registered) {
+            if (isOver(event.getNativeEvent().getClientX(), event.getNativeEvent().getClientY())) {
+                handleWheel(event);
+            } else {
+                removeHandler();
+            }
+        }
     }
 
     /**
@@ -117,8 +261,32 @@ public final class FocusedScrollingHandler implements NativePreviewHandler {
      */
     public void register() {
 
-        removeHandler();
-        m_handlerRegistration = Event.addNativePreviewHandler(this);
+        if (m_registered) {
+            return;
+        }
+        m_registered = true;
+        if (isOverscrollSupported()) {
+            // the browser takes care of it
+            m_scrollPanel.getElement().getStyle().setProperty(OVERSCROLL_BEHAVIOR, "contain");
+            return;
+        }
+        installListeners();
+        m_rectValid = false;
+        m_registeredHandlers.add(this);
+        if (m_previewRegistration == null) {
+            m_previewRegistration = Event.addNativePreviewHandler(new NativePreviewHandler() {
+
+                /**
+                 * @see com.google.gwt.user.client.Event.NativePreviewHandler#onPreviewNativeEvent(com.google.gwt.user.client.Event.NativePreviewEvent)
+                 */
+                public void onPreviewNativeEvent(NativePreviewEvent event) {
+
+                    if (Event.ONMOUSEWHEEL == event.getTypeInt()) {
+                        onWheel(event);
+                    }
+                }
+            });
+        }
     }
 
     /**
@@ -127,9 +295,69 @@ public final class FocusedScrollingHandler implements NativePreviewHandler {
      */
     public void removeHandler() {
 
-        if (m_handlerRegistration != null) {
-            m_handlerRegistration.removeHandler();
-            m_handlerRegistration = null;
+        if (!m_registered) {
+            return;
+        }
+        m_registered = false;
+        if (isOverscrollSupported()) {
+            m_scrollPanel.getElement().getStyle().clearProperty(OVERSCROLL_BEHAVIOR);
+            return;
+        }
+        m_registeredHandlers.remove(this);
+        if (m_registeredHandlers.isEmpty() && (m_previewRegistration != null)) {
+            m_previewRegistration.removeHandler();
+            m_previewRegistration = null;
+        }
+    }
+
+    /**
+     * Cancels the wheel event if the panel can not scroll any further in the wheel direction.<p>
+     * 
+     * @param event the preview event
+     */
+    private void handleWheel(NativePreviewEvent event) {
+
+        Element element = m_scrollPanel.getElement();
+        boolean cancelEvent;
+        if (event.getNativeEvent().getMouseWheelVelocityY() > 0) {
+            cancelEvent = (element.getScrollHeight() - element.getScrollTop() - element.getClientHeight()) <= 0;
+        } else {
+            cancelEvent = element.getScrollTop() == 0;
+        }
+        if (cancelEvent) {
+            Tracing.count("focusedScrolling.cancelled");
+            event.cancel();
+        }
+    }
+
+    /**
+     * Checks whether the given client coordinates are within the panel, using the cached rectangle if valid.<p>
+     * 
+     * @param x the client x coordinate
+     * @param y the client y coordinate
+     * 
+     * @return <code>true</code> if the coordinates are within the panel
+     */
+    private boolean isOver(int x, int y) {
+
+        if (!m_rectValid) {
+            Tracing.count("focusedScrolling.rectReads");
+            updateRect(m_scrollPanel.getElement());
+            m_rectValid = m_cacheRects;
         }
+        return (x >= m_left) && (x <= m_right) && (y >= m_top) && (y <= m_bottom);
     }
+
+    /**
+     * Reads the bounding client rectangle of the element.<p>
+     * 
+     * @param element the panel element
+     */
+    private native void updateRect(Element element) /*-{
+        var rect = element.getBoundingClientRect();
+        this.@com.alkacon.geranium.client.util.FocusedScrollingHandler::m_left = rect.left;
+        this.@com.alkacon.geranium.client.util.FocusedScrollingHandler::m_top = rect.top;
+        this.@com.alkacon.geranium.client.util.FocusedScrollingHandler::m_right = rect.right;
+        this.@com.alkacon.geranium.client.util.FocusedScrollingHandler::m_bottom = rect.bottom;
+    }-*/;
 }
@@ -0,0 +1,131 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client.util;
+
+import com.alkacon.geranium.client.ui.css.I_BigIconBundle;
+import com.alkacon.geranium.client.ui.css.I_ImageBundle;
+
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.core.client.Scheduler.RepeatingCommand;
+import com.google.gwt.resources.client.ImageResource;
+
+/**
+ * Controls the delivery of the icons not inlined with the startup code.<p>
+ * 
+ * The small icons of {@link com.alkacon.geranium.client.ui.css.I_IconBundle} and
+ * {@link com.alkacon.geranium.client.ui.css.I_ImageBundle} are inlined as data URIs. The big icons are kept in a
+ * separate sprite, see {@link I_BigIconBundle}, which is loaded by the browser with the first big icon displayed.
+ * Dialogs known to show big icons may prefetch the sprite, to avoid the icons popping in.<p>
+ */
+public final class IconDelivery {
+
+    /** The delay in milliseconds before prefetching, to stay out of the way of the startup. */
+    public static final int PREFETCH_DELAY = 2000;
+
+    /** Flag indicating the big icon sprite was requested. */
+    private static boolean m_bigIconsRequested;
+
+    /** Flag indicating the prefetch is scheduled. */
+    private static boolean m_prefetchScheduled;
+
+    /**
+     * Hidden constructor.<p>
+     */
+    private IconDelivery() {
+
+        // noop
+    }
+
+    /**
+     * Returns if the big icon sprite has been requested by a prefetch.<p>
+     * 
+     * @return <code>true</code> if the sprite has been requested
+     */
+    public static boolean isBigIconsRequested() {
+
+        return m_bigIconsRequested;
+    }
+
+    /**
+     * Requests the big icon sprite immediately, so it is in the browser cache once needed.<p>
+     */
+    public static void prefetchBigIcons() {
+
+        if (m_bigIconsRequested) {
+            return;
+        }
+        m_bigIconsRequested = true;
+        I_BigIconBundle bigIcons = I_ImageBundle.INSTANCE.bigIcons();
+        // one icon per icon size covers the sprite, the browser requests each distinct URL only once
+        prefetch(bigIcons.addBigIconActive());
+        prefetch(bigIcons.checkmark());
+    }
+
+    /**
+     * Requests the big icon sprite once the application had time to start up.<p>
+     */
+    public static void prefetchBigIconsDeferred() {
+
+        if (m_bigIconsRequested || m_prefetchScheduled) {
+            return;
+        }
+        m_prefetchScheduled = true;
+        Scheduler.get().scheduleFixedDelay(new RepeatingCommand() {
+
+            /**
+             * @see com.google.gwt.core.client.Scheduler.RepeatingCommand#execute()
+             */
+            public boolean execute() {
+
+                m_prefetchScheduled = false;
+                prefetchBigIcons();
+                return false;
+            }
+        }, PREFETCH_DELAY);
+    }
+
+    /**
+     * Requests the image of the given resource, if delivered as a separate file.<p>
+     * 
+     * @param resource the image resource
+     */
+    private static void prefetch(ImageResource resource) {
+
+        String url = resource.getSafeUri().asString();
+        if (!url.startsWith("data:")) {
+            prefetchUrl(url);
+        }
+    }
+
+    /**
+     * Requests the given URL as an image.<p>
+     * 
+     * @param url the image URL
+     */
+    private static native void prefetchUrl(String url) /*-{
+        var image = new Image();
+        image.src = url;
+    }-*/;
+}
@@ -0,0 +1,298 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client.util;
+
+import java.util.List;
+
+import com.google.gwt.animation.client.AnimationScheduler;
+import com.google.gwt.animation.client.AnimationScheduler.AnimationCallback;
+import com.google.gwt.animation.client.AnimationScheduler.AnimationHandle;
+import com.google.gwt.core.client.Duration;
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.core.client.Scheduler.RepeatingCommand;
+
+/**
+ * Renders the batches of a {@link ListSplitter} incrementally, so long lists don't block the browser.<p>
+ * 
+ * Each animation frame starts an incremental command, which renders batches until the frame budget is used up
+ * and then yields to the browser until the next frame. The batch size of the splitter is adjusted to the measured
+ * render time, aiming at about half of the frame budget per batch.<p>
+ * 
+ * Usage example:
+ * 
+ * <pre>
+ *   IncrementalRenderer&lt;Item&gt; renderer = new IncrementalRenderer&lt;Item&gt;(
+ *       new ListSplitter&lt;Item&gt;(items, 20),
+ *       new I_BatchRenderer&lt;Item&gt;() {
+ *           public void renderBatch(List&lt;Item&gt; batch) {
+ *               // add the widgets
+ *           }
+ *           public void onRenderingComplete() {
+ *               // done
+ *           }
+ *       });
+ *   renderer.start();
+ * </pre>
+ * 
+ * @param <T> the item type
+ */
+public class IncrementalRenderer<T extends I_CmsHasSize> {
+
+    /** The default time budget per frame in milliseconds. */
+    public static final int DEFAULT_FRAME_BUDGET = 8;
+
+    /** The weight of the latest measurement for the render time average. */
+    private static final double SAMPLE_WEIGHT = 0.3;
+
+    /** The time budget per frame in milliseconds. */
+    private int m_frameBudget = DEFAULT_FRAME_BUDGET;
+
+    /** The frame handle, if a frame is requested. */
+    private AnimationHandle m_frameHandle;
+
+    /** The run counter, incremented when rendering is canceled or finished, so stale callbacks can be recognized. */
+    private int m_generation;
+
+    /** The maximum batch size. */
+    private int m_maxBatchSize = Integer.MAX_VALUE;
+
+    /** The average render time per size unit, negative while not measured. */
+    private double m_msPerUnit = -1;
+
+    /** The number of rendered batches. */
+    private int m_renderedBatches;
+
+    /** The renderer. */
+    private I_BatchRenderer<T> m_renderer;
+
+    /** Flag indicating rendering is in progress. */
+    private boolean m_running;
+
+    /** The start time of the current time slice, negative when no slice is active. */
+    private double m_sliceStart = -1;
+
+    /** The list splitter. */
+    private ListSplitter<T> m_splitter;
+
+    /**
+     * Constructor.<p>
+     * 
+     * @param splitter the list splitter providing the batches
+     * @param renderer the batch renderer
+     */
+    public IncrementalRenderer(ListSplitter<T> splitter, I_BatchRenderer<T> renderer) {
+
+        m_splitter = splitter;
+        m_renderer = renderer;
+    }
+
+    /**
+     * Cancels the rendering. Batches already rendered are kept.<p>
+     */
+    public void cancel() {
+
+        m_generation += 1;
+        m_running = false;
+        m_sliceStart = -1;
+        if (m_frameHandle != null) {
+            m_frameHandle.cancel();
+            m_frameHandle = null;
+        }
+    }
+
+    /**
+     * Returns the time budget per frame.<p>
+     * 
+     * @return the time budget in milliseconds
+     */
+    public int getFrameBudget() {
+
+        return m_frameBudget;
+    }
+
+    /**
+     * Returns the number of rendered batches.<p>
+     * 
+     * @return the number of rendered batches
+     */
+    public int getRenderedBatches() {
+
+        return m_renderedBatches;
+    }
+
+    /**
+     * Returns if rendering is in progress.<p>
+     * 
+     * @return <code>true</code> if rendering is in progress
+     */
+    public boolean isRunning() {
+
+        return m_running;
+    }
+
+    /**
+     * Sets the time budget per frame.<p>
+     * 
+     * @param frameBudget the time budget in milliseconds
+     */
+    public void setFrameBudget(int frameBudget) {
+
+        m_frameBudget = Math.max(1, frameBudget);
+    }
+
+    /**
+     * Sets the maximum batch size the adaptation may grow to.<p>
+     * 
+     * @param maxBatchSize the maximum batch size
+     */
+    public void setMaxBatchSize(int maxBatchSize) {
+
+        m_maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    /**
+     * Starts rendering with the next animation frame.<p>
+     */
+    public void start() {
+
+        if (m_running) {
+            return;
+        }
+        m_running = true;
+        requestFrame();
+    }
+
+    /**
+     * Renders the next batch, if the time slice permits.<p>
+     * 
+     * @param generation the run counter value when the command was scheduled
+     * 
+     * @return <code>true</code> if the command should be executed again within the current slice
+     */
+    protected boolean renderNext(int generation) {
+
+        if (!m_running || (generation != m_generation)) {
+            // canceled, possibly restarted with a new command in the meantime
+            return false;
+        }
+        if (!m_splitter.hasMore()) {
+            finish();
+            return false;
+        }
+        double start = Duration.currentTimeMillis();
+        if (m_sliceStart < 0) {
+            m_sliceStart = start;
+        }
+        List<T> batch = m_splitter.getMore();
+        m_renderer.renderBatch(batch);
+        m_renderedBatches += 1;
+        if (!m_running || (generation != m_generation)) {
+            // canceled by the renderer
+            return false;
+        }
+        double end = Duration.currentTimeMillis();
+        adaptBatchSize(batch, end - start);
+        if (!m_splitter.hasMore()) {
+            finish();
+            return false;
+        }
+        double estimate = m_msPerUnit * m_splitter.getBatchSize();
+        if (((end - m_sliceStart) + estimate) > m_frameBudget) {
+            m_sliceStart = -1;
+            requestFrame();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Updates the render time average and adjusts the batch size of the splitter.<p>
+     * 
+     * @param batch the rendered batch
+     * @param time the render time in milliseconds
+     */
+    private void adaptBatchSize(List<T> batch, double time) {
+
+        int size = 0;
+        for (T item : batch) {
+            size += item.getSize();
+        }
+        if (size <= 0) {
+            return;
+        }
+        double sample = time / size;
+        m_msPerUnit = m_msPerUnit < 0 ? sample : (m_msPerUnit * (1 - SAMPLE_WEIGHT)) + (sample * SAMPLE_WEIGHT);
+        int batchSize;
+        if (m_msPerUnit > 0) {
+            batchSize = (int)((m_frameBudget / 2.0) / m_msPerUnit);
+        } else {
+            // below the timer resolution, grow until measurable
+            batchSize = m_splitter.getBatchSize() * 2;
+        }
+        m_splitter.setBatchSize(Math.max(1, Math.min(m_maxBatchSize, batchSize)));
+    }
+
+    /**
+     * Finishes the rendering.<p>
+     */
+    private void finish() {
+
+        m_generation += 1;
+        m_running = false;
+        m_sliceStart = -1;
+        m_renderer.onRenderingComplete();
+    }
+
+    /**
+     * Requests the next frame, which starts a new time slice.<p>
+     */
+    private void requestFrame() {
+
+        final int generation = m_generation;
+        m_frameHandle = AnimationScheduler.get().requestAnimationFrame(new AnimationCallback() {
+
+            /**
+             * @see com.google.gwt.animation.client.AnimationScheduler.AnimationCallback#execute(double)
+             */
+            public void execute(double timestamp) {
+
+                if (!m_running || (generation != m_generation)) {
+                    return;
+                }
+                m_frameHandle = null;
+                Scheduler.get().scheduleIncremental(new RepeatingCommand() {
+
+                    /**
+                     * @see com.google.gwt.core.client.Scheduler.RepeatingCommand#execute()
+                     */
+                    public boolean execute() {
+
+                        return renderNext(generation);
+                    }
+                });
+            }
+        });
+    }
+}
@@ -25,12 +25,57 @@
 package com.alkacon.geranium.client.util;
 
 import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.JsArray;
+import com.google.gwt.core.client.JsArrayString;
 
 /**
  * Class to create native JSON maps.<p>
+ * 
+ * All key based operations only consider own properties of the underlying object, inherited properties are ignored.<p>
  */
 public final class JSONMap extends JavaScriptObject {
 
+    /**
+     * A key value pair of a JSON map.<p>
+     */
+    public static final class Entry extends JavaScriptObject {
+
+        /**
+         * Not directly instantiable.<p>
+         */
+        protected Entry() {
+
+            // empty
+        }
+
+        /**
+         * Returns the key.<p>
+         * 
+         * @return the key
+         */
+        public native String getKey() /*-{
+            return this.key;
+        }-*/;
+
+        /**
+         * Returns the value as a string.<p>
+         * 
+         * @return the value
+         */
+        public native String getString() /*-{
+            return this.value == null ? null : String(this.value);
+        }-*/;
+
+        /**
+         * Returns the value as a JavaScript object.<p>
+         * 
+         * @return the value
+         */
+        public native JavaScriptObject getValue() /*-{
+            return this.value;
+        }-*/;
+    }
+
     /**
      * Not directly instantiable. All subclasses must also define a protected, empty, no-arg constructor.<p>
      */
@@ -56,12 +101,25 @@ public final class JSONMap extends JavaScriptObject {
      * @return <code>true</code> if the map contains the key
      */
     public native boolean containsKey(String key) /*-{
-        for ( var _key in this) {
-            if (_key == key) {
-                return true;
+        return Object.prototype.hasOwnProperty.call(this, key);
+    }-*/;
+
+    /**
+     * Returns the entries of the map.<p>
+     * 
+     * @return the entries
+     */
+    public native JsArray<Entry> entries() /*-{
+        var result = [];
+        for ( var key in this) {
+            if (Object.prototype.hasOwnProperty.call(this, key)) {
+                result.push({
+                    key : key,
+                    value : this[key]
+                });
             }
         }
-        return false;
+        return result;
     }-*/;
 
     /**
@@ -152,6 +210,18 @@ public final class JSONMap extends JavaScriptObject {
         return this[key];
     }-*/;
 
+    /**
+     * Returns the nested map to the given key. The nested object is not copied.<p>
+     * 
+     * @param key the key
+     * 
+     * @return the nested map, or <code>null</code> if the value is not an object
+     */
+    public native JSONMap getMap(String key) /*-{
+        var value = this[key];
+        return (value != null && typeof value == 'object') ? value : null;
+    }-*/;
+
     /**
      * Returns the value to the given key.<p>
      * 
@@ -174,6 +244,83 @@ public final class JSONMap extends JavaScriptObject {
         return this[key];
     }-*/;
 
+    /**
+     * Returns the value to the given key as an overlay type. The value is not copied.<p>
+     * 
+     * @param <T> the overlay type
+     * @param key the key
+     * 
+     * @return the value, or <code>null</code> if not present
+     */
+    public <T extends JavaScriptObject> T getView(String key) {
+
+        JavaScriptObject value = getJavaScriptObject(key);
+        return value == null ? null : value.<T> cast();
+    }
+
+    /**
+     * Returns if the map has no entries.<p>
+     * 
+     * @return <code>true</code> if the map has no entries
+     */
+    public native boolean isEmpty() /*-{
+        for ( var key in this) {
+            if (Object.prototype.hasOwnProperty.call(this, key)) {
+                return false;
+            }
+        }
+        return true;
+    }-*/;
+
+    /**
+     * Returns the keys of the map.<p>
+     * 
+     * @return the keys
+     */
+    public native JsArrayString keys() /*-{
+        if (Object.keys) {
+            return Object.keys(this);
+        }
+        var result = [];
+        for ( var key in this) {
+            if (Object.prototype.hasOwnProperty.call(this, key)) {
+                result.push(key);
+            }
+        }
+        return result;
+    }-*/;
+
+    /**
+     * Merges the given map into this map.<p>
+     * 
+     * Nested objects present in both maps are merged recursively, all other values of the given map replace
+     * the values of this map. Arrays are not merged.<p>
+     * 
+     * @param other the map to merge
+     */
+    public native void merge(JSONMap other) /*-{
+        var isObject = function(o) {
+            return o != null && typeof o == 'object'
+                    && Object.prototype.toString.call(o) != '[object Array]';
+        };
+        var merge = function(target, source) {
+            for ( var key in source) {
+                if (!Object.prototype.hasOwnProperty.call(source, key)) {
+                    continue;
+                }
+                var value = source[key];
+                var current = target[key];
+                if (isObject(value) && isObject(current)
+                        && Object.prototype.hasOwnProperty.call(target, key)) {
+                    merge(current, value);
+                } else {
+                    target[key] = value;
+                }
+            }
+        };
+        merge(this, other);
+    }-*/;
+
     /**
      * Puts the value into the map.<p>
      * 
@@ -273,4 +420,50 @@ public final class JSONMap extends JavaScriptObject {
     public native void put(String key, String[] value) /*-{
         this[key] = value;
     }-*/;
+
+    /**
+     * Puts all entries of the given map into this map. Nested values are not copied.<p>
+     * 
+     * @param other the map to copy the entries from
+     */
+    public native void putAll(JSONMap other) /*-{
+        for ( var key in other) {
+            if (Object.prototype.hasOwnProperty.call(other, key)) {
+                this[key] = other[key];
+            }
+        }
+    }-*/;
+
+    /**
+     * Removes the entry with the given key.<p>
+     * 
+     * @param key the key
+     * 
+     * @return <code>true</code> if the map contained the key
+     */
+    public native boolean remove(String key) /*-{
+        if (!Object.prototype.hasOwnProperty.call(this, key)) {
+            return false;
+        }
+        delete this[key];
+        return true;
+    }-*/;
+
+    /**
+     * Returns the number of entries.<p>
+     * 
+     * @return the number of entries
+     */
+    public native int size() /*-{
+        if (Object.keys) {
+            return Object.keys(this).length;
+        }
+        var count = 0;
+        for ( var key in this) {
+            if (Object.prototype.hasOwnProperty.call(this, key)) {
+                count++;
+            }
+        }
+        return count;
+    }-*/;
 }
@@ -0,0 +1,105 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client.util;
+
+import com.alkacon.geranium.client.util.impl.LayoutThrashDetectorImpl;
+
+import com.google.gwt.core.client.GWT;
+
+/**
+ * Detects forced synchronous layouts, that is geometry or computed style reads following a DOM write within
+ * the same task.<p>
+ * 
+ * The layout reading helpers of {@link DomUtil}, the computed style lookup and some widgets report their reads and
+ * writes here. Additionally all DOM mutations are observed where the browser supports mutation observers, so writes
+ * not issued through this library are detected as well. Each read after a write is counted by reading and writing
+ * call site, the first occurrence is logged to the browser console.<p>
+ * 
+ * The detector is meant for development builds. It is switched by the deferred binding property
+ * <code>geranium.thrashdetection</code>, which is <code>off</code> by default and compiles all calls to nothing.
+ * Once on, {@link #report()} or <code>geraniumThrashDetection.report()</code> in the browser console list the
+ * offending call sites.<p>
+ */
+public final class LayoutThrashDetector {
+
+    /** The implementation selected by deferred binding. */
+    private static LayoutThrashDetectorImpl m_impl = GWT.create(LayoutThrashDetectorImpl.class);
+
+    /**
+     * Hidden constructor.<p>
+     */
+    private LayoutThrashDetector() {
+
+        // noop
+    }
+
+    /**
+     * Returns if the detector is compiled in.<p>
+     * 
+     * @return <code>true</code> if the detector is enabled
+     */
+    public static boolean isEnabled() {
+
+        return m_impl.isEnabled();
+    }
+
+    /**
+     * Reports a geometry or computed style read.<p>
+     * 
+     * @param site the reading call site
+     */
+    public static void read(String site) {
+
+        m_impl.read(site);
+    }
+
+    /**
+     * Returns the detected reads after writes with their counts, the most frequent first.<p>
+     * 
+     * @return the report, <code>null</code> if the detector is off
+     */
+    public static String report() {
+
+        return m_impl.report();
+    }
+
+    /**
+     * Clears the detected reads after writes.<p>
+     */
+    public static void reset() {
+
+        m_impl.reset();
+    }
+
+    /**
+     * Reports a DOM write invalidating the layout.<p>
+     * 
+     * @param site the writing call site
+     */
+    public static void write(String site) {
+
+        m_impl.write(site);
+    }
+}
@@ -58,6 +58,16 @@ public class ListSplitter<T extends I_CmsHasSize> {
         m_itemIndex = 0;
     }
 
+    /**
+     * Returns the minimum size of the batches.<p>
+     * 
+     * @return the minimum batch size
+     */
+    public int getBatchSize() {
+
+        return m_batchSize;
+    }
+
     /**
      * Gets the next batch of items.<p>
      * 
@@ -88,4 +98,14 @@ public class ListSplitter<T extends I_CmsHasSize> {
 
         return m_itemIndex < m_items.size();
     }
+
+    /**
+     * Sets the minimum size of the following batches.<p>
+     * 
+     * @param batchSize the minimum batch size
+     */
+    public void setBatchSize(int batchSize) {
+
+        m_batchSize = batchSize;
+    }
 }
@@ -0,0 +1,159 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The resolved keys of a message bundle, shared by all {@link Messages} instances of that bundle.<p>
+ * 
+ * Keys missing from the bundle are remembered as well, together with their unknown key text.<p>
+ */
+final class MessageCache {
+
+    /** The number of lookups answered from the cache. */
+    private int m_hitCount;
+
+    /** The number of lookups passed on to the dictionary. */
+    private int m_lookupCount;
+
+    /** The unknown key texts of the keys missing from the bundle. */
+    private Map<String, String> m_missing = new HashMap<String, String>();
+
+    /** The number of requests per key, only collected while statistics are enabled. */
+    private Map<String, Integer> m_usage = new HashMap<String, Integer>();
+
+    /** The resolved values. */
+    private Map<String, String> m_values = new HashMap<String, String>();
+
+    /**
+     * Returns the number of lookups answered from the cache.<p>
+     * 
+     * @return the number of cache hits
+     */
+    int getHitCount() {
+
+        return m_hitCount;
+    }
+
+    /**
+     * Returns the number of lookups passed on to the dictionary.<p>
+     * 
+     * @return the number of dictionary lookups
+     */
+    int getLookupCount() {
+
+        return m_lookupCount;
+    }
+
+    /**
+     * Returns the unknown key text of a key known to be missing.<p>
+     * 
+     * @param key the key
+     * 
+     * @return the unknown key text, or <code>null</code> if the key is not known to be missing
+     */
+    String getMissing(String key) {
+
+        return m_missing.get(key);
+    }
+
+    /**
+     * Returns the keys known to be missing from the bundle.<p>
+     * 
+     * @return the missing keys
+     */
+    Set<String> getMissingKeys() {
+
+        return m_missing.keySet();
+    }
+
+    /**
+     * Returns the number of requests per key.<p>
+     * 
+     * @return the key usage
+     */
+    Map<String, Integer> getUsage() {
+
+        return m_usage;
+    }
+
+    /**
+     * Returns the cached value of the key, counting the request.<p>
+     * 
+     * @param key the key
+     * @param collectStatistics <code>true</code> to count the request per key
+     * 
+     * @return the cached value, or <code>null</code> if not cached
+     */
+    String getValue(String key, boolean collectStatistics) {
+
+        if (collectStatistics) {
+            Integer count = m_usage.get(key);
+            m_usage.put(key, Integer.valueOf(count == null ? 1 : count.intValue() + 1));
+        }
+        String value = m_values.get(key);
+        if ((value != null) || m_missing.containsKey(key)) {
+            m_hitCount += 1;
+        } else {
+            m_lookupCount += 1;
+        }
+        return value;
+    }
+
+    /**
+     * Remembers the key as missing from the bundle.<p>
+     * 
+     * @param key the key
+     * @param unknownKeyText the text to display for the unknown key
+     */
+    void putMissing(String key, String unknownKeyText) {
+
+        m_missing.put(key, unknownKeyText);
+    }
+
+    /**
+     * Caches the value of the key.<p>
+     * 
+     * @param key the key
+     * @param value the value
+     */
+    void putValue(String key, String value) {
+
+        m_values.put(key, value);
+    }
+
+    /**
+     * Resets the statistics.<p>
+     */
+    void resetStatistics() {
+
+        m_hitCount = 0;
+        m_lookupCount = 0;
+        m_usage.clear();
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client.util;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A message pattern parsed into literal segments and placeholders.<p>
+ * 
+ * Supported placeholders are <code>{0}</code>, <code>{0,date}</code> and <code>{0,time}</code>, the latter two
+ * optionally followed by one of the options <code>short</code>, <code>medium</code>, <code>long</code> or
+ * <code>full</code>, like <code>{0,date,short}</code>. The date and time variants are only applied to
+ * {@link Date} arguments. Placeholders that can not be applied are kept as they are.<p>
+ */
+final class MessageTemplate {
+
+    /**
+     * The placeholder kinds.<p>
+     */
+    private static enum Kind {
+
+        /** The date of a date argument. */
+        DATE,
+
+        /** The argument, or the date and time of a date argument. */
+        DEFAULT,
+
+        /** The literal text. */
+        LITERAL,
+
+        /** The time of a date argument. */
+        TIME;
+    }
+
+    /**
+     * A segment of the template.<p>
+     */
+    private static class Segment {
+
+        /** The date format. */
+        protected DateTimeUtil.Format m_format;
+
+        /** The argument index. */
+        protected int m_index;
+
+        /** The kind. */
+        protected Kind m_kind;
+
+        /** The literal text, also used for placeholders which can not be applied. */
+        protected String m_text;
+
+        /**
+         * Constructor.<p>
+         * 
+         * @param kind the kind
+         * @param text the literal text
+         * @param index the argument index
+         * @param format the date format
+         */
+        protected Segment(Kind kind, String text, int index, DateTimeUtil.Format format) {
+
+            m_kind = kind;
+            m_text = text;
+            m_index = index;
+            m_format = format;
+        }
+    }
+
+    /** The maximum number of cached templates, the cache is cleared when exceeded. */
+    private static final int MAX_CACHE_SIZE = 1000;
+
+    /** The maximum number of digits of an argument index, longer indexes would overflow an int. */
+    private static final int MAX_INDEX_DIGITS = 9;
+
+    /** The cached templates by pattern. */
+    private static Map<String, MessageTemplate> m_cache = new HashMap<String, MessageTemplate>();
+
+    /** The segments. */
+    private Segment[] m_segments;
+
+    /**
+     * Constructor.<p>
+     * 
+     * @param pattern the message pattern
+     */
+    private MessageTemplate(String pattern) {
+
+        List<Segment> segments = new ArrayList<Segment>();
+        int pos = 0;
+        int literalStart = 0;
+        while (pos < pattern.length()) {
+            int open = pattern.indexOf('{', pos);
+            if (open < 0) {
+                break;
+            }
+            int close = pattern.indexOf('}', open);
+            if (close < 0) {
+                break;
+            }
+            Segment placeholder = parsePlaceholder(pattern.substring(open, close + 1));
+            if (placeholder == null) {
+                pos = open + 1;
+                continue;
+            }
+            if (open > literalStart) {
+                segments.add(new Segment(Kind.LITERAL, pattern.substring(literalStart, open), -1, null));
+            }
+            segments.add(placeholder);
+            pos = close + 1;
+            literalStart = pos;
+        }
+        if (literalStart < pattern.length()) {
+            segments.add(new Segment(Kind.LITERAL, pattern.substring(literalStart), -1, null));
+        }
+        m_segments = segments.toArray(new Segment[segments.size()]);
+    }
+
+    /**
+     * Returns the template for the given pattern, parsing it only if not cached.<p>
+     * 
+     * @param pattern the message pattern
+     * 
+     * @return the template
+     */
+    static MessageTemplate get(String pattern) {
+
+        MessageTemplate template = m_cache.get(pattern);
+        if (template == null) {
+            if (m_cache.size() >= MAX_CACHE_SIZE) {
+                m_cache.clear();
+            }
+            template = new MessageTemplate(pattern);
+            m_cache.put(pattern, template);
+        }
+        return template;
+    }
+
+    /**
+     * Parses the date format option.<p>
+     * 
+     * @param option the option
+     * 
+     * @return the format, or <code>null</code> if the option is invalid
+     */
+    private static DateTimeUtil.Format parseFormat(String option) {
+
+        if ("short".equals(option)) {
+            return DateTimeUtil.Format.SHORT;
+        } else if ("medium".equals(option)) {
+            return DateTimeUtil.Format.MEDIUM;
+        } else if ("long".equals(option)) {
+            return DateTimeUtil.Format.LONG;
+        } else if ("full".equals(option)) {
+            return DateTimeUtil.Format.FULL;
+        }
+        return null;
+    }
+
+    /**
+     * Parses a placeholder.<p>
+     * 
+     * @param text the placeholder text including the braces
+     * 
+     * @return the placeholder segment, or <code>null</code> if the text is no valid placeholder
+     */
+    private static Segment parsePlaceholder(String text) {
+
+        String[] parts = text.substring(1, text.length() - 1).split(",", -1);
+        if ((parts.length > 3) || (parts[0].length() == 0) || (parts[0].length() > MAX_INDEX_DIGITS)) {
+            return null;
+        }
+        for (int i = 0; i < parts[0].length(); i++) {
+            if (!Character.isDigit(parts[0].charAt(i))) {
+                return null;
+            }
+        }
+        int index = Integer.parseInt(parts[0]);
+        if (parts.length == 1) {
+            return new Segment(Kind.DEFAULT, text, index, DateTimeUtil.Format.MEDIUM);
+        }
+        Kind kind;
+        if ("date".equals(parts[1])) {
+            kind = Kind.DATE;
+        } else if ("time".equals(parts[1])) {
+            kind = Kind.TIME;
+        } else {
+            return null;
+        }
+        DateTimeUtil.Format format = DateTimeUtil.Format.MEDIUM;
+        if (parts.length == 3) {
+            format = parseFormat(parts[2]);
+            if (format == null) {
+                return null;
+            }
+        }
+        return new Segment(kind, text, index, format);
+    }
+
+    /**
+     * Formats the template with the given arguments.<p>
+     * 
+     * @param args the arguments
+     * 
+     * @return the formatted message
+     */
+    String format(Object... args) {
+
+        StringBuilder result = new StringBuilder();
+        for (Segment segment : m_segments) {
+            if ((segment.m_kind == Kind.LITERAL) || (segment.m_index >= args.length)) {
+                result.append(segment.m_text);
+                continue;
+            }
+            Object arg = args[segment.m_index];
+            if (arg instanceof Date) {
+                Date date = (Date)arg;
+                switch (segment.m_kind) {
+                    case DATE:
+                        result.append(DateTimeUtil.getDate(date, segment.m_format));
+                        break;
+                    case TIME:
+                        result.append(DateTimeUtil.getTime(date, segment.m_format));
+                        break;
+                    default:
+                        result.append(DateTimeUtil.getDateTime(date, segment.m_format));
+                }
+            } else if (segment.m_kind == Kind.DEFAULT) {
+                result.append(String.valueOf(arg));
+            } else {
+                result.append(segment.m_text);
+            }
+        }
+        return result.toString();
+    }
+}
@@ -24,16 +24,23 @@
 
 package com.alkacon.geranium.client.util;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.MissingResourceException;
+import java.util.Set;
 
 import com.google.gwt.i18n.client.Dictionary;
 
 /**
  * Reads localized resource Strings from a <code>java.util.ResourceBundle</code> 
  * and provides convenience methods to access the Strings from a template.<p>
+ * 
+ * Resolved keys, as well as keys missing from the bundle, are cached per bundle, so each key is looked up
+ * in the native dictionary only once.<p>
  */
 public class Messages {
 
@@ -43,12 +50,21 @@ public class Messages {
     /** Prefix / Suffix for unknown keys. */
     public static final String UNKNOWN_KEY_EXTENSION = "???";
 
+    /** The key caches by bundle name. */
+    private static Map<String, MessageCache> m_caches;
+
     /** Cached dictionaries. */
     private static Map<String, Dictionary> m_dictionaries;
 
+    /** Flag indicating the number of requests per key is collected. */
+    private static boolean m_statisticsEnabled;
+
     /** The name of the resource bundle. */
     private String m_bundleName;
 
+    /** The key cache of the bundle. */
+    private MessageCache m_cache;
+
     /** The current dictionary. */
     private Dictionary m_dictionary;
 
@@ -61,17 +77,26 @@ public class Messages {
 
         if (m_dictionaries == null) {
             m_dictionaries = new HashMap<String, Dictionary>();
+            m_caches = new HashMap<String, MessageCache>();
         }
+        m_bundleName = bundleName;
         m_dictionary = m_dictionaries.get(bundleName);
         if (m_dictionary == null) {
             m_dictionary = Dictionary.getDictionary(bundleName.replace('.', '_'));
             m_dictionaries.put(bundleName, m_dictionary);
         }
+        m_cache = m_caches.get(bundleName);
+        if (m_cache == null) {
+            m_cache = new MessageCache();
+            m_caches.put(bundleName, m_cache);
+        }
     }
 
     /**
      * Helper method for formatting message parameters.<p>
      * 
+     * The message is parsed once into a cached template, which is then formatted in a single pass.<p>
+     * 
      * @param result the raw message containing placeholders like {0}
      * @param args the parameters to insert into the placeholders
      *  
@@ -79,42 +104,8 @@ public class Messages {
      */
     public static String formatMessage(String result, Object... args) {
 
-        // key was found in the bundle - create and apply the formatter
-        for (int i = 0; i < args.length; i++) {
-            if (args[i] instanceof Date) {
-                Date date = (Date)args[i];
-                result = result.replace(getRegEx(i), DateTimeUtil.getDateTime(date, DateTimeUtil.Format.MEDIUM));
-                result = result.replace(getRegEx(i, "time"), DateTimeUtil.getTime(date, DateTimeUtil.Format.MEDIUM));
-                result = result.replace(
-                    getRegEx(i, "time", "short"),
-                    DateTimeUtil.getTime(date, DateTimeUtil.Format.SHORT));
-                result = result.replace(
-                    getRegEx(i, "time", "medium"),
-                    DateTimeUtil.getTime(date, DateTimeUtil.Format.MEDIUM));
-                result = result.replace(
-                    getRegEx(i, "time", "long"),
-                    DateTimeUtil.getTime(date, DateTimeUtil.Format.LONG));
-                result = result.replace(
-                    getRegEx(i, "time", "full"),
-                    DateTimeUtil.getTime(date, DateTimeUtil.Format.FULL));
-                result = result.replace(getRegEx(i, "date"), DateTimeUtil.getDate(date, DateTimeUtil.Format.MEDIUM));
-                result = result.replace(
-                    getRegEx(i, "date", "short"),
-                    DateTimeUtil.getDate(date, DateTimeUtil.Format.SHORT));
-                result = result.replace(
-                    getRegEx(i, "date", "medium"),
-                    DateTimeUtil.getDate(date, DateTimeUtil.Format.MEDIUM));
-                result = result.replace(
-                    getRegEx(i, "date", "long"),
-                    DateTimeUtil.getDate(date, DateTimeUtil.Format.LONG));
-                result = result.replace(
-                    getRegEx(i, "date", "full"),
-                    DateTimeUtil.getDate(date, DateTimeUtil.Format.FULL));
-            } else {
-                result = result.replace(getRegEx(i), String.valueOf(args[i]));
-            }
-        }
-        return result;
+        // key was found in the bundle - apply the cached template
+        return MessageTemplate.get(result).format(args);
     }
 
     /**
@@ -137,6 +128,16 @@ public class Messages {
         return buf.toString();
     }
 
+    /**
+     * Returns if the number of requests per key is collected.<p>
+     * 
+     * @return <code>true</code> if the statistics are enabled
+     */
+    public static boolean isStatisticsEnabled() {
+
+        return m_statisticsEnabled;
+    }
+
     /**
      * Returns <code>true</code> if the provided value matches the scheme 
      * <code>"??? " + keyName + " ???"</code>, that is the value appears to be an unknown key.<p>
@@ -155,20 +156,15 @@ public class Messages {
     }
 
     /**
-     * Returns a regular expression for replacement.<p>
+     * Enables or disables collecting the number of requests per key.<p>
      * 
-     * @param position the parameter number
-     * @param options the optional options
+     * The cache hit and dictionary lookup counters are always maintained.<p>
      * 
-     * @return the regular expression for replacement
+     * @param enabled <code>true</code> to enable the statistics
      */
-    private static String getRegEx(int position, String... options) {
+    public static void setStatisticsEnabled(boolean enabled) {
 
-        String value = "" + position;
-        for (int i = 0; i < options.length; i++) {
-            value += "," + options[i];
-        }
-        return "{" + value + "}";
+        m_statisticsEnabled = enabled;
     }
 
     /** 
@@ -193,6 +189,16 @@ public class Messages {
         return m_bundleName;
     }
 
+    /**
+     * Returns the number of key requests of this bundle answered from the cache.<p>
+     * 
+     * @return the number of cache hits
+     */
+    public int getCacheHitCount() {
+
+        return m_cache.getHitCount();
+    }
+
     /**
      * Returns a formated date String from a Date value,
      * the format being {@link DateTimeUtil.Format#SHORT} and the locale
@@ -276,6 +282,38 @@ public class Messages {
         return DateTimeUtil.getDateTime(new Date(time), DateTimeUtil.Format.SHORT);
     }
 
+    /**
+     * Returns the number of key requests of this bundle passed on to the native dictionary.<p>
+     * 
+     * @return the number of dictionary lookups
+     */
+    public int getDictionaryLookupCount() {
+
+        return m_cache.getLookupCount();
+    }
+
+    /**
+     * Returns the number of requests per key of this bundle, collected while statistics are enabled.<p>
+     * 
+     * @return the number of requests per key
+     * 
+     * @see #setStatisticsEnabled(boolean)
+     */
+    public Map<String, Integer> getKeyUsage() {
+
+        return Collections.unmodifiableMap(m_cache.getUsage());
+    }
+
+    /**
+     * Returns the keys requested from this bundle which are missing from it.<p>
+     * 
+     * @return the missing keys
+     */
+    public Set<String> getMissingKeys() {
+
+        return Collections.unmodifiableSet(m_cache.getMissingKeys());
+    }
+
     /**
      * Returns the localized resource string for a given message key.<p>
      * 
@@ -310,17 +348,26 @@ public class Messages {
      */
     public String key(String keyName, boolean allowNull) {
 
-        try {
-            if (m_dictionary != null) {
-                return m_dictionary.get(keyName);
-            }
-        } catch (MissingResourceException e) {
-            // not found, return warning
-            if (allowNull) {
-                return null;
+        if (m_dictionary == null) {
+            return formatUnknownKey(keyName);
+        }
+        String value = m_cache.getValue(keyName, m_statisticsEnabled);
+        if (value != null) {
+            return value;
+        }
+        String unknownKey = m_cache.getMissing(keyName);
+        if (unknownKey == null) {
+            try {
+                value = m_dictionary.get(keyName);
+                m_cache.putValue(keyName, value);
+                return value;
+            } catch (MissingResourceException e) {
+                unknownKey = formatUnknownKey(keyName);
+                m_cache.putMissing(keyName, unknownKey);
             }
         }
-        return formatUnknownKey(keyName);
+        // not found, return warning
+        return allowNull ? null : unknownKey;
     }
 
     /**
@@ -413,4 +460,47 @@ public class Messages {
             return key(cutKeyName, (Object[])params);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Reads all keys of the bundle into the cache, so later requests don't access the native dictionary.<p>
+     * 
+     * @return the number of keys in the bundle
+     */
+    public int preload() {
+
+        if (m_dictionary == null) {
+            return 0;
+        }
+        Set<String> keys = m_dictionary.keySet();
+        for (String key : keys) {
+            m_cache.putValue(key, m_dictionary.get(key));
+        }
+        return keys.size();
+    }
+
+    /**
+     * Resets the lookup statistics of this bundle.<p>
+     */
+    public void resetStatistics() {
+
+        m_cache.resetStatistics();
+    }
+
+    /**
+     * Checks that the given keys are present in the bundle.<p>
+     * 
+     * @param keys the keys to check
+     * 
+     * @return the keys missing from the bundle, empty if all are present
+     */
+    public List<String> verify(String... keys) {
+
+        List<String> missing = new ArrayList<String>();
+        for (String key : keys) {
+            if (key(key, true) == null) {
+                missing.add(key);
+            }
+        }
+        return missing;
+    }
+}
@@ -67,6 +67,25 @@ public class MoveAnimation extends A_Animation {
         m_startLeft = startLeft;
         m_endTop = endTop;
         m_endLeft = endLeft;
+        setEasing(Easing.SWING_IN);
+    }
+
+    /**
+     * Moves the element to its end position and animates a transform from the start position.<p>
+     * 
+     * @see com.alkacon.geranium.client.util.A_Animation#startNativeAnimation(int, java.lang.String)
+     */
+    @Override
+    protected NativeAnimation startNativeAnimation(int duration, String easing) {
+
+        m_element.getStyle().setTop(m_endTop, Unit.PX);
+        m_element.getStyle().setLeft(m_endLeft, Unit.PX);
+        String from = "translate(" + (m_startLeft - m_endLeft) + "px, " + (m_startTop - m_endTop) + "px)";
+        return animateNative(
+            m_element,
+            NativeAnimation.createKeyframes("transform", from, "translate(0px, 0px)"),
+            duration,
+            easing);
     }
 
     /**
@@ -75,7 +94,6 @@ public class MoveAnimation extends A_Animation {
     @Override
     protected void onUpdate(double progress) {
 
-        progress = progress * progress;
         double newTop = m_startTop + ((m_endTop - m_startTop) * progress);
         double newLeft = m_startLeft + ((m_endLeft - m_startLeft) * progress);
         m_element.getStyle().setTop(newTop, Unit.PX);
@@ -0,0 +1,113 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client.util;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.user.client.Command;
+
+/**
+ * Overlay type for animations running through the browser's Web Animations API (<code>Element.animate</code>).<p>
+ * 
+ * Animations of opacity and transform run on the compositor, so they stay smooth while the main thread is busy.<p>
+ */
+public final class NativeAnimation extends JavaScriptObject {
+
+    /**
+     * Not directly instantiable. All subclasses must also define a protected, empty, no-arg constructor.<p>
+     */
+    protected NativeAnimation() {
+
+        // empty
+    }
+
+    /**
+     * Starts a native animation on the given element.<p>
+     * 
+     * The final key frame is kept until the animation is canceled, so the complete call-back
+     * may apply the end state without flickering.<p>
+     * 
+     * @param element the element to animate
+     * @param keyframes the key frames, see {@link #createKeyframes(String, String, String)}
+     * @param duration the duration in milliseconds
+     * @param easing the CSS timing function
+     * @param onFinish executed when the animation has finished
+     * 
+     * @return the running animation, or <code>null</code> if not supported by the browser
+     */
+    public static native NativeAnimation animate(
+        Element element,
+        JavaScriptObject keyframes,
+        int duration,
+        String easing,
+        Command onFinish) /*-{
+        if (typeof element.animate != 'function') {
+            return null;
+        }
+        var animation = element.animate(keyframes, {
+            duration : duration,
+            easing : easing,
+            fill : 'both'
+        });
+        animation.onfinish = function() {
+            onFinish.@com.google.gwt.user.client.Command::execute()();
+        };
+        return animation;
+    }-*/;
+
+    /**
+     * Creates key frames animating the given CSS property.<p>
+     * 
+     * @param property the CSS property name in camel case, like 'opacity' or 'transform'
+     * @param from the start value
+     * @param to the end value
+     * 
+     * @return the key frames
+     */
+    public static native JavaScriptObject createKeyframes(String property, String from, String to) /*-{
+        var start = {};
+        start[property] = from;
+        var end = {};
+        end[property] = to;
+        return [ start, end ];
+    }-*/;
+
+    /**
+     * Returns if the browser supports native animations.<p>
+     * 
+     * @return <code>true</code> if native animations are supported
+     */
+    public static native boolean isSupported() /*-{
+        return typeof $doc.documentElement.animate == 'function';
+    }-*/;
+
+    /**
+     * Cancels the animation, removing its effect from the element without firing the finish call-back.<p>
+     */
+    public native void cancel() /*-{
+        this.onfinish = null;
+        this.cancel();
+    }-*/;
+}
@@ -112,6 +112,7 @@ public class PositionBean {
      */
     public static PositionBean generatePositionInfo(Element element) {
 
+        DomCost.record(DomCost.Counter.LAYOUT_HELPER_CALLS);
         PositionBean result = new PositionBean();
         result.setHeight(element.getOffsetHeight());
         result.setWidth(element.getOffsetWidth());
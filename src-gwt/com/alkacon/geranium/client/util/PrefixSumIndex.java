@@ -0,0 +1,182 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client.util;
+
+/**
+ * Index over a sequence of row heights, answering offset and position queries in logarithmic time.<p>
+ * 
+ * Implemented as a binary indexed (Fenwick) tree. Rows which have not been measured use the default height.<p>
+ */
+public class PrefixSumIndex {
+
+    /** The default height of rows which have not been set. */
+    private int m_defaultHeight;
+
+    /** The row heights. */
+    private int[] m_heights;
+
+    /** The binary indexed tree, 1-based. */
+    private int[] m_tree;
+
+    /**
+     * Constructor.<p>
+     * 
+     * @param size the number of rows
+     * @param defaultHeight the default row height
+     */
+    public PrefixSumIndex(int size, int defaultHeight) {
+
+        m_defaultHeight = defaultHeight;
+        reset(size);
+    }
+
+    /**
+     * Returns the index of the row containing the given offset.<p>
+     * 
+     * Offsets beyond the total height return the last row, negative offsets the first row.<p>
+     * 
+     * @param offset the offset from the top
+     * 
+     * @return the row index, or <code>-1</code> if the index is empty
+     */
+    public int findIndex(int offset) {
+
+        int size = m_heights.length;
+        if (size == 0) {
+            return -1;
+        }
+        int pos = 0;
+        int remaining = offset;
+        int step = Integer.highestOneBit(size);
+        while (step > 0) {
+            int next = pos + step;
+            if ((next <= size) && (m_tree[next] <= remaining)) {
+                pos = next;
+                remaining -= m_tree[next];
+            }
+            step >>= 1;
+        }
+        return Math.min(pos, size - 1);
+    }
+
+    /**
+     * Returns the height of the given row.<p>
+     * 
+     * @param index the row index
+     * 
+     * @return the row height
+     */
+    public int getHeight(int index) {
+
+        return m_heights[index];
+    }
+
+    /**
+     * Returns the offset of the top edge of the given row, which is the sum of the heights of all preceding rows.<p>
+     * 
+     * @param index the row index, may be equal to the size to get the total height
+     * 
+     * @return the offset
+     */
+    public int getOffset(int index) {
+
+        int sum = 0;
+        for (int i = index; i > 0; i -= i & -i) {
+            sum += m_tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the number of rows.<p>
+     * 
+     * @return the number of rows
+     */
+    public int getSize() {
+
+        return m_heights.length;
+    }
+
+    /**
+     * Returns the sum of all row heights.<p>
+     * 
+     * @return the total height
+     */
+    public int getTotalHeight() {
+
+        return getOffset(m_heights.length);
+    }
+
+    /**
+     * Resets the index to the given size, with all rows at the default height.<p>
+     * 
+     * @param size the number of rows
+     */
+    public void reset(int size) {
+
+        m_heights = new int[size];
+        m_tree = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            m_heights[i] = m_defaultHeight;
+            m_tree[i + 1] += m_defaultHeight;
+            int parent = (i + 1) + ((i + 1) & -(i + 1));
+            if (parent <= size) {
+                m_tree[parent] += m_tree[i + 1];
+            }
+        }
+    }
+
+    /**
+     * Sets the default height used for rows which have not been set, and resets the index.<p>
+     * 
+     * @param defaultHeight the default height
+     */
+    public void setDefaultHeight(int defaultHeight) {
+
+        m_defaultHeight = defaultHeight;
+        reset(m_heights.length);
+    }
+
+    /**
+     * Sets the height of the given row.<p>
+     * 
+     * @param index the row index
+     * @param height the height
+     * 
+     * @return <code>true</code> if the height has changed
+     */
+    public boolean setHeight(int index, int height) {
+
+        int delta = height - m_heights[index];
+        if (delta == 0) {
+            return false;
+        }
+        m_heights[index] = height;
+        for (int i = index + 1; i < m_tree.length; i += i & -i) {
+            m_tree[i] += delta;
+        }
+        return true;
+    }
+}
@@ -65,6 +65,7 @@ public class SlideAnimation extends A_Animation {
         m_show = show;
         m_element = element;
         m_elementStyle = m_element.getStyle();
+        setEasing(Easing.SWING_IN);
     }
 
     /**
@@ -100,26 +101,19 @@ public class SlideAnimation extends A_Animation {
     }
 
     /**
-     * @see com.google.gwt.animation.client.Animation#run(int, double)
+     * @see com.alkacon.geranium.client.util.A_Animation#onMeasure()
      */
     @Override
-    public void run(int duration, double startTime) {
+    protected void onMeasure() {
 
         if (m_show) {
-            String heightProperty = m_elementStyle.getHeight();
-            if (ClientStringUtil.isNotEmptyOrWhitespaceOnly(heightProperty) && heightProperty.contains("px")) {
-                m_height = ClientStringUtil.parseInt(heightProperty);
-            }
             if (m_height == 0) {
-                String display = m_elementStyle.getDisplay();
-                m_elementStyle.setDisplay(Display.BLOCK);
-                m_height = m_element.getOffsetHeight();
-                m_elementStyle.setProperty("display", display);
+                // the element has been collapsed by onPrepare, so the scroll height is the height of its content
+                m_height = m_element.getScrollHeight();
             }
         } else {
             m_height = DomUtil.getCurrentStyleInt(m_element, com.alkacon.geranium.client.util.DomUtil.Style.height);
         }
-        super.run(duration, startTime);
     }
 
     /**
@@ -141,6 +135,48 @@ public class SlideAnimation extends A_Animation {
         }
     }
 
+    /**
+     * Collapses the element to be shown, keeping any in-line pixel height as the target height.<p>
+     * 
+     * @see com.alkacon.geranium.client.util.A_Animation#onPrepare()
+     */
+    @Override
+    protected boolean onPrepare() {
+
+        if (!m_show) {
+            return false;
+        }
+        String heightProperty = m_elementStyle.getHeight();
+        if (ClientStringUtil.isNotEmptyOrWhitespaceOnly(heightProperty) && heightProperty.contains("px")) {
+            m_height = ClientStringUtil.parseInt(heightProperty);
+        }
+        m_started = true;
+        m_elementStyle.setOverflow(Overflow.HIDDEN);
+        m_elementStyle.setDisplay(Display.BLOCK);
+        m_elementStyle.setHeight(0, Unit.PX);
+        return true;
+    }
+
+    /**
+     * Animates the element height through the browser. The height affects the layout of the surrounding content,
+     * so it can not be expressed as a transform, but the animation does not need any script while running.<p>
+     * 
+     * @see com.alkacon.geranium.client.util.A_Animation#startNativeAnimation(int, java.lang.String)
+     */
+    @Override
+    protected NativeAnimation startNativeAnimation(int duration, String easing) {
+
+        m_started = true;
+        m_elementStyle.setOverflow(Overflow.HIDDEN);
+        m_elementStyle.setDisplay(Display.BLOCK);
+        String fullHeight = m_height + Unit.PX.getType();
+        return animateNative(
+            m_element,
+            NativeAnimation.createKeyframes("height", m_show ? "0px" : fullHeight, m_show ? fullHeight : "0px"),
+            duration,
+            easing);
+    }
+
     /**
      * @see com.google.gwt.animation.client.Animation#onUpdate(double)
      */
@@ -152,7 +188,6 @@ public class SlideAnimation extends A_Animation {
             m_elementStyle.setOverflow(Overflow.HIDDEN);
             m_elementStyle.setDisplay(Display.BLOCK);
         }
-        progress = progress * progress;
         if (m_show) {
             m_elementStyle.setHeight(progress * m_height, Unit.PX);
         } else {
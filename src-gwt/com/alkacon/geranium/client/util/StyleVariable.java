@@ -29,8 +29,8 @@ import com.google.gwt.user.client.ui.UIObject;
 /**
  * This is a helper class for changing GWT UIObjects' styles between a set of given values.<p>
  * 
- * Every time a new value is set, the previous value of the style variable will be removed
- * from all associated UI objects, and the new style name will be added.
+ * Every time a new value is set, the previous value of the style variable will be replaced
+ * by the new style name on all associated UI objects, with a single class attribute write per object.<p>
  */
 public class StyleVariable {
 
@@ -69,12 +69,7 @@ public class StyleVariable {
     public void setValue(String newStyle) {
 
         for (UIObject ui : m_uis) {
-            if (m_style != null) {
-                ui.removeStyleName(m_style);
-            }
-            if (newStyle != null) {
-                ui.addStyleName(newStyle);
-            }
+            ClassState.replaceClass(ui.getElement(), m_style, newStyle);
         }
         m_style = newStyle;
     }
@@ -24,9 +24,6 @@
 
 package com.alkacon.geranium.client.util;
 
-import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
-
-import com.google.gwt.dom.client.Style.Unit;
 import com.google.gwt.event.dom.client.HasAllMouseHandlers;
 import com.google.gwt.event.dom.client.MouseMoveEvent;
 import com.google.gwt.event.dom.client.MouseMoveHandler;
@@ -35,14 +32,12 @@ import com.google.gwt.event.dom.client.MouseOutHandler;
 import com.google.gwt.event.dom.client.MouseOverEvent;
 import com.google.gwt.event.dom.client.MouseOverHandler;
 import com.google.gwt.event.shared.HandlerRegistration;
-import com.google.gwt.user.client.DOM;
-import com.google.gwt.user.client.Element;
-import com.google.gwt.user.client.Timer;
-import com.google.gwt.user.client.Window;
-import com.google.gwt.user.client.ui.RootPanel;
 
 /**
  * A tool-tip handler. Allowing to show any HTML as a tool-tip on mouse over.<p>
+ * 
+ * The tool-tip is displayed by the page wide {@link ToolTipLayer}, the handler itself only keeps the content and
+ * a mouse over handler registration.<p>
  */
 public class ToolTipHandler implements MouseOverHandler, MouseMoveHandler, MouseOutHandler {
 
@@ -52,36 +47,18 @@ public class ToolTipHandler implements MouseOverHandler, MouseMoveHandler, Mouse
     /** The default tool-tip top offset. */
     private static final int DEFAULT_OFFSET_TOP = 10;
 
-    /** Time to wait before removing the tool tip. */
-    private static final int REMOVE_SCHEDULE = 10000;
-
-    /** The mouse move handler registration. */
-    private HandlerRegistration m_moveHandlerRegistration;
-
     /** The tool-tip left offset. */
     private int m_offsetLeft;
 
     /** The tool-tip top offset. */
     private int m_offsetTop;
 
-    /** The mouse out handler registration. */
-    private HandlerRegistration m_outHandlerRegistration;
-
     /** The mouse over handler registration. */
     private HandlerRegistration m_overHandlerRegistration;
 
-    /** Timer to remove the tool tip again. */
-    private Timer m_removeTimer;
-
-    /** Flag indicating if the tool-tip is currently showing. */
-    private boolean m_showing;
-
     /** The widget to show the tool-tip for. */
     private HasAllMouseHandlers m_target;
 
-    /** The tool-tip element. */
-    private Element m_toolTip;
-
     /** The tool-tip HTML to show. */
     private String m_toolTipHtml;
 
@@ -105,20 +82,27 @@ public class ToolTipHandler implements MouseOverHandler, MouseMoveHandler, Mouse
      */
     public void clearShowing() {
 
-        m_showing = false;
-        if (m_toolTip != null) {
-            m_toolTip.removeFromParent();
-            m_toolTip = null;
-        }
-        if (m_moveHandlerRegistration != null) {
-            m_moveHandlerRegistration.removeHandler();
-            m_moveHandlerRegistration = null;
-        }
-        if (m_outHandlerRegistration != null) {
-            m_outHandlerRegistration.removeHandler();
-            m_outHandlerRegistration = null;
-        }
-        m_removeTimer = null;
+        ToolTipLayer.get().clear(this);
+    }
+
+    /**
+     * Returns the tool-tip left offset.<p>
+     *
+     * @return the tool-tip left offset
+     */
+    public int getOffsetLeft() {
+
+        return m_offsetLeft;
+    }
+
+    /**
+     * Returns the tool-tip top offset.<p>
+     *
+     * @return the tool-tip top offset
+     */
+    public int getOffsetTop() {
+
+        return m_offsetTop;
     }
 
     /**
@@ -138,7 +122,7 @@ public class ToolTipHandler implements MouseOverHandler, MouseMoveHandler, Mouse
      */
     public boolean isShowing() {
 
-        return m_showing;
+        return ToolTipLayer.get().isShowing(this);
     }
 
     /**
@@ -146,8 +130,7 @@ public class ToolTipHandler implements MouseOverHandler, MouseMoveHandler, Mouse
      */
     public void onMouseMove(MouseMoveEvent event) {
 
-        m_removeTimer.schedule(REMOVE_SCHEDULE);
-        setToolTipPosition(event.getClientX(), event.getClientY());
+        ToolTipLayer.get().onMove(this, event.getClientX(), event.getClientY());
     }
 
     /**
@@ -155,10 +138,7 @@ public class ToolTipHandler implements MouseOverHandler, MouseMoveHandler, Mouse
      */
     public void onMouseOut(MouseOutEvent event) {
 
-        if (m_removeTimer != null) {
-            m_removeTimer.cancel();
-        }
-        clearShowing();
+        ToolTipLayer.get().onOut(this);
     }
 
     /**
@@ -166,26 +146,7 @@ public class ToolTipHandler implements MouseOverHandler, MouseMoveHandler, Mouse
      */
     public void onMouseOver(MouseOverEvent event) {
 
-        // make sure not to double assign any handlers
-        if (m_removeTimer != null) {
-            m_removeTimer.cancel();
-        }
-        clearShowing();
-
-        createTimer();
-        m_removeTimer.schedule(REMOVE_SCHEDULE);
-
-        m_showing = true;
-        m_moveHandlerRegistration = m_target.addMouseMoveHandler(this);
-        m_outHandlerRegistration = m_target.addMouseOutHandler(this);
-        if (m_toolTip == null) {
-            m_toolTip = DOM.createDiv();
-            m_toolTip.addClassName(I_LayoutBundle.INSTANCE.generalCss().toolTip());
-            m_toolTip.addClassName(I_LayoutBundle.INSTANCE.generalCss().cornerAll());
-        }
-        m_toolTip.setInnerHTML(m_toolTipHtml);
-        RootPanel.getBodyElement().appendChild(m_toolTip);
-        setToolTipPosition(event.getClientX(), event.getClientY());
+        ToolTipLayer.get().onOver(this, event.getClientX(), event.getClientY());
     }
 
     /**
@@ -229,52 +190,16 @@ public class ToolTipHandler implements MouseOverHandler, MouseMoveHandler, Mouse
     public void setToolTipHtml(String toolTipHtml) {
 
         m_toolTipHtml = toolTipHtml;
-        if (m_showing) {
-            m_toolTip.setInnerHTML(toolTipHtml);
-        }
+        ToolTipLayer.get().updateContent(this);
     }
 
     /**
-     * Creates the remove tool tip timer.<p>
-     */
-    private void createTimer() {
-
-        m_removeTimer = new Timer() {
-
-            /**
-             * @see com.google.gwt.user.client.Timer#run()
-             */
-            @Override
-            public void run() {
-
-                clearShowing();
-            }
-        };
-    }
-
-    /** 
-     * Sets the tool-tip position.<p>
+     * Returns the target widget.<p>
      * 
-     * @param absLeft the mouse pointer absolute left
-     * @param absTop the mouse pointer absolute top
+     * @return the target widget
      */
-    private void setToolTipPosition(int absLeft, int absTop) {
-
-        if (m_toolTip != null) {
-            int height = m_toolTip.getOffsetHeight();
-            int width = m_toolTip.getOffsetWidth();
-            int windowHeight = Window.getClientHeight();
-            int windowWidth = Window.getClientWidth();
-            int left = absLeft + m_offsetLeft;
-            if ((left + width) > windowWidth) {
-                left = windowWidth - m_offsetLeft - width;
-            }
-            m_toolTip.getStyle().setLeft(left, Unit.PX);
-            int top = absTop + m_offsetTop;
-            if (((top + height) > windowHeight) && ((height + m_offsetTop) < absTop)) {
-                top = absTop - m_offsetTop - height;
-            }
-            m_toolTip.getStyle().setTop(top, Unit.PX);
-        }
+    HasAllMouseHandlers getTarget() {
+
+        return m_target;
     }
 }
@@ -0,0 +1,396 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client.util;
+
+import com.alkacon.geranium.client.ui.css.CssInjector;
+import com.alkacon.geranium.client.ui.css.I_LayoutBundle;
+
+import com.google.gwt.animation.client.AnimationScheduler;
+import com.google.gwt.animation.client.AnimationScheduler.AnimationCallback;
+import com.google.gwt.core.client.Duration;
+import com.google.gwt.dom.client.Style;
+import com.google.gwt.dom.client.Style.Display;
+import com.google.gwt.dom.client.Style.Unit;
+import com.google.gwt.dom.client.Style.Visibility;
+import com.google.gwt.event.logical.shared.ResizeEvent;
+import com.google.gwt.event.logical.shared.ResizeHandler;
+import com.google.gwt.event.shared.HandlerRegistration;
+import com.google.gwt.user.client.DOM;
+import com.google.gwt.user.client.Element;
+import com.google.gwt.user.client.Timer;
+import com.google.gwt.user.client.Window;
+import com.google.gwt.user.client.ui.RootPanel;
+
+/**
+ * The tool-tip layer shared by all {@link ToolTipHandler} instances.<p>
+ * 
+ * There is a single tool-tip element for the whole page. Mouse move and out handlers are only registered with the
+ * target currently hovered, the tool-tip size is measured once per content change and position updates are
+ * applied once per animation frame. Moving from one tool-tip target to the next shortly after a tool-tip was
+ * visible skips the hover intent delay.<p>
+ */
+public final class ToolTipLayer {
+
+    /** The default delay before showing a tool-tip. */
+    public static final int DEFAULT_SHOW_DELAY = 200;
+
+    /** Time to wait before removing the tool tip. */
+    private static final int REMOVE_SCHEDULE = 10000;
+
+    /** Time after hiding a tool-tip during which the next one is shown without delay. */
+    private static final int WARM_TIME = 500;
+
+    /** The singleton instance. */
+    private static ToolTipLayer INSTANCE;
+
+    /** The handler whose tool-tip is showing. */
+    private ToolTipHandler m_active;
+
+    /** The tool-tip element. */
+    private Element m_element;
+
+    /** Flag indicating a frame is requested. */
+    private boolean m_frameRequested;
+
+    /** The measured tool-tip height. */
+    private int m_height;
+
+    /** The hover intent timer. */
+    private Timer m_intentTimer;
+
+    /** The time the last tool-tip was hidden. */
+    private double m_lastHidden = Double.NEGATIVE_INFINITY;
+
+    /** The mouse move handler registration of the current target. */
+    private HandlerRegistration m_moveHandlerRegistration;
+
+    /** The last mouse pointer left position. */
+    private int m_mouseLeft;
+
+    /** The last mouse pointer top position. */
+    private int m_mouseTop;
+
+    /** The mouse out handler registration of the current target. */
+    private HandlerRegistration m_outHandlerRegistration;
+
+    /** The handler waiting for the hover intent delay. */
+    private ToolTipHandler m_pending;
+
+    /** Flag indicating the tool-tip is kept invisible until it has been positioned. */
+    private boolean m_positionPending;
+
+    /** Timer to remove the tool tip again. */
+    private Timer m_removeTimer;
+
+    /** The delay before showing a tool-tip. */
+    private int m_showDelay = DEFAULT_SHOW_DELAY;
+
+    /** Flag indicating the measured tool-tip size is valid. */
+    private boolean m_sizeValid;
+
+    /** The measured tool-tip width. */
+    private int m_width;
+
+    /** The cached window height, <code>-1</code> if not measured. */
+    private int m_windowHeight = -1;
+
+    /** The cached window width. */
+    private int m_windowWidth;
+
+    static {
+
+        CssInjector.ensureInjected(I_LayoutBundle.INSTANCE.generalCss());
+    }
+
+    /**
+     * Hidden constructor.<p>
+     */
+    private ToolTipLayer() {
+
+        m_intentTimer = new Timer() {
+
+            /**
+             * @see com.google.gwt.user.client.Timer#run()
+             */
+            @Override
+            public void run() {
+
+                if (m_pending != null) {
+                    showNow(m_pending);
+                }
+            }
+        };
+        m_removeTimer = new Timer() {
+
+            /**
+             * @see com.google.gwt.user.client.Timer#run()
+             */
+            @Override
+            public void run() {
+
+                hide();
+            }
+        };
+        Window.addResizeHandler(new ResizeHandler() {
+
+            /**
+             * @see com.google.gwt.event.logical.shared.ResizeHandler#onResize(com.google.gwt.event.logical.shared.ResizeEvent)
+             */
+            public void onResize(ResizeEvent event) {
+
+                m_windowHeight = -1;
+            }
+        });
+    }
+
+    /**
+     * Returns the singleton instance.<p>
+     * 
+     * @return the singleton instance
+     */
+    public static ToolTipLayer get() {
+
+        if (INSTANCE == null) {
+            INSTANCE = new ToolTipLayer();
+        }
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the delay before showing a tool-tip.<p>
+     * 
+     * @return the delay in milliseconds
+     */
+    public int getShowDelay() {
+
+        return m_showDelay;
+    }
+
+    /**
+     * Hides the tool-tip and removes the handlers from the current target.<p>
+     */
+    public void hide() {
+
+        m_intentTimer.cancel();
+        m_removeTimer.cancel();
+        if (m_moveHandlerRegistration != null) {
+            m_moveHandlerRegistration.removeHandler();
+            m_moveHandlerRegistration = null;
+        }
+        if (m_outHandlerRegistration != null) {
+            m_outHandlerRegistration.removeHandler();
+            m_outHandlerRegistration = null;
+        }
+        if (m_active != null) {
+            m_element.getStyle().setDisplay(Display.NONE);
+            m_lastHidden = Duration.currentTimeMillis();
+        }
+        m_active = null;
+        m_pending = null;
+    }
+
+    /**
+     * Sets the delay before showing a tool-tip.<p>
+     * 
+     * @param showDelay the delay in milliseconds, <code>0</code> to show tool-tips immediately
+     */
+    public void setShowDelay(int showDelay) {
+
+        m_showDelay = showDelay;
+    }
+
+    /**
+     * Hides the tool-tip if it belongs to the given handler.<p>
+     * 
+     * @param handler the tool-tip handler
+     */
+    void clear(ToolTipHandler handler) {
+
+        if ((m_active == handler) || (m_pending == handler)) {
+            hide();
+        }
+    }
+
+    /**
+     * Returns if the tool-tip of the given handler is showing.<p>
+     * 
+     * @param handler the tool-tip handler
+     * 
+     * @return <code>true</code> if the tool-tip is showing
+     */
+    boolean isShowing(ToolTipHandler handler) {
+
+        return m_active == handler;
+    }
+
+    /**
+     * Called when the mouse moves over the target of the given handler.<p>
+     * 
+     * @param handler the tool-tip handler
+     * @param clientX the mouse pointer left
+     * @param clientY the mouse pointer top
+     */
+    void onMove(ToolTipHandler handler, int clientX, int clientY) {
+
+        m_mouseLeft = clientX;
+        m_mouseTop = clientY;
+        if (m_active == handler) {
+            m_removeTimer.schedule(REMOVE_SCHEDULE);
+            requestFrame();
+        }
+    }
+
+    /**
+     * Called when the mouse leaves the target of the given handler.<p>
+     * 
+     * @param handler the tool-tip handler
+     */
+    void onOut(ToolTipHandler handler) {
+
+        clear(handler);
+    }
+
+    /**
+     * Called when the mouse enters the target of the given handler.<p>
+     * 
+     * @param handler the tool-tip handler
+     * @param clientX the mouse pointer left
+     * @param clientY the mouse pointer top
+     */
+    void onOver(ToolTipHandler handler, int clientX, int clientY) {
+
+        boolean warm = (m_active != null)
+            || ((Duration.currentTimeMillis() - m_lastHidden) < WARM_TIME)
+            || (m_showDelay <= 0);
+        hide();
+        m_mouseLeft = clientX;
+        m_mouseTop = clientY;
+        m_pending = handler;
+        m_moveHandlerRegistration = handler.getTarget().addMouseMoveHandler(handler);
+        m_outHandlerRegistration = handler.getTarget().addMouseOutHandler(handler);
+        if (warm) {
+            showNow(handler);
+        } else {
+            m_intentTimer.schedule(m_showDelay);
+        }
+    }
+
+    /**
+     * Updates the content if the tool-tip of the given handler is showing.<p>
+     * 
+     * @param handler the tool-tip handler
+     */
+    void updateContent(ToolTipHandler handler) {
+
+        if (m_active == handler) {
+            m_element.setInnerHTML(handler.getToolTipHtml());
+            m_sizeValid = false;
+            requestFrame();
+        }
+    }
+
+    /**
+     * Positions the tool-tip, measuring its size and the window size only if they are not known.<p>
+     */
+    protected void onFrame() {
+
+        m_frameRequested = false;
+        if (m_active == null) {
+            return;
+        }
+        if (!m_sizeValid) {
+            m_height = m_element.getOffsetHeight();
+            m_width = m_element.getOffsetWidth();
+            m_sizeValid = true;
+        }
+        if (m_windowHeight < 0) {
+            m_windowHeight = Window.getClientHeight();
+            m_windowWidth = Window.getClientWidth();
+        }
+        int offsetLeft = m_active.getOffsetLeft();
+        int offsetTop = m_active.getOffsetTop();
+        int left = m_mouseLeft + offsetLeft;
+        if ((left + m_width) > m_windowWidth) {
+            left = m_windowWidth - offsetLeft - m_width;
+        }
+        int top = m_mouseTop + offsetTop;
+        if (((top + m_height) > m_windowHeight) && ((m_height + offsetTop) < m_mouseTop)) {
+            top = m_mouseTop - offsetTop - m_height;
+        }
+        Style style = m_element.getStyle();
+        style.setLeft(left, Unit.PX);
+        style.setTop(top, Unit.PX);
+        if (m_positionPending) {
+            m_positionPending = false;
+            style.clearVisibility();
+        }
+    }
+
+    /**
+     * Requests positioning the tool-tip with the next animation frame.<p>
+     */
+    private void requestFrame() {
+
+        if (m_frameRequested) {
+            return;
+        }
+        m_frameRequested = true;
+        AnimationScheduler.get().requestAnimationFrame(new AnimationCallback() {
+
+            /**
+             * @see com.google.gwt.animation.client.AnimationScheduler.AnimationCallback#execute(double)
+             */
+            public void execute(double timestamp) {
+
+                onFrame();
+            }
+        });
+    }
+
+    /**
+     * Shows the tool-tip of the given handler.<p>
+     * 
+     * @param handler the tool-tip handler
+     */
+    private void showNow(ToolTipHandler handler) {
+
+        m_pending = null;
+        m_active = handler;
+        if (m_element == null) {
+            m_element = DOM.createDiv();
+            m_element.addClassName(I_LayoutBundle.INSTANCE.generalCss().toolTip());
+            m_element.addClassName(I_LayoutBundle.INSTANCE.generalCss().cornerAll());
+            RootPanel.getBodyElement().appendChild(m_element);
+        }
+        m_element.setInnerHTML(handler.getToolTipHtml());
+        // keep the tool-tip invisible at its previous position until the frame has positioned it
+        m_element.getStyle().setVisibility(Visibility.HIDDEN);
+        m_element.getStyle().clearDisplay();
+        m_positionPending = true;
+        m_sizeValid = false;
+        m_removeTimer.schedule(REMOVE_SCHEDULE);
+        requestFrame();
+    }
+}
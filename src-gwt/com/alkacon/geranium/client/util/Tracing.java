@@ -0,0 +1,176 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client.util;
+
+import com.alkacon.geranium.client.util.impl.TracingImpl;
+
+import com.google.gwt.core.client.GWT;
+
+/**
+ * Performance tracing of named spans, counters and gauges.<p>
+ * 
+ * Tracing is switched by the deferred binding property <code>geranium.tracing</code>, which is <code>off</code> by
+ * default. With tracing off, all calls resolve to empty methods and are removed by the compiler. To trace a build,
+ * add <code>&lt;set-property name="geranium.tracing" value="on"/&gt;</code> to the application module. The records
+ * are then kept in a fixed size ring buffer, mirrored to the browser's user timing API where available, and may
+ * be dumped as JSON with {@link #dump()}, or from the browser console with <code>geraniumTracing.dump()</code>.<p>
+ * 
+ * Callers building names or values should check {@link #isEnabled()} first, so no work is done with tracing off.<p>
+ */
+public final class Tracing {
+
+    /**
+     * A running span, to be ended once the traced operation is done.<p>
+     */
+    public static final class Span {
+
+        /** The span name. */
+        private String m_name;
+
+        /** The start time stamp. */
+        private double m_start;
+
+        /**
+         * Constructor.<p>
+         * 
+         * @param name the span name
+         * @param start the start time stamp
+         */
+        Span(String name, double start) {
+
+            m_name = name;
+            m_start = start;
+        }
+
+        /**
+         * Ends the span and records its duration.<p>
+         */
+        public void end() {
+
+            if (m_name != null) {
+                m_impl.endSpan(m_name, m_start);
+            }
+        }
+    }
+
+    /** The span returned with tracing off. */
+    private static final Span NOOP_SPAN = new Span(null, 0);
+
+    /** The tracing implementation selected by deferred binding. */
+    private static TracingImpl m_impl = GWT.create(TracingImpl.class);
+
+    /**
+     * Hidden constructor.<p>
+     */
+    private Tracing() {
+
+        // noop
+    }
+
+    /**
+     * Clears all records and counters.<p>
+     */
+    public static void clear() {
+
+        m_impl.clear();
+    }
+
+    /**
+     * Increments the given counter by one.<p>
+     * 
+     * @param name the counter name
+     */
+    public static void count(String name) {
+
+        m_impl.count(name, 1);
+    }
+
+    /**
+     * Increments the given counter.<p>
+     * 
+     * @param name the counter name
+     * @param delta the value to add
+     */
+    public static void count(String name, int delta) {
+
+        m_impl.count(name, delta);
+    }
+
+    /**
+     * Returns the recorded spans, counters and gauges as JSON.<p>
+     * 
+     * @return the JSON string, <code>null</code> if tracing is off
+     */
+    public static String dump() {
+
+        return m_impl.dump();
+    }
+
+    /**
+     * Records the current value of a gauge.<p>
+     * 
+     * @param name the gauge name
+     * @param value the value
+     */
+    public static void gauge(String name, double value) {
+
+        m_impl.gauge(name, value);
+    }
+
+    /**
+     * Returns if tracing is compiled in.<p>
+     * 
+     * @return <code>true</code> if tracing is enabled
+     */
+    public static boolean isEnabled() {
+
+        return m_impl.isEnabled();
+    }
+
+    /**
+     * Records a point in time.<p>
+     * 
+     * @param name the mark name
+     */
+    public static void mark(String name) {
+
+        m_impl.mark(name);
+    }
+
+    /**
+     * Starts a span. The returned span needs to be ended with {@link Span#end()}.<p>
+     * 
+     * @param name the span name
+     * 
+     * @return the span
+     */
+    public static Span startSpan(String name) {
+
+        if (!m_impl.isEnabled()) {
+            return NOOP_SPAN;
+        }
+        return new Span(name, m_impl.startSpan(name));
+    }
+}
@@ -25,6 +25,7 @@
 package com.alkacon.geranium.client.util.impl;
 
 import com.google.gwt.dom.client.Document;
+import com.google.gwt.dom.client.Element;
 import com.google.gwt.dom.client.IFrameElement;
 
 /**
@@ -49,4 +50,23 @@ public class DOMImpl {
         return element;
     }
 
+    /**
+     * Checks if the element has the given CSS class.<p>
+     * 
+     * @param element the element
+     * @param className the trimmed class name
+     * 
+     * @return <code>true</code> if the element has the given CSS class
+     */
+    public boolean hasClass(Element element, String className) {
+
+        String elementClass = element.getClassName().trim();
+        boolean hasClass = elementClass.equals(className);
+        hasClass |= elementClass.contains(" " + className + " ");
+        hasClass |= elementClass.startsWith(className + " ");
+        hasClass |= elementClass.endsWith(" " + className);
+
+        return hasClass;
+    }
+
 }
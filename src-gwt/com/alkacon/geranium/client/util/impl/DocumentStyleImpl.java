@@ -24,7 +24,9 @@
 
 package com.alkacon.geranium.client.util.impl;
 
+import com.alkacon.geranium.client.util.DomCost;
 import com.alkacon.geranium.client.util.DomUtil;
+import com.alkacon.geranium.client.util.LayoutThrashDetector;
 
 import com.google.gwt.dom.client.Element;
 
@@ -67,6 +69,8 @@ public class DocumentStyleImpl {
      */
     public String getCurrentStyle(Element elem, String name) {
 
+        DomCost.record(DomCost.Counter.COMPUTED_STYLE_READS);
+        LayoutThrashDetector.read("DocumentStyleImpl.getCurrentStyle");
         name = hyphenize(name);
         String propVal = getComputedStyle(elem, name);
         if (DomUtil.Style.opacity.name().equals(name) && ((propVal == null) || (propVal.trim().length() == 0))) {
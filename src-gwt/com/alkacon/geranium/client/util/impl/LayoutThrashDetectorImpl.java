@@ -0,0 +1,81 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client.util.impl;
+
+/**
+ * Layout thrash detector used with the detection switched off, all methods are empty.<p>
+ * 
+ * @see com.alkacon.geranium.client.util.LayoutThrashDetector
+ */
+public class LayoutThrashDetectorImpl {
+
+    /**
+     * Returns if the detection is enabled.<p>
+     * 
+     * @return <code>false</code>
+     */
+    public boolean isEnabled() {
+
+        return false;
+    }
+
+    /**
+     * Reports a layout read.<p>
+     * 
+     * @param site the reading call site
+     */
+    public void read(String site) {
+
+        // noop
+    }
+
+    /**
+     * Returns the report.<p>
+     * 
+     * @return the report
+     */
+    public String report() {
+
+        return null;
+    }
+
+    /**
+     * Clears the detected reads after writes.<p>
+     */
+    public void reset() {
+
+        // noop
+    }
+
+    /**
+     * Reports a DOM write.<p>
+     * 
+     * @param site the writing call site
+     */
+    public void write(String site) {
+
+        // noop
+    }
+}
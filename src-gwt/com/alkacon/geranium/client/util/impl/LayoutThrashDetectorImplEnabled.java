@@ -0,0 +1,229 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client.util.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gwt.core.client.JavaScriptObject;
+import com.google.gwt.core.client.Scheduler;
+import com.google.gwt.core.client.Scheduler.ScheduledCommand;
+
+/**
+ * Layout thrash detector keeping track of the DOM writes of the current task.<p>
+ * 
+ * Explicitly reported writes are remembered until the end of the current task. Other DOM mutations are taken from a
+ * mutation observer: its records are delivered at the end of each task, so any pending records at the time of a read
+ * stem from the current task. A read after a write forces the layout, which is clean again afterwards, so only the
+ * first read after each write is counted.<p>
+ */
+public class LayoutThrashDetectorImplEnabled extends LayoutThrashDetectorImpl {
+
+    /** The counts by read and write call site. */
+    private Map<String, Integer> m_counts = new HashMap<String, Integer>();
+
+    /** The last explicitly reported write of the current task. */
+    private String m_lastWrite;
+
+    /** The mutation observer, <code>null</code> if not supported. */
+    private JavaScriptObject m_observer;
+
+    /** Flag indicating the reset at the end of the current task is scheduled. */
+    private boolean m_resetScheduled;
+
+    /**
+     * Constructor.<p>
+     */
+    public LayoutThrashDetectorImplEnabled() {
+
+        m_observer = createObserver();
+        export();
+    }
+
+    /**
+     * @see com.alkacon.geranium.client.util.impl.LayoutThrashDetectorImpl#isEnabled()
+     */
+    @Override
+    public boolean isEnabled() {
+
+        return true;
+    }
+
+    /**
+     * @see com.alkacon.geranium.client.util.impl.LayoutThrashDetectorImpl#read(java.lang.String)
+     */
+    @Override
+    public void read(String site) {
+
+        String write = m_lastWrite;
+        String mutation = takeMutation(m_observer);
+        if (write == null) {
+            write = mutation;
+        }
+        m_lastWrite = null;
+        if (write == null) {
+            return;
+        }
+        String key = site + " after " + write;
+        Integer count = m_counts.get(key);
+        if (count == null) {
+            warn("Forced synchronous layout: " + key);
+            m_counts.put(key, Integer.valueOf(1));
+        } else {
+            m_counts.put(key, Integer.valueOf(count.intValue() + 1));
+        }
+    }
+
+    /**
+     * @see com.alkacon.geranium.client.util.impl.LayoutThrashDetectorImpl#report()
+     */
+    @Override
+    public String report() {
+
+        List<Map.Entry<String, Integer>> entries = new ArrayList<Map.Entry<String, Integer>>(m_counts.entrySet());
+        Collections.sort(entries, new Comparator<Map.Entry<String, Integer>>() {
+
+            /**
+             * @see java.util.Comparator#compare(java.lang.Object, java.lang.Object)
+             */
+            public int compare(Map.Entry<String, Integer> first, Map.Entry<String, Integer> second) {
+
+                return second.getValue().compareTo(first.getValue());
+            }
+        });
+        StringBuilder result = new StringBuilder();
+        for (Map.Entry<String, Integer> entry : entries) {
+            result.append(entry.getValue()).append("\t").append(entry.getKey()).append("\n");
+        }
+        return result.toString();
+    }
+
+    /**
+     * @see com.alkacon.geranium.client.util.impl.LayoutThrashDetectorImpl#reset()
+     */
+    @Override
+    public void reset() {
+
+        m_counts.clear();
+    }
+
+    /**
+     * @see com.alkacon.geranium.client.util.impl.LayoutThrashDetectorImpl#write(java.lang.String)
+     */
+    @Override
+    public void write(String site) {
+
+        m_lastWrite = site;
+        if (!m_resetScheduled) {
+            m_resetScheduled = true;
+            Scheduler.get().scheduleFinally(new ScheduledCommand() {
+
+                /**
+                 * @see com.google.gwt.core.client.Scheduler.ScheduledCommand#execute()
+                 */
+                public void execute() {
+
+                    m_resetScheduled = false;
+                    m_lastWrite = null;
+                }
+            });
+        }
+    }
+
+    /**
+     * Creates a mutation observer for the whole document, if supported.<p>
+     * 
+     * @return the observer or <code>null</code>
+     */
+    private native JavaScriptObject createObserver() /*-{
+        if (!$wnd.MutationObserver) {
+            return null;
+        }
+        // the records of past tasks are delivered to the callback and so dropped
+        var observer = new $wnd.MutationObserver(function() {
+        });
+        observer.observe($doc.documentElement, {
+            attributes : true,
+            childList : true,
+            characterData : true,
+            subtree : true
+        });
+        return observer;
+    }-*/;
+
+    /**
+     * Exports the report and reset functions to the window.<p>
+     */
+    private native void export() /*-{
+        var self = this;
+        $wnd.geraniumThrashDetection = {
+            report : $entry(function() {
+                return self.@com.alkacon.geranium.client.util.impl.LayoutThrashDetectorImpl::report()();
+            }),
+            reset : $entry(function() {
+                self.@com.alkacon.geranium.client.util.impl.LayoutThrashDetectorImpl::reset()();
+            })
+        };
+    }-*/;
+
+    /**
+     * Takes the pending mutation records and describes the first one.<p>
+     * 
+     * @param observer the observer, may be <code>null</code>
+     * 
+     * @return the description, or <code>null</code> if there are no pending records
+     */
+    private native String takeMutation(JavaScriptObject observer) /*-{
+        if (!observer) {
+            return null;
+        }
+        var records = observer.takeRecords();
+        if (records.length == 0) {
+            return null;
+        }
+        var record = records[0];
+        var node = record.target;
+        var name = node.nodeType == 1 ? node.tagName.toLowerCase() : node.nodeName;
+        if (node.className && typeof node.className == 'string') {
+            name += '.' + node.className.split(' ')[0];
+        }
+        return record.type + (record.attributeName ? ' ' + record.attributeName : '') + ' of ' + name;
+    }-*/;
+
+    /**
+     * Logs a warning to the browser console.<p>
+     * 
+     * @param message the message
+     */
+    private native void warn(String message) /*-{
+        if ($wnd.console && $wnd.console.warn) {
+            $wnd.console.warn(message);
+        }
+    }-*/;
+}
@@ -0,0 +1,116 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client.util.impl;
+
+/**
+ * Tracing implementation used with tracing switched off, all methods are empty.<p>
+ * 
+ * @see com.alkacon.geranium.client.util.Tracing
+ */
+public class TracingImpl {
+
+    /**
+     * Clears all records and counters.<p>
+     */
+    public void clear() {
+
+        // noop
+    }
+
+    /**
+     * Increments a counter.<p>
+     * 
+     * @param name the counter name
+     * @param delta the value to add
+     */
+    public void count(String name, int delta) {
+
+        // noop
+    }
+
+    /**
+     * Returns the records as JSON.<p>
+     * 
+     * @return the JSON string
+     */
+    public String dump() {
+
+        return null;
+    }
+
+    /**
+     * Ends a span.<p>
+     * 
+     * @param name the span name
+     * @param start the start time stamp returned by {@link #startSpan(String)}
+     */
+    public void endSpan(String name, double start) {
+
+        // noop
+    }
+
+    /**
+     * Records a gauge value.<p>
+     * 
+     * @param name the gauge name
+     * @param value the value
+     */
+    public void gauge(String name, double value) {
+
+        // noop
+    }
+
+    /**
+     * Returns if tracing is enabled.<p>
+     * 
+     * @return <code>false</code>
+     */
+    public boolean isEnabled() {
+
+        return false;
+    }
+
+    /**
+     * Records a point in time.<p>
+     * 
+     * @param name the mark name
+     */
+    public void mark(String name) {
+
+        // noop
+    }
+
+    /**
+     * Starts a span.<p>
+     * 
+     * @param name the span name
+     * 
+     * @return the start time stamp
+     */
+    public double startSpan(String name) {
+
+        return 0;
+    }
+}
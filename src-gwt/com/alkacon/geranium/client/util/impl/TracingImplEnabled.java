@@ -0,0 +1,304 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client.util.impl;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.gwt.core.client.JsonUtils;
+
+/**
+ * Tracing implementation recording into a fixed size ring buffer.<p>
+ * 
+ * Spans and marks are mirrored to <code>performance.mark</code> and <code>performance.measure</code>, so they show
+ * up in profiler recordings. The entries are removed from the performance timeline right after they have been
+ * recorded, so the browser's user timing buffer does not grow while tracing is enabled. The instance is exported as <code>window.geraniumTracing</code> with the functions
+ * <code>dump</code> and <code>clear</code>.<p>
+ */
+public class TracingImplEnabled extends TracingImpl {
+
+    /** The ring buffer capacity. */
+    public static final int CAPACITY = 2048;
+
+    /** Record type of counters. */
+    private static final String TYPE_COUNTER = "counter";
+
+    /** Record type of gauges. */
+    private static final String TYPE_GAUGE = "gauge";
+
+    /** Record type of marks. */
+    private static final String TYPE_MARK = "mark";
+
+    /** Record type of spans. */
+    private static final String TYPE_SPAN = "span";
+
+    /** The current counter totals. */
+    private Map<String, Integer> m_counters = new HashMap<String, Integer>();
+
+    /** The number of records overwritten since the last clear. */
+    private int m_dropped;
+
+    /** The record names. */
+    private String[] m_names = new String[CAPACITY];
+
+    /** The index of the next record. */
+    private int m_next;
+
+    /** The names of the spans whose start mark is still set. */
+    private Set<String> m_openSpans = new HashSet<String>();
+
+    /** The number of records in the buffer. */
+    private int m_size;
+
+    /** The record time stamps, the start for spans. */
+    private double[] m_times = new double[CAPACITY];
+
+    /** The record types. */
+    private String[] m_types = new String[CAPACITY];
+
+    /** The record values, the duration for spans. */
+    private double[] m_values = new double[CAPACITY];
+
+    /**
+     * Constructor.<p>
+     */
+    public TracingImplEnabled() {
+
+        export();
+    }
+
+    /**
+     * @see com.alkacon.geranium.client.util.impl.TracingImpl#clear()
+     */
+    @Override
+    public void clear() {
+
+        for (int i = 0; i < CAPACITY; i++) {
+            m_names[i] = null;
+            m_types[i] = null;
+        }
+        m_next = 0;
+        m_size = 0;
+        m_dropped = 0;
+        m_counters.clear();
+        for (String name : m_openSpans) {
+            clearNativeMark(name + ":start");
+        }
+        m_openSpans.clear();
+    }
+
+    /**
+     * @see com.alkacon.geranium.client.util.impl.TracingImpl#count(java.lang.String, int)
+     */
+    @Override
+    public void count(String name, int delta) {
+
+        Integer current = m_counters.get(name);
+        int total = (current == null ? 0 : current.intValue()) + delta;
+        m_counters.put(name, Integer.valueOf(total));
+        add(TYPE_COUNTER, name, now(), total);
+    }
+
+    /**
+     * @see com.alkacon.geranium.client.util.impl.TracingImpl#dump()
+     */
+    @Override
+    public String dump() {
+
+        StringBuilder result = new StringBuilder();
+        result.append("{\"capacity\":").append(CAPACITY).append(",\"dropped\":").append(m_dropped);
+        result.append(",\"counters\":{");
+        boolean first = true;
+        for (Map.Entry<String, Integer> entry : m_counters.entrySet()) {
+            if (!first) {
+                result.append(',');
+            }
+            first = false;
+            result.append(JsonUtils.escapeValue(entry.getKey())).append(':').append(entry.getValue().intValue());
+        }
+        result.append("},\"records\":[");
+        int start = (m_next - m_size) + CAPACITY;
+        for (int i = 0; i < m_size; i++) {
+            int index = (start + i) % CAPACITY;
+            if (i > 0) {
+                result.append(',');
+            }
+            result.append("{\"type\":\"").append(m_types[index]).append("\",\"name\":");
+            result.append(JsonUtils.escapeValue(m_names[index]));
+            result.append(",\"time\":").append(m_times[index]);
+            if (!TYPE_MARK.equals(m_types[index])) {
+                result.append(",\"value\":").append(m_values[index]);
+            }
+            result.append('}');
+        }
+        result.append("]}");
+        return result.toString();
+    }
+
+    /**
+     * @see com.alkacon.geranium.client.util.impl.TracingImpl#endSpan(java.lang.String, double)
+     */
+    @Override
+    public void endSpan(String name, double start) {
+
+        add(TYPE_SPAN, name, start, now() - start);
+        m_openSpans.remove(name);
+        measure(name);
+    }
+
+    /**
+     * @see com.alkacon.geranium.client.util.impl.TracingImpl#gauge(java.lang.String, double)
+     */
+    @Override
+    public void gauge(String name, double value) {
+
+        add(TYPE_GAUGE, name, now(), value);
+    }
+
+    /**
+     * @see com.alkacon.geranium.client.util.impl.TracingImpl#isEnabled()
+     */
+    @Override
+    public boolean isEnabled() {
+
+        return true;
+    }
+
+    /**
+     * @see com.alkacon.geranium.client.util.impl.TracingImpl#mark(java.lang.String)
+     */
+    @Override
+    public void mark(String name) {
+
+        add(TYPE_MARK, name, now(), 0);
+        nativeMark(name);
+        clearNativeMark(name);
+    }
+
+    /**
+     * @see com.alkacon.geranium.client.util.impl.TracingImpl#startSpan(java.lang.String)
+     */
+    @Override
+    public double startSpan(String name) {
+
+        m_openSpans.add(name);
+        nativeMark(name + ":start");
+        return now();
+    }
+
+    /**
+     * Adds a record to the ring buffer, overwriting the oldest record if full.<p>
+     * 
+     * @param type the record type
+     * @param name the name
+     * @param time the time stamp
+     * @param value the value
+     */
+    private void add(String type, String name, double time, double value) {
+
+        m_types[m_next] = type;
+        m_names[m_next] = name;
+        m_times[m_next] = time;
+        m_values[m_next] = value;
+        m_next = (m_next + 1) % CAPACITY;
+        if (m_size < CAPACITY) {
+            m_size++;
+        } else {
+            m_dropped++;
+        }
+    }
+
+    /**
+     * Removes the user timing marks of the given name, if available.<p>
+     * 
+     * @param name the mark name
+     */
+    private native void clearNativeMark(String name) /*-{
+        var perf = $wnd.performance;
+        if (perf && perf.clearMarks) {
+            perf.clearMarks(name);
+        }
+    }-*/;
+
+    /**
+     * Exports the dump and clear functions to the window.<p>
+     */
+    private native void export() /*-{
+        var self = this;
+        $wnd.geraniumTracing = {
+            clear : $entry(function() {
+                self.@com.alkacon.geranium.client.util.impl.TracingImpl::clear()();
+            }),
+            dump : $entry(function() {
+                return self.@com.alkacon.geranium.client.util.impl.TracingImpl::dump()();
+            })
+        };
+    }-*/;
+
+    /**
+     * Measures the span from its start mark to now with the user timing API, if available, and removes the entries.<p>
+     * 
+     * @param name the span name
+     */
+    private native void measure(String name) /*-{
+        var perf = $wnd.performance;
+        if (perf && perf.measure) {
+            try {
+                perf.measure(name, name + ':start');
+                // the profiler has recorded the measure, keep the user timing buffer from growing
+                if (perf.clearMeasures) {
+                    perf.clearMeasures(name);
+                }
+                perf.clearMarks(name + ':start');
+            } catch (e) {
+                // start mark missing, nothing to measure
+            }
+        }
+    }-*/;
+
+    /**
+     * Sets a user timing mark, if available.<p>
+     * 
+     * @param name the mark name
+     */
+    private native void nativeMark(String name) /*-{
+        var perf = $wnd.performance;
+        if (perf && perf.mark) {
+            perf.mark(name);
+        }
+    }-*/;
+
+    /**
+     * Returns the current high resolution time stamp, falling back to the date.<p>
+     * 
+     * @return the time stamp in milliseconds
+     */
+    private native double now() /*-{
+        var perf = $wnd.performance;
+        return (perf && perf.now) ? perf.now() : new Date().getTime();
+    }-*/;
+}
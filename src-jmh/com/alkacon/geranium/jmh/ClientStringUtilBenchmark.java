@@ -0,0 +1,135 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.jmh;
+
+import com.alkacon.geranium.client.util.ClientStringUtil;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the string helpers of {@link ClientStringUtil} which are called per list row.<p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientStringUtilBenchmark {
+
+    /** A comma separated list of resource types. */
+    private String m_csv;
+
+    /** A deep resource path. */
+    private String m_path;
+
+    /** A long description text. */
+    private String m_text;
+
+    /**
+     * Benchmarks shortening a resource path to fit a list column.<p>
+     * 
+     * @return the formatted name
+     */
+    @Benchmark
+    public String formatResourceName() {
+
+        return ClientStringUtil.formatResourceName(m_path, 40);
+    }
+
+    /**
+     * Prepares the inputs.<p>
+     */
+    @Setup
+    public void setup() {
+
+        m_path = "/sites/default/shared/departments/marketing/campaigns/2014/autumn/"
+            + "landing-pages/regional/europe/germany/berlin/events/conference-overview.html";
+        StringBuilder csv = new StringBuilder();
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            csv.append(i > 0 ? ", " : "").append("resourcetype").append(i);
+            text.append("The quick brown fox jumps over the lazy dog number ").append(i).append(". ");
+        }
+        m_csv = csv.toString();
+        m_text = text.toString();
+    }
+
+    /**
+     * Benchmarks shortening a long text.<p>
+     * 
+     * @return the shortened text
+     */
+    @Benchmark
+    public String shortenString() {
+
+        return ClientStringUtil.shortenString(m_text, 120);
+    }
+
+    /**
+     * Benchmarks splitting along a single character.<p>
+     * 
+     * @return the parts
+     */
+    @Benchmark
+    public List<String> splitAsListChar() {
+
+        return ClientStringUtil.splitAsList(m_csv, ',', true);
+    }
+
+    /**
+     * Benchmarks splitting along a string delimiter.<p>
+     * 
+     * @return the parts
+     */
+    @Benchmark
+    public List<String> splitAsListString() {
+
+        return ClientStringUtil.splitAsList(m_path, "/", false);
+    }
+
+    /**
+     * Benchmarks substituting a path segment.<p>
+     * 
+     * @return the substituted path
+     */
+    @Benchmark
+    public String substitute() {
+
+        return ClientStringUtil.substitute(m_path, "/", "&#47;");
+    }
+}
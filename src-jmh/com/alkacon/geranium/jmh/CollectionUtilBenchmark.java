@@ -0,0 +1,90 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.jmh;
+
+import com.alkacon.geranium.client.util.CollectionUtil;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for {@link CollectionUtil#parseProperties(String)}.<p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectionUtilBenchmark {
+
+    /** The number of properties. */
+    @Param({"100", "2000"})
+    public int m_size;
+
+    /** The property file content. */
+    private String m_text;
+
+    /**
+     * Benchmarks parsing the property file.<p>
+     * 
+     * @return the properties
+     */
+    @Benchmark
+    public Map<String, String> parseProperties() {
+
+        return CollectionUtil.parseProperties(m_text);
+    }
+
+    /**
+     * Creates a property file with comments, indented lines and Windows line breaks.<p>
+     */
+    @Setup
+    public void setup() {
+
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < m_size; i++) {
+            if ((i % 10) == 0) {
+                text.append("# section ").append(i / 10).append("\r\n");
+            }
+            text.append((i % 3) == 0 ? "  " : "");
+            text.append("GUI_EXPLORER_COLUMN_").append(i).append("_LABEL_0=");
+            text.append("Label of column ").append(i).append(" with parameter {0}\r\n");
+        }
+        m_text = text.toString();
+    }
+}
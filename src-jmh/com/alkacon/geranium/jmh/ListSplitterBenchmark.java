@@ -0,0 +1,119 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.jmh;
+
+import com.alkacon.geranium.client.util.I_CmsHasSize;
+import com.alkacon.geranium.client.util.ListSplitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for splitting a large list with {@link ListSplitter}.<p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ListSplitterBenchmark {
+
+    /**
+     * A list item of a given size.<p>
+     */
+    private static class Item implements I_CmsHasSize {
+
+        /** The size. */
+        private int m_size;
+
+        /**
+         * Constructor.<p>
+         * 
+         * @param size the size
+         */
+        Item(int size) {
+
+            m_size = size;
+        }
+
+        /**
+         * @see com.alkacon.geranium.client.util.I_CmsHasSize#getSize()
+         */
+        public int getSize() {
+
+            return m_size;
+        }
+    }
+
+    /** The minimum batch size. */
+    @Param({"10", "100"})
+    public int m_batchSize;
+
+    /** The items. */
+    private List<Item> m_items;
+
+    /**
+     * Creates 2000 items with sizes between 1 and 5.<p>
+     */
+    @Setup
+    public void setup() {
+
+        Random random = new Random(42);
+        m_items = new ArrayList<Item>();
+        for (int i = 0; i < 2000; i++) {
+            m_items.add(new Item(1 + random.nextInt(5)));
+        }
+    }
+
+    /**
+     * Benchmarks splitting the whole list.<p>
+     * 
+     * @param blackhole the black hole consuming the batches
+     */
+    @Benchmark
+    public void splitAll(Blackhole blackhole) {
+
+        ListSplitter<Item> splitter = new ListSplitter<Item>(m_items, m_batchSize);
+        while (splitter.hasMore()) {
+            blackhole.consume(splitter.getMore());
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.jmh;
+
+import com.alkacon.geranium.client.util.PositionBean;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for the hit tests of {@link PositionBean} used during drag and drop.<p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PositionBeanBenchmark {
+
+    /** The element positions, like the rows of a list. */
+    private PositionBean[] m_positions;
+
+    /**
+     * Benchmarks the area detection for a pointer sweep over all positions.<p>
+     * 
+     * @param blackhole the black hole consuming the results
+     */
+    @Benchmark
+    public void getArea(Blackhole blackhole) {
+
+        for (int y = 0; y < 5000; y += 7) {
+            for (PositionBean position : m_positions) {
+                blackhole.consume(position.getArea(150, y, 10));
+            }
+        }
+    }
+
+    /**
+     * Benchmarks the hit test for a pointer sweep over all positions.<p>
+     * 
+     * @param blackhole the black hole consuming the results
+     */
+    @Benchmark
+    public void isOverElement(Blackhole blackhole) {
+
+        for (int y = 0; y < 5000; y += 7) {
+            for (PositionBean position : m_positions) {
+                blackhole.consume(position.isOverElement(150, y));
+            }
+        }
+    }
+
+    /**
+     * Creates 100 stacked rows of 50 pixels height.<p>
+     */
+    @Setup
+    public void setup() {
+
+        m_positions = new PositionBean[100];
+        for (int i = 0; i < m_positions.length; i++) {
+            PositionBean position = new PositionBean();
+            position.setLeft(20);
+            position.setTop(i * 50);
+            position.setWidth(400);
+            position.setHeight(50);
+            m_positions[i] = position;
+        }
+    }
+}
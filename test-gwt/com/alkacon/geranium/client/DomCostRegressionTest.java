@@ -0,0 +1,447 @@
+/*
+ * This library is part of Geranium -
+ * an open source UI library for GWT.
+ *
+ * Copyright (c) Alkacon Software GmbH (http://www.alkacon.com)-
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details.
+ *
+ * For further information about Alkacon Software, please see the
+ * company website: http://www.alkacon.com
+ * 
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA  02111-1307  USA
+ */
+
+package com.alkacon.geranium.client;
+
+import com.alkacon.geranium.client.dnd.DNDHandler;
+import com.alkacon.geranium.client.dnd.DNDHandler.Orientation;
+import com.alkacon.geranium.client.dnd.I_DNDController;
+import com.alkacon.geranium.client.dnd.I_Draggable;
+import com.alkacon.geranium.client.dnd.I_DropTarget;
+import com.alkacon.geranium.client.ui.TabbedPanel;
+import com.alkacon.geranium.client.ui.input.SelectBox;
+import com.alkacon.geranium.client.util.DomCost;
+import com.alkacon.geranium.client.util.DomCost.Counter;
+import com.alkacon.geranium.client.util.DomUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gwt.core.client.GWT;
+import com.google.gwt.dom.client.Document;
+import com.google.gwt.dom.client.Element;
+import com.google.gwt.dom.client.NativeEvent;
+import com.google.gwt.dom.client.Style.Position;
+import com.google.gwt.dom.client.Style.Unit;
+import com.google.gwt.junit.client.GWTTestCase;
+import com.google.gwt.user.client.Event;
+import com.google.gwt.user.client.ui.Label;
+import com.google.gwt.user.client.ui.RootPanel;
+
+/**
+ * Checks the DOM cost of widget operations known to be expensive against fixed budgets.<p>
+ * 
+ * The budgets are upper bounds for the counters of {@link DomCost}, given per processed item plus a fixed
+ * amount. They are the counts measured in HtmlUnit, which records layout reads only through
+ * <code>getBoundingClientRect</code> and no style writes. A failing test means an operation got more expensive,
+ * either raise the budget deliberately or fix the regression. The measured counts are logged for every scenario.<p>
+ */
+public class DomCostRegressionTest extends GWTTestCase {
+
+    /**
+     * Drag and drop handler giving access to the mouse move handling.<p>
+     */
+    private static class TestDNDHandler extends DNDHandler {
+
+        /**
+         * Constructor.<p>
+         * 
+         * @param controller the controller
+         */
+        TestDNDHandler(I_DNDController controller) {
+
+            super(controller);
+        }
+
+        /**
+         * Executes a mouse move to the given client position.<p>
+         * 
+         * @param x the client x position
+         * @param y the client y position
+         */
+        void move(int x, int y) {
+
+            NativeEvent event = Document.get().createMouseEvent(
+                "mousemove",
+                true,
+                true,
+                0,
+                x,
+                y,
+                x,
+                y,
+                false,
+                false,
+                false,
+                false,
+                NativeEvent.BUTTON_LEFT,
+                null);
+            onMove(Event.as(event));
+        }
+    }
+
+    /**
+     * Drag and drop controller accepting everything.<p>
+     */
+    private static class TestDNDController implements I_DNDController {
+
+        /**
+         * @see com.alkacon.geranium.client.dnd.I_DNDController#onAnimationStart(com.alkacon.geranium.client.dnd.I_Draggable, com.alkacon.geranium.client.dnd.I_DropTarget, com.alkacon.geranium.client.dnd.DNDHandler)
+         */
+        public void onAnimationStart(I_Draggable draggable, I_DropTarget target, DNDHandler handler) {
+
+            // noop
+        }
+
+        /**
+         * @see com.alkacon.geranium.client.dnd.I_DNDController#onBeforeDrop(com.alkacon.geranium.client.dnd.I_Draggable, com.alkacon.geranium.client.dnd.I_DropTarget, com.alkacon.geranium.client.dnd.DNDHandler)
+         */
+        public boolean onBeforeDrop(I_Draggable draggable, I_DropTarget target, DNDHandler handler) {
+
+            return true;
+        }
+
+        /**
+         * @see com.alkacon.geranium.client.dnd.I_DNDController#onDragCancel(com.alkacon.geranium.client.dnd.I_Draggable, com.alkacon.geranium.client.dnd.I_DropTarget, com.alkacon.geranium.client.dnd.DNDHandler)
+         */
+        public void onDragCancel(I_Draggable draggable, I_DropTarget target, DNDHandler handler) {
+
+            // noop
+        }
+
+        /**
+         * @see com.alkacon.geranium.client.dnd.I_DNDController#onDragStart(com.alkacon.geranium.client.dnd.I_Draggable, com.alkacon.geranium.client.dnd.I_DropTarget, com.alkacon.geranium.client.dnd.DNDHandler)
+         */
+        public boolean onDragStart(I_Draggable draggable, I_DropTarget target, DNDHandler handler) {
+
+            return true;
+        }
+
+        /**
+         * @see com.alkacon.geranium.client.dnd.I_DNDController#onDrop(com.alkacon.geranium.client.dnd.I_Draggable, com.alkacon.geranium.client.dnd.I_DropTarget, com.alkacon.geranium.client.dnd.DNDHandler)
+         */
+        public void onDrop(I_Draggable draggable, I_DropTarget target, DNDHandler handler) {
+
+            // noop
+        }
+
+        /**
+         * @see com.alkacon.geranium.client.dnd.I_DNDController#onPositionedPlaceholder(com.alkacon.geranium.client.dnd.I_Draggable, com.alkacon.geranium.client.dnd.I_DropTarget, com.alkacon.geranium.client.dnd.DNDHandler)
+         */
+        public void onPositionedPlaceholder(I_Draggable draggable, I_DropTarget target, DNDHandler handler) {
+
+            // noop
+        }
+
+        /**
+         * @see com.alkacon.geranium.client.dnd.I_DNDController#onTargetEnter(com.alkacon.geranium.client.dnd.I_Draggable, com.alkacon.geranium.client.dnd.I_DropTarget, com.alkacon.geranium.client.dnd.DNDHandler)
+         */
+        public boolean onTargetEnter(I_Draggable draggable, I_DropTarget target, DNDHandler handler) {
+
+            return true;
+        }
+
+        /**
+         * @see com.alkacon.geranium.client.dnd.I_DNDController#onTargetLeave(com.alkacon.geranium.client.dnd.I_Draggable, com.alkacon.geranium.client.dnd.I_DropTarget, com.alkacon.geranium.client.dnd.DNDHandler)
+         */
+        public void onTargetLeave(I_Draggable draggable, I_DropTarget target, DNDHandler handler) {
+
+            // noop
+        }
+    }
+
+    /**
+     * Drop target checking the cursor position like the drop targets of the widget library.<p>
+     */
+    private static class TestDropTarget implements I_DropTarget {
+
+        /** The target element. */
+        private Element m_element;
+
+        /** The placeholder index. */
+        private int m_placeholderIndex = -1;
+
+        /**
+         * Constructor.<p>
+         * 
+         * @param element the target element
+         */
+        TestDropTarget(Element element) {
+
+            m_element = element;
+        }
+
+        /**
+         * @see com.alkacon.geranium.client.dnd.I_DropTarget#checkPosition(int, int, com.alkacon.geranium.client.dnd.DNDHandler.Orientation)
+         */
+        public boolean checkPosition(int x, int y, Orientation orientation) {
+
+            return DomUtil.checkPositionInside(m_element, x, y);
+        }
+
+        /**
+         * @see com.alkacon.geranium.client.dnd.I_DropTarget#getElement()
+         */
+        public Element getElement() {
+
+            return m_element;
+        }
+
+        /**
+         * @see com.alkacon.geranium.client.dnd.I_DropTarget#getPlaceholderIndex()
+         */
+        public int getPlaceholderIndex() {
+
+            return m_placeholderIndex;
+        }
+
+        /**
+         * @see com.alkacon.geranium.client.dnd.I_DropTarget#insertPlaceholder(com.google.gwt.dom.client.Element, int, int, com.alkacon.geranium.client.dnd.DNDHandler.Orientation)
+         */
+        public void insertPlaceholder(Element placeholder, int x, int y, Orientation orientation) {
+
+            m_element.appendChild(placeholder);
+            m_placeholderIndex = m_element.getChildCount() - 1;
+        }
+
+        /**
+         * @see com.alkacon.geranium.client.dnd.I_DropTarget#onDrop(com.alkacon.geranium.client.dnd.I_Draggable)
+         */
+        public void onDrop(I_Draggable draggable) {
+
+            // noop
+        }
+
+        /**
+         * @see com.alkacon.geranium.client.dnd.I_DropTarget#removePlaceholder()
+         */
+        public void removePlaceholder() {
+
+            m_placeholderIndex = -1;
+        }
+
+        /**
+         * @see com.alkacon.geranium.client.dnd.I_DropTarget#repositionPlaceholder(int, int, com.alkacon.geranium.client.dnd.DNDHandler.Orientation)
+         */
+        public void repositionPlaceholder(int x, int y, Orientation orientation) {
+
+            // noop
+        }
+    }
+
+    /**
+     * Select box giving access to opening the selector.<p>
+     */
+    private static class TestSelectBox extends SelectBox {
+
+        /**
+         * Opens the selector.<p>
+         */
+        void openSelector() {
+
+            open();
+        }
+    }
+
+    /** The number of mouse moves in the drag and drop scenario. */
+    private static final int DND_MOVES = 20;
+
+    /** Budget of layout helper calls per mouse move, besides the per target calls. */
+    private static final int DND_MOVE_HELPER_CALLS = 2;
+
+    /** Budget of layout reads per mouse move, besides the per target reads. */
+    private static final int DND_MOVE_LAYOUT_READS = 2;
+
+    /** Budget of layout helper calls per drop target and mouse move, the target position check. */
+    private static final int DND_TARGET_HELPER_CALLS = 1;
+
+    /** Budget of layout reads per drop target and mouse move, the target bounding rectangle. */
+    private static final int DND_TARGET_LAYOUT_READS = 1;
+
+    /** The number of drop targets in the drag and drop scenario. */
+    private static final int DND_TARGETS = 200;
+
+    /** Budget of computed style reads when opening the select box. */
+    private static final int SELECT_COMPUTED_STYLE_READS = 1;
+
+    /** Budget of element creations when opening the select box, besides the per option creations. */
+    private static final int SELECT_ELEMENT_CREATIONS = 1;
+
+    /** Budget of layout helper calls when opening the select box. */
+    private static final int SELECT_LAYOUT_HELPER_CALLS = 1;
+
+    /** Budget of layout reads when opening the select box. */
+    private static final int SELECT_LAYOUT_READS = 6;
+
+    /** Budget of element creations per option when opening the select box, the cell widths are measured on clones. */
+    private static final int SELECT_OPTION_ELEMENT_CREATIONS = 1;
+
+    /** The number of options in the select box scenario. */
+    private static final int SELECT_OPTIONS = 1000;
+
+    /** Budget of element creations per added tab. */
+    private static final int TAB_ELEMENT_CREATIONS = 6;
+
+    /** Budget of element creations when adding the tabs, besides the per tab creations. */
+    private static final int TAB_PANEL_ELEMENT_CREATIONS = 1;
+
+    /** The number of tabs in the tabbed panel scenario. */
+    private static final int TABS = 30;
+
+    /**
+     * @see com.google.gwt.junit.client.GWTTestCase#getModuleName()
+     */
+    @Override
+    public String getModuleName() {
+
+        return "com.alkacon.geranium.GeraniumTest";
+    }
+
+    /**
+     * Checks moving a drag helper over a list of drop targets.<p>
+     */
+    public void testDNDMove() {
+
+        Element container = Document.get().createDivElement();
+        container.getStyle().setPosition(Position.RELATIVE);
+        RootPanel.getBodyElement().appendChild(container);
+        TestDNDHandler handler = new TestDNDHandler(new TestDNDController());
+        handler.setScrollEnabled(false);
+        handler.setAnimationEnabled(false);
+        List<TestDropTarget> targets = new ArrayList<TestDropTarget>();
+        for (int i = 0; i < DND_TARGETS; i++) {
+            Element targetElement = Document.get().createDivElement();
+            targetElement.getStyle().setHeight(20, Unit.PX);
+            container.appendChild(targetElement);
+            TestDropTarget target = new TestDropTarget(targetElement);
+            targets.add(target);
+            handler.addTarget(target);
+        }
+        Element helper = Document.get().createDivElement();
+        helper.getStyle().setPosition(Position.ABSOLUTE);
+        container.appendChild(helper);
+        handler.setDragHelper(helper);
+        handler.setPlaceholder(Document.get().createDivElement());
+        try {
+            DomCost.start();
+            // moving outside of all targets, so every target is checked on every move
+            for (int i = 0; i < DND_MOVES; i++) {
+                handler.move(-10 - i, -10 - i);
+            }
+            DomCost.stop();
+            log("DNDHandler.onMove, " + DND_MOVES + " moves over " + DND_TARGETS + " targets");
+            assertBudget(
+                Counter.LAYOUT_HELPER_CALLS,
+                DND_MOVES * ((DND_TARGETS * DND_TARGET_HELPER_CALLS) + DND_MOVE_HELPER_CALLS));
+            assertBudget(Counter.COMPUTED_STYLE_READS, 0);
+            assertBudget(Counter.ELEMENT_CREATIONS, 0);
+            assertBudget(
+                Counter.LAYOUT_READS,
+                DND_MOVES * ((DND_TARGETS * DND_TARGET_LAYOUT_READS) + DND_MOVE_LAYOUT_READS));
+        } finally {
+            DomCost.stop();
+            handler.clearTargets();
+            container.removeFromParent();
+        }
+    }
+
+    /**
+     * Checks opening a select box with many options.<p>
+     */
+    public void testSelectBoxOpen() {
+
+        TestSelectBox selectBox = new TestSelectBox();
+        for (int i = 0; i < SELECT_OPTIONS; i++) {
+            selectBox.addOption("value" + i, "Option " + i);
+        }
+        RootPanel.get().add(selectBox);
+        try {
+            DomCost.start();
+            selectBox.openSelector();
+            DomCost.stop();
+            log("A_SelectBox.open with " + SELECT_OPTIONS + " options");
+            assertBudget(Counter.COMPUTED_STYLE_READS, SELECT_COMPUTED_STYLE_READS);
+            assertBudget(Counter.LAYOUT_HELPER_CALLS, SELECT_LAYOUT_HELPER_CALLS);
+            assertBudget(
+                Counter.ELEMENT_CREATIONS,
+                (SELECT_OPTIONS * SELECT_OPTION_ELEMENT_CREATIONS) + SELECT_ELEMENT_CREATIONS);
+            assertBudget(Counter.LAYOUT_READS, SELECT_LAYOUT_READS);
+        } finally {
+            DomCost.stop();
+            selectBox.removeFromParent();
+        }
+    }
+
+    /**
+     * Checks adding tabs to a tabbed panel.<p>
+     */
+    public void testTabbedPanelAdd() {
+
+        TabbedPanel<Label> tabbedPanel = new TabbedPanel<Label>();
+        tabbedPanel.setHeight("300px");
+        RootPanel.get().add(tabbedPanel);
+        try {
+            DomCost.start();
+            for (int i = 0; i < TABS; i++) {
+                tabbedPanel.add(new Label("Content " + i), "Tab " + i);
+            }
+            DomCost.stop();
+            log("TabbedPanel.add of " + TABS + " tabs, " + DomCost.countElements(tabbedPanel.getElement()) + " elements");
+            assertBudget(Counter.COMPUTED_STYLE_READS, 0);
+            assertBudget(Counter.LAYOUT_HELPER_CALLS, 0);
+            assertBudget(Counter.ELEMENT_CREATIONS, (TABS * TAB_ELEMENT_CREATIONS) + TAB_PANEL_ELEMENT_CREATIONS);
+            assertBudget(Counter.LAYOUT_READS, 0);
+        } finally {
+            DomCost.stop();
+            tabbedPanel.removeFromParent();
+        }
+    }
+
+    /**
+     * Asserts the given counter is within the budget, if the counter is recorded by the test browser.<p>
+     * 
+     * @param counter the counter
+     * @param budget the budget
+     */
+    private void assertBudget(Counter counter, int budget) {
+
+        if (!DomCost.isCounted(counter)) {
+            // the native functions of this browser can not be wrapped
+            GWT.log(counter.name() + " is not recorded by this browser, budget not checked");
+            return;
+        }
+        int count = DomCost.get(counter);
+        assertTrue(counter.name() + " " + count + " exceeds the budget of " + budget, count <= budget);
+    }
+
+    /**
+     * Logs the measured counts of a scenario to the test log.<p>
+     * 
+     * @param scenario the scenario description
+     */
+    private void log(String scenario) {
+
+        GWT.log(scenario + ": " + DomCost.report());
+    }
+}